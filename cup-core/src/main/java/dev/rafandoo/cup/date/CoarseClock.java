@@ -0,0 +1,192 @@
+package dev.rafandoo.cup.date;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A low-resolution clock that caches the current time and refreshes it from a
+ * background thread at a fixed granularity.
+ * <p>
+ * Reading the time from this clock is a single volatile read, which makes it
+ * suitable for hot paths such as per-line logging or per-record timestamping,
+ * where the exact millisecond is not relevant. The formatted representation
+ * ({@value DateUtils#DEFAULT_DATE_TIME_PATTERN}) is recomputed only when the
+ * second changes.
+ * <p>
+ * Instances own a daemon thread and should be {@link #close() closed} once
+ * they are no longer needed.
+ */
+public final class CoarseClock implements AutoCloseable {
+
+    /**
+     * Default tick granularity.
+     */
+    public static final Duration DEFAULT_GRANULARITY = Duration.ofMillis(10);
+
+    private static final DateTimeFormatter FORMATTER =
+        DateTimeFormatter.ofPattern(DateUtils.DEFAULT_DATE_TIME_PATTERN);
+
+    private final ZoneId zone;
+    private final ScheduledExecutorService ticker;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Immutable view of the clock at a given tick.
+     *
+     * @param epochMillis the epoch time in milliseconds.
+     * @param dateTime    the local date-time at the configured zone.
+     * @param formatted   the date-time formatted with the default pattern.
+     */
+    private record Snapshot(long epochMillis, LocalDateTime dateTime, String formatted) {
+
+        long epochSecond() {
+            return Math.floorDiv(this.epochMillis, 1000L);
+        }
+    }
+
+    /**
+     * Internal constructor used by factory methods.
+     *
+     * @param granularity the refresh interval.
+     * @param zone        the zone used to compute local date-times.
+     */
+    private CoarseClock(Duration granularity, ZoneId zone) {
+        Objects.requireNonNull(granularity, "Granularity must not be null");
+        if (granularity.isNegative() || granularity.isZero()) {
+            throw new IllegalArgumentException("Granularity must be positive: " + granularity);
+        }
+        this.zone = Objects.requireNonNull(zone, "ZoneId must not be null");
+        this.snapshot = this.capture(null);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cup-coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = granularity.toNanos();
+        this.ticker.scheduleAtFixedRate(this::tick, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Starts a clock with the {@link #DEFAULT_GRANULARITY default granularity}
+     * and the system default zone.
+     *
+     * @return a running {@code CoarseClock}.
+     */
+    public static CoarseClock start() {
+        return start(DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * Starts a clock with the given granularity and the system default zone.
+     *
+     * @param granularity the refresh interval (must be positive).
+     * @return a running {@code CoarseClock}.
+     * @throws IllegalArgumentException if the granularity is not positive.
+     */
+    public static CoarseClock start(Duration granularity) {
+        return start(granularity, ZoneId.systemDefault());
+    }
+
+    /**
+     * Starts a clock with the given granularity and zone.
+     *
+     * @param granularity the refresh interval (must be positive).
+     * @param zone        the zone used to compute local date-times.
+     * @return a running {@code CoarseClock}.
+     * @throws IllegalArgumentException if the granularity is not positive.
+     */
+    public static CoarseClock start(Duration granularity, ZoneId zone) {
+        return new CoarseClock(granularity, zone);
+    }
+
+    /**
+     * Returns the cached epoch time in milliseconds.
+     *
+     * @return the epoch time in milliseconds, accurate to the clock granularity.
+     */
+    public long millis() {
+        return this.snapshot.epochMillis();
+    }
+
+    /**
+     * Returns the cached Unix timestamp (seconds).
+     *
+     * @return the current Unix timestamp, accurate to the clock granularity.
+     */
+    public long epochSecond() {
+        return this.snapshot.epochSecond();
+    }
+
+    /**
+     * Returns the cached local date-time.
+     *
+     * @return the current {@link LocalDateTime}, accurate to the clock granularity.
+     */
+    public LocalDateTime now() {
+        return this.snapshot.dateTime();
+    }
+
+    /**
+     * Returns the cached date-time formatted with the default pattern
+     * ({@value DateUtils#DEFAULT_DATE_TIME_PATTERN}).
+     *
+     * @return the formatted current date-time.
+     */
+    public String formatted() {
+        return this.snapshot.formatted();
+    }
+
+    /**
+     * Checks whether the background ticker is still running.
+     *
+     * @return {@code true} if the clock has not been closed.
+     */
+    public boolean isRunning() {
+        return !this.ticker.isShutdown();
+    }
+
+    /**
+     * Stops the background ticker. After closing, the clock keeps returning
+     * the last captured time.
+     */
+    @Override
+    public void close() {
+        this.ticker.shutdownNow();
+    }
+
+    /**
+     * Refreshes the cached snapshot.
+     */
+    private void tick() {
+        this.snapshot = this.capture(this.snapshot);
+    }
+
+    /**
+     * Captures the current time, reusing the formatted value of the previous
+     * snapshot when the second has not changed.
+     *
+     * @param previous the previous snapshot, or {@code null} on the first capture.
+     * @return a new snapshot.
+     */
+    private Snapshot capture(Snapshot previous) {
+        long millis = System.currentTimeMillis();
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), this.zone);
+
+        String formatted;
+        if (previous != null && previous.epochSecond() == Math.floorDiv(millis, 1000L)) {
+            formatted = previous.formatted();
+        } else {
+            formatted = dateTime.format(FORMATTER);
+        }
+
+        return new Snapshot(millis, dateTime, formatted);
+    }
+}
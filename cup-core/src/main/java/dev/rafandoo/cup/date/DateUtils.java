@@ -2,6 +2,7 @@ package dev.rafandoo.cup.date;
 
 import lombok.experimental.UtilityClass;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,6 +29,11 @@ public final class DateUtils {
      */
     public static final String DEFAULT_DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
 
+    /**
+     * Optional low-resolution clock backing {@link #now()} and {@link #currentTimestamp()}.
+     */
+    private static volatile CoarseClock coarseClock;
+
     /**
      * Formats a {@link LocalDate} using the default pattern ({@value #DEFAULT_DATE_PATTERN}).
      *
@@ -156,21 +162,78 @@ public final class DateUtils {
         return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
     }
 
+    /**
+     * Enables a {@link CoarseClock} with the given granularity as the source
+     * for {@link #now()}, {@link #currentTimestamp()} and {@link #nowFormatted()}.
+     * <p>
+     * Any previously enabled clock is closed.
+     *
+     * @param granularity the refresh interval of the clock.
+     * @throws IllegalArgumentException if the granularity is not positive.
+     */
+    public static synchronized void enableCoarseClock(Duration granularity) {
+        CoarseClock previous = coarseClock;
+        coarseClock = CoarseClock.start(granularity);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Disables the coarse clock, if enabled, and reverts to reading the system clock.
+     */
+    public static synchronized void disableCoarseClock() {
+        CoarseClock previous = coarseClock;
+        coarseClock = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Checks whether a coarse clock is currently enabled.
+     *
+     * @return {@code true} if a coarse clock backs the {@code now} methods.
+     */
+    public static boolean isCoarseClockEnabled() {
+        return coarseClock != null;
+    }
+
     /**
      * Returns the current date-time.
+     * <p>
+     * When a coarse clock is enabled, the cached value is returned and its
+     * precision is limited to the clock granularity.
      *
      * @return the current {@link LocalDateTime}.
      */
     public static LocalDateTime now() {
-        return LocalDateTime.now();
+        CoarseClock clock = coarseClock;
+        return clock != null ? clock.now() : LocalDateTime.now();
     }
 
     /**
      * Returns the current Unix timestamp (seconds).
+     * <p>
+     * When a coarse clock is enabled, the cached value is returned.
      *
      * @return the current Unix timestamp
      */
     public static long currentTimestamp() {
-        return Instant.now().getEpochSecond();
+        CoarseClock clock = coarseClock;
+        return clock != null ? clock.epochSecond() : Instant.now().getEpochSecond();
+    }
+
+    /**
+     * Returns the current date-time formatted with the default pattern
+     * ({@value #DEFAULT_DATE_TIME_PATTERN}).
+     * <p>
+     * When a coarse clock is enabled, the formatted value is cached per second.
+     *
+     * @return the formatted current date-time.
+     */
+    public static String nowFormatted() {
+        CoarseClock clock = coarseClock;
+        return clock != null ? clock.formatted() : format(LocalDateTime.now());
     }
 }
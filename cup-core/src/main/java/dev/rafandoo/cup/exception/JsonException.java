@@ -0,0 +1,17 @@
+package dev.rafandoo.cup.exception;
+
+/**
+ * Exception thrown when JSON input is malformed or cannot be processed.
+ */
+public class JsonException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JsonException(String message) {
+        super(message);
+    }
+
+    public JsonException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
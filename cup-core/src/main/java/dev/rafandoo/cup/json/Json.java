@@ -1,21 +1,47 @@
 package dev.rafandoo.cup.json;
 
+import dev.rafandoo.cup.exception.JsonException;
 import dev.rafandoo.cup.text.StringValidator;
 import lombok.experimental.UtilityClass;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Utility class for JSON operations.
+ * <p>
+ * Parsing and serialization are implemented by a built-in codec that works
+ * directly on UTF-8 bytes; no third-party JSON library is required.
+ * <p>
+ * Parsed numbers use the narrowest fitting type. Integral literals become
+ * {@link Integer}, {@link Long} or {@link java.math.BigInteger}; literals
+ * with a fraction or exponent become {@link Double}, and only become
+ * {@link java.math.BigDecimal} when they exceed the double range. Earlier
+ * versions, based on org.json, returned {@code BigDecimal} for every decimal
+ * literal. Callers that need exact decimals beyond double precision can
+ * read the document with {@link JsonReader#nextString()}, which returns
+ * number literals verbatim.
  */
 @UtilityClass
 public final class Json {
 
+    /**
+     * Indentation used by {@link #prettyPrint(String)}.
+     */
+    private static final String PRETTY_INDENT = "    ";
+
     /**
      * Converts a {@link Map} into its JSON string representation.
      *
@@ -24,7 +50,7 @@ public final class Json {
      */
     public static String toJson(Map<String, ?> map) {
         if (map == null) return null;
-        return new JSONObject(map).toString();
+        return write(map);
     }
 
     /**
@@ -35,7 +61,7 @@ public final class Json {
      */
     public static String toJson(Iterable<?> iterable) {
         if (iterable == null) return null;
-        return new JSONArray(iterable).toString();
+        return write(iterable);
     }
 
     /**
@@ -65,6 +91,194 @@ public final class Json {
 
     }
 
+    /**
+     * Writes a supported Java object as JSON to the given {@link Appendable},
+     * without building an intermediate string.
+     * <p>
+     * Supported types are those accepted by {@link JsonWriter#value(Object)}.
+     *
+     * @param value the object to write, may be {@code null}.
+     * @param out   the target, such as a {@link Writer} or {@link StringBuilder}.
+     * @throws UncheckedIOException if writing to the target fails.
+     */
+    public static void toJson(Object value, Appendable out) {
+        try {
+            new JsonWriter(out).value(value).flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing JSON", e);
+        }
+    }
+
+    /**
+     * Creates a streaming {@link JsonReader} over the given {@link Reader}.
+     *
+     * @param reader the source of JSON text.
+     * @return a new pull parser.
+     */
+    public static JsonReader reader(Reader reader) {
+        return new JsonReader(reader);
+    }
+
+    /**
+     * Creates a streaming {@link JsonReader} over a UTF-8 encoded {@link InputStream}.
+     *
+     * @param input the source of JSON bytes.
+     * @return a new pull parser.
+     */
+    public static JsonReader reader(InputStream input) {
+        return new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a streaming {@link JsonWriter} over the given {@link Writer}.
+     *
+     * @param writer the target of JSON text.
+     * @return a new streaming writer.
+     */
+    public static JsonWriter writer(Writer writer) {
+        return new JsonWriter(writer);
+    }
+
+    /**
+     * Creates a streaming {@link JsonWriter} producing UTF-8 encoded output.
+     *
+     * @param output the target stream.
+     * @return a new streaming writer.
+     */
+    public static JsonWriter writer(OutputStream output) {
+        return new JsonWriter(output);
+    }
+
+    /**
+     * Parses a JSON document of any type.
+     * <p>
+     * Objects become {@link Map}s preserving property order, arrays become
+     * {@link List}s, and numbers become the narrowest fitting {@link Integer},
+     * {@link Long}, {@link java.math.BigInteger}, {@link Double} or
+     * {@link java.math.BigDecimal}; decimal literals within the double range
+     * are {@link Double}s, see the class documentation.
+     *
+     * @param json the JSON string to parse.
+     * @return the parsed value, or {@code null} if the input is null or empty.
+     * @throws IllegalArgumentException if the JSON is invalid.
+     */
+    public static Object parse(String json) {
+        if (StringValidator.isNullOrEmpty(json)) return null;
+        return JsonParser.parse(json);
+    }
+
+    /**
+     * Parses a UTF-8 encoded JSON document of any type.
+     *
+     * @param json the UTF-8 bytes to parse.
+     * @return the parsed value, or {@code null} if the input is null or empty.
+     * @throws IllegalArgumentException if the JSON is invalid.
+     * @see #parse(String)
+     */
+    public static Object parse(byte[] json) {
+        if (json == null || json.length == 0) return null;
+        return JsonParser.parse(json, 0, json.length);
+    }
+
+    /**
+     * Streams the objects of a newline-delimited JSON (NDJSON) file, reading
+     * it lazily through a large buffer. Blank lines are skipped.
+     * <p>
+     * The returned stream must be closed to release the file, for example
+     * with a try-with-resources statement.
+     *
+     * @param path the file to read.
+     * @return a sequential stream with one map per line.
+     * @throws UncheckedIOException if the file cannot be opened or read.
+     * @throws IllegalArgumentException if a line is not a valid JSON object.
+     */
+    public static Stream<Map<String, Object>> lines(Path path) {
+        try {
+            return JsonLines.stream(Files.newInputStream(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening " + path, e);
+        }
+    }
+
+    /**
+     * Streams the objects of a UTF-8 encoded newline-delimited JSON (NDJSON)
+     * input, reading it lazily through a large buffer. Blank lines are skipped.
+     * Closing the returned stream closes the input.
+     *
+     * @param input the input to read.
+     * @return a sequential stream with one map per line.
+     * @throws UncheckedIOException if reading fails.
+     * @throws IllegalArgumentException if a line is not a valid JSON object.
+     */
+    public static Stream<Map<String, Object>> lines(InputStream input) {
+        return JsonLines.stream(input);
+    }
+
+    /**
+     * Streams the objects of a newline-delimited JSON (NDJSON) file in
+     * parallel. The file is split into ranges at line boundaries, and each
+     * range is read and parsed by its own worker.
+     * <p>
+     * Encounter order is preserved for ordered operations such as
+     * {@link Stream#toList()}. The returned stream must be closed to release the file.
+     *
+     * @param path the file to read.
+     * @return a parallel stream with one map per line.
+     * @throws UncheckedIOException if the file cannot be opened or read.
+     * @throws IllegalArgumentException if a line is not a valid JSON object.
+     */
+    public static Stream<Map<String, Object>> parallelLines(Path path) {
+        return JsonLines.parallel(path);
+    }
+
+    /**
+     * Creates a newline-delimited JSON (NDJSON) writer producing UTF-8 encoded output.
+     *
+     * @param output the target stream.
+     * @return a new lines writer.
+     */
+    public static JsonLinesWriter linesWriter(OutputStream output) {
+        return new JsonLinesWriter(output);
+    }
+
+    /**
+     * Creates a newline-delimited JSON (NDJSON) writer over the given {@link Writer}.
+     *
+     * @param writer the target of JSON text.
+     * @return a new lines writer.
+     */
+    public static JsonLinesWriter linesWriter(Writer writer) {
+        return new JsonLinesWriter(writer);
+    }
+
+    /**
+     * Indexes a JSON document for lazy, path-based access without
+     * materializing it.
+     *
+     * @param json the JSON string to index.
+     * @return the indexed document, or {@code null} if the input is null or empty.
+     * @throws IllegalArgumentException if the JSON is invalid.
+     * @see JsonDocument
+     */
+    public static JsonDocument lazy(String json) {
+        if (StringValidator.isNullOrEmpty(json)) return null;
+        return JsonDocument.of(json);
+    }
+
+    /**
+     * Indexes a UTF-8 encoded JSON document for lazy, path-based access
+     * without materializing it. The array is not copied.
+     *
+     * @param json the UTF-8 bytes to index.
+     * @return the indexed document, or {@code null} if the input is null or empty.
+     * @throws IllegalArgumentException if the JSON is invalid.
+     * @see JsonDocument
+     */
+    public static JsonDocument lazy(byte[] json) {
+        if (json == null || json.length == 0) return null;
+        return JsonDocument.of(json);
+    }
+
     /**
      * Converts a JSON object string into a {@link Map}.
      *
@@ -74,26 +288,51 @@ public final class Json {
      */
     public static Map<String, Object> toMap(String json) {
         if (StringValidator.isNullOrEmpty(json)) return null;
-        return new JSONObject(json).toMap();
+        return asObject(JsonParser.parse(json));
+    }
+
+    /**
+     * Converts a UTF-8 encoded JSON object into a {@link Map}.
+     *
+     * @param json the UTF-8 bytes to convert.
+     * @return a map representation of the JSON, or {@code null} if the input is null or empty.
+     * @throws IllegalArgumentException if the JSON is not a valid object.
+     */
+    public static Map<String, Object> toMap(byte[] json) {
+        if (json == null || json.length == 0) return null;
+        return asObject(JsonParser.parse(json, 0, json.length));
     }
 
     /**
      * Converts a JSON array string into a {@link List}.
      *
      * @param json the JSON string to convert.
-     * @return a list representation of the JSON array, or {@code null} if the input is null or empty.
+     * @return a list representation of the JSON array, or an empty list if the input is null or empty.
      * @throws IllegalArgumentException if the JSON is not a valid array.
      */
     public static List<Object> toList(String json) {
         if (StringValidator.isNullOrEmpty(json)) return new ArrayList<>();
-        return new JSONArray(json).toList();
+        return asArray(JsonParser.parse(json));
+    }
+
+    /**
+     * Converts a UTF-8 encoded JSON array into a {@link List}.
+     *
+     * @param json the UTF-8 bytes to convert.
+     * @return a list representation of the JSON array, or an empty list if the input is null or empty.
+     * @throws IllegalArgumentException if the JSON is not a valid array.
+     */
+    public static List<Object> toList(byte[] json) {
+        if (json == null || json.length == 0) return new ArrayList<>();
+        return asArray(JsonParser.parse(json, 0, json.length));
     }
 
     /**
      * Checks whether a string is a valid JSON.
      * <p>
-     * A JSON is considered valid if it can be parsed as either
-     * a JSON object or a JSON array.
+     * A JSON is considered valid if it is a well-formed JSON object
+     * or JSON array. The check is a single pass over the input and
+     * does not build any intermediate representation.
      * </p>
      *
      * @param json the string to validate.
@@ -101,36 +340,140 @@ public final class Json {
      */
     public static boolean isValid(String json) {
         if (StringValidator.isNullOrEmpty(json)) return false;
-
-        try {
-            new JSONObject(json);
-            return true;
-        } catch (JSONException ignored) {
-            try {
-                new JSONArray(json);
-                return true;
-            } catch (JSONException ignoredEx) {
-                return false;
-            }
-        }
+        return JsonScanner.isValid(json);
     }
 
     /**
      * Pretty prints a JSON string using indentation.
+     * <p>
+     * The document is validated and re-indented in a single pass; property
+     * order and literal values are preserved as written.
+     * </p>
      *
      * @param json the JSON string to format.
      * @return the formatted JSON string.
      * @throws IllegalArgumentException if the JSON is invalid.
      */
     public static String prettyPrint(String json) {
-        if (!isValid(json)) {
+        if (StringValidator.isNullOrEmpty(json)) {
             throw new IllegalArgumentException("Invalid JSON");
         }
 
+        StringBuilder builder = new StringBuilder(json.length() + (json.length() >> 2));
+        try {
+            if (!JsonScanner.format(json, builder, PRETTY_INDENT)) {
+                throw new IllegalArgumentException("Invalid JSON");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error formatting JSON", e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Pretty prints a JSON document from a {@link Reader} to a {@link Writer}
+     * token by token, in constant memory.
+     *
+     * @param json   the source of JSON text.
+     * @param output the target of the formatted JSON text.
+     * @throws IllegalArgumentException if the JSON is invalid.
+     * @throws UncheckedIOException     if reading or writing fails.
+     */
+    public static void prettyPrint(Reader json, Writer output) {
         try {
-            return new JSONObject(json).toString(4);
-        } catch (JSONException ignored) {
-            return new JSONArray(json).toString(4);
+            JsonReader reader = new JsonReader(json);
+            JsonWriter writer = new JsonWriter(output).setIndent(PRETTY_INDENT);
+            copy(reader, writer);
+            reader.peek();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error formatting JSON", e);
+        }
+    }
+
+    /**
+     * Copies the next value from a reader to a writer, token by token.
+     *
+     * @param reader the source.
+     * @param writer the target.
+     * @throws IOException if reading or writing fails.
+     */
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        int depth = 0;
+        do {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT -> {
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                }
+                case BEGIN_ARRAY -> {
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                }
+                case END_ARRAY -> {
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                }
+                case NAME -> writer.name(reader.nextName());
+                case STRING -> writer.value(reader.nextString());
+                case NUMBER -> writer.rawValue(reader.nextString());
+                case BOOLEAN -> writer.value(reader.nextBoolean());
+                case NULL -> {
+                    reader.nextNull();
+                    writer.nullValue();
+                }
+                case END_DOCUMENT -> throw new IllegalArgumentException("Invalid JSON");
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Serializes a value into a JSON string.
+     *
+     * @param value the value to serialize.
+     * @return the JSON string.
+     */
+    private static String write(Object value) {
+        StringBuilder builder = new StringBuilder();
+        toJson(value, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Ensures a parsed value is a JSON object.
+     *
+     * @param value the parsed value.
+     * @return the value as a map.
+     * @throws JsonException if the value is not an object.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        throw new JsonException("JSON text is not an object");
+    }
+
+    /**
+     * Ensures a parsed value is a JSON array.
+     *
+     * @param value the parsed value.
+     * @return the value as a list.
+     * @throws JsonException if the value is not an array.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> asArray(Object value) {
+        if (value instanceof List<?> list) {
+            return (List<Object>) list;
         }
+        throw new JsonException("JSON text is not an array");
     }
 }
@@ -0,0 +1,679 @@
+package dev.rafandoo.cup.json;
+
+import dev.rafandoo.cup.exception.JsonException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lazy, read-only view over a UTF-8 encoded JSON document.
+ * <p>
+ * Creating a document performs a single validating pass over the bytes that
+ * records the position of every value in a flat structural index; no strings,
+ * numbers, maps or lists are created. Values are materialized only when they
+ * are accessed, and lookups jump over sibling subtrees using the index, so
+ * reading a few fields from a large document costs little more than the
+ * initial scan.
+ * <p>
+ * Paths use dot notation, where numeric segments address array elements
+ * (e.g. {@code "servers.0.host"}); the empty string addresses the root.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class JsonDocument {
+
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+    private static final byte STRING = 2;
+    private static final byte NUMBER = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+    private static final byte NULL = 6;
+    private static final byte NAME = 7;
+
+    /**
+     * Flag set on {@link #STRING} and {@link #NAME} entries that contain escape sequences.
+     */
+    private static final byte ESCAPED = 0x10;
+    private static final byte KIND_MASK = 0x0F;
+
+    private static final int VALUE_STATE = 0;
+    private static final int NAME_STATE = 1;
+    private static final int AFTER_VALUE_STATE = 2;
+
+    private final byte[] bytes;
+    private final byte[] kinds;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] nexts;
+
+    /**
+     * Creates a document and builds its structural index.
+     *
+     * @param bytes  the input.
+     * @param offset the start offset.
+     * @param length the number of bytes to index.
+     */
+    private JsonDocument(byte[] bytes, int offset, int length) {
+        Indexer indexer = new Indexer(bytes, offset, length);
+        indexer.index(offset);
+        this.bytes = bytes;
+        this.kinds = indexer.kinds;
+        this.starts = indexer.starts;
+        this.ends = indexer.ends;
+        this.nexts = indexer.nexts;
+    }
+
+    /**
+     * Indexes a UTF-8 encoded JSON document.
+     * <p>
+     * The array is not copied and must not be modified while the document is in use.
+     *
+     * @param json the UTF-8 bytes.
+     * @return the indexed document.
+     * @throws JsonException if the JSON is invalid.
+     */
+    public static JsonDocument of(byte[] json) {
+        return new JsonDocument(json, 0, json.length);
+    }
+
+    /**
+     * Indexes a range of a UTF-8 encoded JSON document.
+     *
+     * @param json   the UTF-8 bytes.
+     * @param offset the start offset.
+     * @param length the number of bytes to index.
+     * @return the indexed document.
+     * @throws JsonException if the JSON is invalid.
+     */
+    public static JsonDocument of(byte[] json, int offset, int length) {
+        return new JsonDocument(json, offset, length);
+    }
+
+    /**
+     * Indexes a JSON document held in a string.
+     *
+     * @param json the JSON text.
+     * @return the indexed document.
+     * @throws JsonException if the JSON is invalid.
+     */
+    public static JsonDocument of(String json) {
+        return of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether a value exists at the given path.
+     *
+     * @param path the dot-notation path.
+     * @return {@code true} if the path resolves, even to a JSON {@code null}.
+     */
+    public boolean contains(String path) {
+        return this.resolve(path) >= 0;
+    }
+
+    /**
+     * Returns the token type of the value at the given path.
+     *
+     * @param path the dot-notation path.
+     * @return the value type ({@link JsonToken#BEGIN_OBJECT}, {@link JsonToken#BEGIN_ARRAY},
+     * {@link JsonToken#STRING}, {@link JsonToken#NUMBER}, {@link JsonToken#BOOLEAN} or
+     * {@link JsonToken#NULL}), or {@code null} if the path does not resolve.
+     */
+    public JsonToken type(String path) {
+        int entry = this.resolve(path);
+        return entry < 0 ? null : this.token(entry);
+    }
+
+    /**
+     * Materializes the value at the given path.
+     * <p>
+     * Objects and arrays are materialized as {@link Map}s and {@link List}s,
+     * exactly as {@link Json#parse(byte[])} would produce them.
+     *
+     * @param path the dot-notation path.
+     * @return the value, or {@code null} if the path does not resolve.
+     */
+    public Object get(String path) {
+        int entry = this.resolve(path);
+        return entry < 0 ? null : this.materialize(entry);
+    }
+
+    /**
+     * Returns the string value at the given path.
+     *
+     * @param path the dot-notation path.
+     * @return the decoded string, or {@code null} if the path does not resolve to a string.
+     */
+    public String getString(String path) {
+        int entry = this.resolve(path);
+        return entry >= 0 && this.kind(entry) == STRING ? this.decodeString(entry) : null;
+    }
+
+    /**
+     * Returns the number value at the given path.
+     *
+     * @param path the dot-notation path.
+     * @return the number, or {@code null} if the path does not resolve to a number.
+     */
+    public Number getNumber(String path) {
+        int entry = this.resolve(path);
+        return entry >= 0 && this.kind(entry) == NUMBER ? (Number) this.materialize(entry) : null;
+    }
+
+    /**
+     * Returns the boolean value at the given path.
+     *
+     * @param path the dot-notation path.
+     * @return the boolean, or {@code null} if the path does not resolve to a boolean.
+     */
+    public Boolean getBoolean(String path) {
+        int entry = this.resolve(path);
+        if (entry < 0) {
+            return null;
+        }
+        return switch (this.kind(entry)) {
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the number of properties or elements of the container at the given path.
+     * <p>
+     * Properties are counted as written, so repeated names are counted once per occurrence.
+     *
+     * @param path the dot-notation path.
+     * @return the container size, or {@code -1} if the path does not resolve to an object or array.
+     */
+    public int size(String path) {
+        int entry = this.resolve(path);
+        if (entry < 0 || this.kind(entry) > ARRAY) {
+            return -1;
+        }
+        int count = 0;
+        for (int child = this.firstChild(entry); child >= 0; child = this.nextSibling(entry, child)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the raw JSON text of the value at the given path, as written in the source.
+     *
+     * @param path the dot-notation path.
+     * @return the JSON text, or {@code null} if the path does not resolve.
+     */
+    public String raw(String path) {
+        int entry = this.resolve(path);
+        return entry < 0 ? null : this.rawText(entry);
+    }
+
+    /**
+     * Materializes the whole document.
+     *
+     * @return the root value.
+     */
+    public Object toValue() {
+        return this.materialize(0);
+    }
+
+    /**
+     * Resolves a dot-notation path to an index entry.
+     *
+     * @param path the path.
+     * @return the entry of the addressed value, or {@code -1} if it does not resolve.
+     */
+    private int resolve(String path) {
+        int entry = 0;
+        if (path == null || path.isEmpty()) {
+            return entry;
+        }
+
+        int from = 0;
+        while (entry >= 0 && from <= path.length()) {
+            int dot = path.indexOf('.', from);
+            int to = dot < 0 ? path.length() : dot;
+            String segment = path.substring(from, to);
+            entry = switch (this.kind(entry)) {
+                case OBJECT -> this.member(entry, segment);
+                case ARRAY -> {
+                    int index = arrayIndex(segment);
+                    yield index < 0 ? -1 : this.element(entry, index);
+                }
+                default -> -1;
+            };
+            from = to + 1;
+        }
+        return entry;
+    }
+
+    /**
+     * Parses a path segment as an array index.
+     *
+     * @param segment the segment.
+     * @return the index, or {@code -1} if the segment is not a non-negative decimal integer.
+     */
+    static int arrayIndex(String segment) {
+        int length = segment.length();
+        if (length == 0 || length > 9 || (length > 1 && segment.charAt(0) == '0')) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * Returns the token type of an entry.
+     *
+     * @param entry the value entry.
+     * @return the token type.
+     */
+    JsonToken token(int entry) {
+        return switch (this.kind(entry)) {
+            case OBJECT -> JsonToken.BEGIN_OBJECT;
+            case ARRAY -> JsonToken.BEGIN_ARRAY;
+            case STRING -> JsonToken.STRING;
+            case NUMBER -> JsonToken.NUMBER;
+            case TRUE, FALSE -> JsonToken.BOOLEAN;
+            case NULL -> JsonToken.NULL;
+            default -> JsonToken.NAME;
+        };
+    }
+
+    /**
+     * Finds the value of an object property.
+     * <p>
+     * When a name occurs more than once, the last occurrence wins, as it does
+     * when the object is materialized.
+     *
+     * @param object the object entry.
+     * @param name   the property name.
+     * @return the value entry, or {@code -1} if the object has no such property.
+     */
+    int member(int object, String name) {
+        byte[] target = null;
+        int found = -1;
+        for (int key = this.firstChild(object); key >= 0; key = this.nextSibling(object, key)) {
+            if ((this.kinds[key] & ESCAPED) != 0) {
+                if (name.equals(this.decodeString(key))) {
+                    found = key + 1;
+                }
+                continue;
+            }
+            if (target == null) {
+                target = name.getBytes(StandardCharsets.UTF_8);
+            }
+            int from = this.starts[key] + 1;
+            int to = this.ends[key] - 1;
+            if (to - from == target.length && Arrays.equals(this.bytes, from, to, target, 0, target.length)) {
+                found = key + 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds an array element by position.
+     *
+     * @param array the array entry.
+     * @param index the element index.
+     * @return the element entry, or {@code -1} if the index is out of bounds.
+     */
+    int element(int array, int index) {
+        int child = this.firstChild(array);
+        for (int i = 0; i < index && child >= 0; i++) {
+            child = this.nextSibling(array, child);
+        }
+        return child;
+    }
+
+    /**
+     * Returns the first child of a container: the first property name entry
+     * of an object, or the first element entry of an array.
+     *
+     * @param container the container entry.
+     * @return the child entry, or {@code -1} if the container is empty.
+     */
+    int firstChild(int container) {
+        int child = container + 1;
+        return child < this.nexts[container] ? child : -1;
+    }
+
+    /**
+     * Returns the child following the given one in the same container,
+     * skipping over the subtree of the current child.
+     *
+     * @param container the container entry.
+     * @param child     the current child, as returned by {@link #firstChild(int)}.
+     * @return the next child entry, or {@code -1} if there are no more children.
+     */
+    int nextSibling(int container, int child) {
+        int next = this.kind(container) == OBJECT ? this.nexts[child + 1] : this.nexts[child];
+        return next < this.nexts[container] ? next : -1;
+    }
+
+    /**
+     * Decodes a string or property name entry.
+     *
+     * @param entry the entry.
+     * @return the decoded string.
+     */
+    String decodeString(int entry) {
+        int start = this.starts[entry];
+        int stop = this.ends[entry];
+        if ((this.kinds[entry] & ESCAPED) == 0) {
+            return new String(this.bytes, start + 1, stop - start - 2, StandardCharsets.UTF_8);
+        }
+        return (String) JsonParser.parse(this.bytes, start, stop - start);
+    }
+
+    /**
+     * Materializes the value of an entry.
+     *
+     * @param entry the value entry.
+     * @return the materialized value.
+     */
+    Object materialize(int entry) {
+        return switch (this.kind(entry)) {
+            case STRING, NAME -> this.decodeString(entry);
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case NULL -> null;
+            default -> JsonParser.parse(this.bytes, this.starts[entry], this.ends[entry] - this.starts[entry]);
+        };
+    }
+
+    /**
+     * Returns the source text of an entry.
+     *
+     * @param entry the entry.
+     * @return the JSON text of the value.
+     */
+    String rawText(int entry) {
+        int start = this.starts[entry];
+        return new String(this.bytes, start, this.ends[entry] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the kind of an entry without its flags.
+     *
+     * @param entry the entry.
+     * @return the entry kind.
+     */
+    private byte kind(int entry) {
+        return (byte) (this.kinds[entry] & KIND_MASK);
+    }
+
+    /**
+     * Creates a syntax error carrying a position.
+     *
+     * @param message  the error message.
+     * @param position the offending offset.
+     * @return the exception to throw.
+     */
+    private static JsonException syntaxError(String message, int position) {
+        return new JsonException(message + " at byte " + position);
+    }
+
+    /**
+     * Mutable state of the validating pass that builds the structural index.
+     * The index arrays grow while scanning and are handed to the document
+     * once complete.
+     */
+    private static final class Indexer {
+
+        private final byte[] bytes;
+        private final int end;
+
+        private byte[] kinds;
+        private int[] starts;
+        private int[] ends;
+        private int[] nexts;
+        private int size;
+
+        /**
+         * Creates an indexer.
+         *
+         * @param bytes  the input.
+         * @param offset the start offset.
+         * @param length the number of bytes to index.
+         */
+        private Indexer(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.end = offset + length;
+            int capacity = Math.max(16, length >>> 3);
+            this.kinds = new byte[capacity];
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+            this.nexts = new int[capacity];
+        }
+
+        /**
+         * Builds the structural index in a single validating pass.
+         *
+         * @param offset the start offset.
+         */
+        private void index(int offset) {
+            int[] open = new int[16];
+            int depth = 0;
+            int i = this.skipWhitespace(offset);
+            int state = VALUE_STATE;
+
+            while (true) {
+                if (state == VALUE_STATE) {
+                    if (i == this.end) {
+                        throw syntaxError("Unexpected end of input", i);
+                    }
+                    byte b = this.bytes[i];
+                    if (b == '{' || b == '[') {
+                        boolean object = b == '{';
+                        int entry = this.add(object ? OBJECT : ARRAY, i);
+                        i = this.skipWhitespace(i + 1);
+                        if (i < this.end && this.bytes[i] == (object ? '}' : ']')) {
+                            this.close(entry, ++i);
+                            state = AFTER_VALUE_STATE;
+                            continue;
+                        }
+                        if (depth == JsonParser.MAX_DEPTH) {
+                            throw syntaxError("Nesting too deep", i);
+                        }
+                        if (depth == open.length) {
+                            open = Arrays.copyOf(open, depth * 2);
+                        }
+                        open[depth++] = entry;
+                        state = object ? NAME_STATE : VALUE_STATE;
+                        continue;
+                    }
+
+                    int entry;
+                    int stop;
+                    switch (b) {
+                        case '"' -> {
+                            entry = this.add(STRING, i);
+                            stop = this.stringEnd(entry);
+                        }
+                        case 't' -> {
+                            stop = this.literalEnd(i, "true");
+                            entry = this.add(TRUE, i);
+                        }
+                        case 'f' -> {
+                            stop = this.literalEnd(i, "false");
+                            entry = this.add(FALSE, i);
+                        }
+                        case 'n' -> {
+                            stop = this.literalEnd(i, "null");
+                            entry = this.add(NULL, i);
+                        }
+                        default -> {
+                            if (b != '-' && (b < '0' || b > '9')) {
+                                throw syntaxError("Unexpected character '" + (char) (b & 0xFF) + "'", i);
+                            }
+                            stop = JsonParser.numberEnd(this.bytes, i, this.end);
+                            if (stop < 0) {
+                                throw syntaxError("Invalid number", -stop - 1);
+                            }
+                            entry = this.add(NUMBER, i);
+                        }
+                    }
+                    this.close(entry, stop);
+                    i = stop;
+                    state = AFTER_VALUE_STATE;
+                } else if (state == NAME_STATE) {
+                    if (i == this.end || this.bytes[i] != '"') {
+                        throw syntaxError("Expected a property name", i);
+                    }
+                    int entry = this.add(NAME, i);
+                    int stop = this.stringEnd(entry);
+                    this.close(entry, stop);
+
+                    i = this.skipWhitespace(stop);
+                    if (i == this.end || this.bytes[i] != ':') {
+                        throw syntaxError("Expected ':'", i);
+                    }
+                    i = this.skipWhitespace(i + 1);
+                    state = VALUE_STATE;
+                } else {
+                    i = this.skipWhitespace(i);
+                    if (depth == 0) {
+                        if (i != this.end) {
+                            throw syntaxError("Unexpected data after the end of the document", i);
+                        }
+                        break;
+                    }
+
+                    int container = open[depth - 1];
+                    boolean object = this.kinds[container] == OBJECT;
+                    int b = i < this.end ? this.bytes[i] : -1;
+                    if (b == ',') {
+                        i = this.skipWhitespace(i + 1);
+                        state = object ? NAME_STATE : VALUE_STATE;
+                    } else if (b == (object ? '}' : ']')) {
+                        this.close(container, ++i);
+                        depth--;
+                    } else {
+                        throw syntaxError(object ? "Expected ',' or '}'" : "Expected ',' or ']'", i);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Appends an entry to the index.
+         *
+         * @param kind  the entry kind.
+         * @param start the offset of the first byte of the value.
+         * @return the new entry.
+         */
+        private int add(byte kind, int start) {
+            if (this.size == this.kinds.length) {
+                int capacity = this.size + (this.size >> 1);
+                this.kinds = Arrays.copyOf(this.kinds, capacity);
+                this.starts = Arrays.copyOf(this.starts, capacity);
+                this.ends = Arrays.copyOf(this.ends, capacity);
+                this.nexts = Arrays.copyOf(this.nexts, capacity);
+            }
+            int entry = this.size++;
+            this.kinds[entry] = kind;
+            this.starts[entry] = start;
+            return entry;
+        }
+
+        /**
+         * Completes an entry once the end of its value is known.
+         *
+         * @param entry the entry.
+         * @param stop  the offset after the last byte of the value.
+         */
+        private void close(int entry, int stop) {
+            this.ends[entry] = stop;
+            this.nexts[entry] = this.size;
+        }
+
+        /**
+         * Validates the string literal of an entry, flagging it when it contains escapes.
+         *
+         * @param entry the string or property name entry, starting at the opening quote.
+         * @return the offset after the closing quote.
+         */
+        private int stringEnd(int entry) {
+            int i = this.starts[entry] + 1;
+            while (true) {
+                i = JsonParser.scanStringBody(this.bytes, i, this.end);
+                if (i < 0) {
+                    throw syntaxError("Unterminated string", this.end);
+                }
+                byte b = this.bytes[i];
+                if (b == '"') {
+                    return i + 1;
+                }
+                if (b != '\\') {
+                    throw syntaxError("Unescaped control character in string", i);
+                }
+                this.kinds[entry] |= ESCAPED;
+                if (++i == this.end) {
+                    throw syntaxError("Unterminated string", i);
+                }
+                byte escape = this.bytes[i++];
+                if (escape == 'u') {
+                    if (i + 4 > this.end) {
+                        throw syntaxError("Invalid unicode escape", i);
+                    }
+                    for (int stop = i + 4; i < stop; i++) {
+                        if (JsonNumbers.hexDigit(this.bytes[i]) < 0) {
+                            throw syntaxError("Invalid unicode escape", i);
+                        }
+                    }
+                } else if ("\"\\/bfnrt".indexOf(escape) < 0) {
+                    throw syntaxError("Invalid escape sequence '\\" + (char) (escape & 0xFF) + "'", i - 1);
+                }
+            }
+        }
+
+        /**
+         * Validates a literal keyword.
+         *
+         * @param start   the offset of the first byte.
+         * @param literal the expected keyword.
+         * @return the offset after the literal.
+         */
+        private int literalEnd(int start, String literal) {
+            int stop = start + literal.length();
+            if (stop > this.end) {
+                throw syntaxError("Invalid literal", start);
+            }
+            for (int k = 1; k < literal.length(); k++) {
+                if (this.bytes[start + k] != literal.charAt(k)) {
+                    throw syntaxError("Invalid literal", start);
+                }
+            }
+            return stop;
+        }
+
+        /**
+         * Skips JSON whitespace.
+         *
+         * @param start the offset to start from.
+         * @return the offset of the next non-whitespace byte, or the end of input.
+         */
+        private int skipWhitespace(int start) {
+            int i = start;
+            while (i < this.end) {
+                byte b = this.bytes[i];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package dev.rafandoo.cup.json;
+
+import dev.rafandoo.cup.exception.JsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Readers for newline-delimited JSON (NDJSON / JSON Lines), where every
+ * non-blank line holds one JSON object.
+ * <p>
+ * Lines are located and parsed directly in a byte buffer, without decoding
+ * them into intermediate strings. Sequential streams read through a large
+ * buffer; parallel streams split the file into ranges at line boundaries,
+ * and each worker reads its own range with positional channel reads into a
+ * reused buffer and parses it independently.
+ */
+final class JsonLines {
+
+    /**
+     * Initial size of the line buffer; it grows to fit longer lines.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Buffer size of parallel range readers.
+     */
+    private static final int RANGE_BUFFER_SIZE = 1 << 22;
+
+    /**
+     * Ranges smaller than this are not split any further.
+     */
+    private static final long MIN_SPLIT = 1 << 20;
+
+    private JsonLines() {
+    }
+
+    /**
+     * Streams the objects of an NDJSON input stream, read lazily.
+     * Closing the returned stream closes the input.
+     *
+     * @param input the UTF-8 encoded input.
+     * @return a sequential stream of objects.
+     */
+    static Stream<Map<String, Object>> stream(InputStream input) {
+        return StreamSupport.stream(new StreamLines(input), false).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Streams the objects of an NDJSON file using ranges that can be parsed
+     * in parallel. Closing the returned stream closes the file.
+     *
+     * @param path the file.
+     * @return a parallel stream of objects, in file order when ordered operations are used.
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    static Stream<Map<String, Object>> parallel(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                return StreamSupport.stream(new RangeLines(channel, 0, channel.size()), true).onClose(() -> {
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening " + path, e);
+        }
+    }
+
+    /**
+     * Base spliterator that splits a buffered byte source into lines and
+     * parses each non-blank line as a JSON object.
+     */
+    private abstract static class LineSpliterator implements Spliterator<Map<String, Object>> {
+
+        private byte[] buffer;
+        private int pos;
+        private int limit;
+        private boolean eof;
+
+        /**
+         * Index up to which the buffer is known to contain no newline.
+         */
+        private int scanned;
+
+        /**
+         * Offset within the source of the first byte of {@link #buffer}.
+         */
+        private long bufferOffset;
+
+        /**
+         * Creates a spliterator starting at the given source offset.
+         *
+         * @param offset the source offset of the first byte to read.
+         */
+        LineSpliterator(long offset) {
+            this.bufferOffset = offset;
+        }
+
+        /**
+         * Reads more bytes from the source.
+         *
+         * @param target the buffer.
+         * @param offset the offset to read into.
+         * @param length the maximum number of bytes to read.
+         * @return the number of bytes read, or {@code -1} at the end of the source.
+         * @throws IOException if reading fails.
+         */
+        abstract int read(byte[] target, int offset, int length) throws IOException;
+
+        /**
+         * Returns the initial buffer size.
+         *
+         * @return the buffer size.
+         */
+        abstract int bufferSize();
+
+        /**
+         * Moves the start of a spliterator that has not started reading.
+         *
+         * @param offset the source offset of the first byte to read.
+         */
+        void startAt(long offset) {
+            this.bufferOffset = offset;
+        }
+
+        /**
+         * Checks whether reading has started.
+         *
+         * @return {@code true} once the buffer was first filled.
+         */
+        boolean started() {
+            return this.buffer != null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+            if (this.buffer == null) {
+                this.buffer = new byte[this.bufferSize()];
+            }
+            try {
+                while (true) {
+                    int newline = indexOf(this.buffer, '\n', Math.max(this.pos, this.scanned), this.limit);
+                    if (newline < 0 && !this.eof) {
+                        this.scanned = this.limit;
+                        this.fill();
+                        continue;
+                    }
+                    if (newline < 0 && this.pos == this.limit) {
+                        return false;
+                    }
+
+                    int start = this.pos;
+                    int end = newline < 0 ? this.limit : newline;
+                    this.pos = newline < 0 ? this.limit : newline + 1;
+                    Map<String, Object> value = this.parse(start, end);
+                    if (value != null) {
+                        action.accept(value);
+                        return true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Parses a line of the buffer.
+         *
+         * @param start the start of the line (inclusive).
+         * @param end   the end of the line (exclusive), excluding the newline.
+         * @return the parsed object, or {@code null} if the line is blank.
+         */
+        private Map<String, Object> parse(int start, int end) {
+            int from = start;
+            int to = end;
+            while (from < to && isWhitespace(this.buffer[from])) {
+                from++;
+            }
+            while (to > from && isWhitespace(this.buffer[to - 1])) {
+                to--;
+            }
+            if (from == to) {
+                return null;
+            }
+
+            long offset = this.bufferOffset + start;
+            Object value;
+            try {
+                value = JsonParser.parse(this.buffer, from, to - from);
+            } catch (JsonException e) {
+                throw new JsonException("Invalid JSON line at offset " + offset + ": " + e.getMessage(), e);
+            }
+            if (!(value instanceof Map<?, ?>)) {
+                throw new JsonException("JSON line at offset " + offset + " is not an object");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) value;
+            return map;
+        }
+
+        /**
+         * Moves the unread bytes to the front of the buffer, growing it when a
+         * single line fills it, and reads more bytes from the source.
+         *
+         * @throws IOException if reading fails.
+         */
+        private void fill() throws IOException {
+            if (this.pos > 0) {
+                System.arraycopy(this.buffer, this.pos, this.buffer, 0, this.limit - this.pos);
+                this.bufferOffset += this.pos;
+                this.scanned -= this.pos;
+                this.limit -= this.pos;
+                this.pos = 0;
+            }
+            if (this.limit == this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+            }
+            int read = this.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (read < 0) {
+                this.eof = true;
+            } else {
+                this.limit += read;
+            }
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * Sequential lines of an {@link InputStream}.
+     */
+    private static final class StreamLines extends LineSpliterator {
+
+        private final InputStream input;
+
+        /**
+         * Creates a spliterator over an input stream.
+         *
+         * @param input the input.
+         */
+        StreamLines(InputStream input) {
+            super(0);
+            this.input = input;
+        }
+
+        @Override
+        int read(byte[] target, int offset, int length) throws IOException {
+            return this.input.read(target, offset, length);
+        }
+
+        @Override
+        int bufferSize() {
+            return BUFFER_SIZE;
+        }
+
+        @Override
+        public Spliterator<Map<String, Object>> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Lines of a range of a file, read with positional reads so that ranges
+     * share the channel without coordination. Ranges always start at the
+     * beginning of a line and split at line boundaries.
+     */
+    private static final class RangeLines extends LineSpliterator {
+
+        private final FileChannel channel;
+        private long position;
+        private long end;
+
+        /**
+         * Creates a spliterator over a range of a file.
+         *
+         * @param channel the file channel.
+         * @param start   the start of the range, at the beginning of a line.
+         * @param end     the end of the range, after a newline or at the end of the file.
+         */
+        RangeLines(FileChannel channel, long start, long end) {
+            super(start);
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        int read(byte[] target, int offset, int length) throws IOException {
+            long remaining = this.end - this.position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = this.channel.read(ByteBuffer.wrap(target, offset, (int) Math.min(remaining, length)), this.position);
+            if (read < 0) {
+                return -1;
+            }
+            this.position += read;
+            return read;
+        }
+
+        @Override
+        int bufferSize() {
+            return (int) Math.min(RANGE_BUFFER_SIZE, Math.max(this.end - this.position, 1));
+        }
+
+        @Override
+        public Spliterator<Map<String, Object>> trySplit() {
+            long size = this.end - this.position;
+            if (this.started() || size < MIN_SPLIT) {
+                return null;
+            }
+            try {
+                long boundary = this.nextLineStart(this.position + size / 2);
+                if (boundary <= this.position || boundary >= this.end) {
+                    return null;
+                }
+                RangeLines prefix = new RangeLines(this.channel, this.position, boundary);
+                this.position = boundary;
+                this.startAt(boundary);
+                return prefix;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Finds the start of the first line beginning after the given offset.
+         *
+         * @param from the offset to search from.
+         * @return the offset after the next newline, or {@link #end} if there is none.
+         * @throws IOException if reading fails.
+         */
+        private long nextLineStart(long from) throws IOException {
+            ByteBuffer chunk = ByteBuffer.allocate(8192);
+            long offset = from;
+            while (offset < this.end) {
+                chunk.clear().limit((int) Math.min(chunk.capacity(), this.end - offset));
+                int read = this.channel.read(chunk, offset);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (chunk.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+                offset += read;
+            }
+            return this.end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.end - this.position;
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Finds a byte in a range of an array.
+     *
+     * @param bytes the array.
+     * @param b     the byte.
+     * @param from  the start index (inclusive).
+     * @param to    the end index (exclusive).
+     * @return the index of the byte, or {@code -1} if not found.
+     */
+    private static int indexOf(byte[] bytes, char b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a byte is JSON whitespace.
+     *
+     * @param b the byte.
+     * @return {@code true} for space, tab, carriage return and line feed.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
@@ -0,0 +1,124 @@
+package dev.rafandoo.cup.json;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writer for newline-delimited JSON (NDJSON / JSON Lines): one compact JSON
+ * value per line, each terminated by {@code '\n'}.
+ * <p>
+ * Line breaks inside strings are always escaped, so every value occupies
+ * exactly one line and the output can be read back with {@link Json#lines}.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class JsonLinesWriter implements Closeable, Flushable {
+
+    /**
+     * Size of the character buffer placed in front of output streams.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private final JsonWriter writer;
+
+    /**
+     * Creates a writer emitting lines to the given {@link Writer}.
+     *
+     * @param out the target of JSON text.
+     */
+    public JsonLinesWriter(Writer out) {
+        this.out = Objects.requireNonNull(out, "Writer must not be null");
+        this.writer = new JsonWriter(out);
+    }
+
+    /**
+     * Creates a writer emitting UTF-8 encoded lines to the given {@link OutputStream}.
+     * <p>
+     * Output is buffered; call {@link #flush()} or {@link #close()} when done.
+     *
+     * @param out the target stream.
+     */
+    public JsonLinesWriter(OutputStream out) {
+        this(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes a value as one line.
+     *
+     * @param value the value; any type accepted by {@link JsonWriter#value(Object)}.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonLinesWriter write(Object value) throws IOException {
+        this.writer.value(value);
+        this.out.write('\n');
+        this.writer.nextDocument();
+        return this;
+    }
+
+    /**
+     * Writes every value of an {@link Iterable}, one per line.
+     *
+     * @param values the values.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonLinesWriter writeAll(Iterable<?> values) throws IOException {
+        for (Object value : values) {
+            this.write(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes every value of a {@link Stream}, one per line, in encounter order.
+     *
+     * @param values the values.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonLinesWriter writeAll(Stream<?> values) throws IOException {
+        try {
+            values.forEachOrdered(value -> {
+                try {
+                    this.write(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return this;
+    }
+
+    /**
+     * Flushes the target.
+     *
+     * @throws IOException if flushing fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * Closes the target.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
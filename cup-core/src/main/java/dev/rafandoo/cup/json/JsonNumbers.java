@@ -0,0 +1,214 @@
+package dev.rafandoo.cup.json;
+
+import dev.rafandoo.cup.parsing.NumberParser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Materializes validated JSON number literals into the narrowest fitting
+ * {@link Number} type.
+ * <p>
+ * Integral literals become {@link Integer}, {@link Long} or {@link BigInteger};
+ * literals with a fraction or exponent become {@link Double}, or
+ * {@link BigDecimal} when they exceed the double range.
+ */
+final class JsonNumbers {
+
+    /**
+     * Maximum number of digits that always fit into an {@code int}.
+     */
+    private static final int MAX_INT_DIGITS = 9;
+
+    /**
+     * Maximum number of digits that always fit into a {@code long}.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private JsonNumbers() {
+    }
+
+    /**
+     * Converts a number literal held in a character sequence.
+     *
+     * @param text     the text holding the literal.
+     * @param start    the start index (inclusive).
+     * @param end      the end index (exclusive).
+     * @param integral whether the literal has neither fraction nor exponent.
+     * @return the materialized number.
+     */
+    static Number toNumber(CharSequence text, int start, int end, boolean integral) {
+        int digits = end - start - (text.charAt(start) == '-' ? 1 : 0);
+
+        if (integral) {
+            if (digits <= MAX_INT_DIGITS) {
+                return NumberParser.parseInt(text, start, end, 0);
+            }
+            if (digits <= MAX_LONG_DIGITS) {
+                return narrow(NumberParser.parseLong(text, start, end, 0L));
+            }
+            return narrow(new BigInteger(text.subSequence(start, end).toString()));
+        }
+
+        double value = NumberParser.parseDouble(text, start, end, Double.NaN);
+        if (Double.isInfinite(value)) {
+            return outOfRange(text.subSequence(start, end).toString(), value);
+        }
+        return value;
+    }
+
+    /**
+     * Materializes a decimal literal that overflows the double range.
+     *
+     * @param literal  the literal text.
+     * @param infinity the infinite double value of the literal.
+     * @return the literal as a {@link BigDecimal}, or {@code infinity} when
+     * its exponent exceeds the {@link BigDecimal} scale range.
+     */
+    static Number outOfRange(String literal, double infinity) {
+        try {
+            return new BigDecimal(literal);
+        } catch (NumberFormatException e) {
+            return infinity;
+        }
+    }
+
+    /**
+     * Narrows a long to an {@link Integer} when it fits.
+     *
+     * @param value the value.
+     * @return the narrowest boxed value.
+     */
+    static Number narrow(long value) {
+        int narrowed = (int) value;
+        return narrowed == value ? (Number) narrowed : (Number) value;
+    }
+
+    /**
+     * Narrows a big integer to a {@link Long} or {@link Integer} when it fits.
+     *
+     * @param value the value.
+     * @return the narrowest value.
+     */
+    static Number narrow(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? narrow(value.longValue()) : value;
+    }
+
+    /**
+     * Validates the grammar of a JSON number literal in place.
+     *
+     * @param text  the text holding the literal.
+     * @param start the start index (inclusive).
+     * @param end   the end index (exclusive).
+     * @return {@code 0} if invalid, {@code 1} if integral, {@code 2} if it has a fraction or exponent.
+     */
+    static int validate(CharSequence text, int start, int end) {
+        if (numberEnd(text, null, start, end) != end) {
+            return 0;
+        }
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                return 2;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Finds the end of the number literal starting at the given index, over
+     * either characters or UTF-8 bytes, without copying the input.
+     *
+     * @param chars the character source, or {@code null}.
+     * @param bytes the byte source, used when {@code chars} is {@code null}.
+     * @param start the index of the first character of the literal.
+     * @param end   the end of the input.
+     * @return the index after the literal, or {@code -(i + 1)} where {@code i}
+     * is the index at which the literal was found to be invalid.
+     */
+    static int numberEnd(CharSequence chars, byte[] bytes, int start, int end) {
+        int i = start;
+        if (i < end && at(chars, bytes, i) == '-') {
+            i++;
+        }
+
+        if (i < end && at(chars, bytes, i) == '0') {
+            i++;
+        } else {
+            int digitsStart = i;
+            while (i < end && isDigit(at(chars, bytes, i))) {
+                i++;
+            }
+            if (i == digitsStart) {
+                return -i - 1;
+            }
+        }
+
+        if (i < end && at(chars, bytes, i) == '.') {
+            int fractionStart = ++i;
+            while (i < end && isDigit(at(chars, bytes, i))) {
+                i++;
+            }
+            if (i == fractionStart) {
+                return -i - 1;
+            }
+        }
+        if (i < end && (at(chars, bytes, i) == 'e' || at(chars, bytes, i) == 'E')) {
+            i++;
+            if (i < end && (at(chars, bytes, i) == '+' || at(chars, bytes, i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < end && isDigit(at(chars, bytes, i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return -i - 1;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Reads a character from either source.
+     *
+     * @param chars the character source, or {@code null}.
+     * @param bytes the byte source, used when {@code chars} is {@code null}.
+     * @param index the index.
+     * @return the character, or a negative value for non-ASCII bytes.
+     */
+    private static int at(CharSequence chars, byte[] bytes, int index) {
+        return chars != null ? chars.charAt(index) : bytes[index];
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit.
+     *
+     * @param c the character.
+     * @return {@code true} if {@code c} is between {@code '0'} and {@code '9'}.
+     */
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns the value of an ASCII hexadecimal digit, as used in unicode
+     * escape sequences. Unlike {@link Character#digit(char, int)}, non-ASCII
+     * digits are rejected.
+     *
+     * @param c the character.
+     * @return the digit value, or {@code -1} if {@code c} is not in {@code [0-9a-fA-F]}.
+     */
+    static int hexDigit(int c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
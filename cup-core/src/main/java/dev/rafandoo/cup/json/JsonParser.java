@@ -0,0 +1,481 @@
+package dev.rafandoo.cup.json;
+
+import dev.rafandoo.cup.exception.JsonException;
+import dev.rafandoo.cup.parsing.NumberParser;
+import dev.rafandoo.cup.text.StringPool;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Built-in JSON parser working directly on UTF-8 encoded bytes.
+ * <p>
+ * The parser is a recursive descent over the input array with the following
+ * optimizations:
+ * <ul>
+ *   <li>string bodies are scanned eight bytes at a time (SWAR) looking for
+ *   quotes, backslashes and control characters, and decoded in one step when
+ *   they contain no escapes;</li>
+ *   <li>property names and short string values are canonicalized through
+ *   {@link StringPool}s, so repeated keys and values resolve to the same
+ *   {@link String} instance without being decoded again;</li>
+ *   <li>integral numbers are accumulated while scanning and only materialized
+ *   as {@link BigInteger} or {@link java.math.BigDecimal} when they do not fit a
+ *   primitive.</li>
+ * </ul>
+ * Objects become {@link LinkedHashMap}s and arrays become {@link ArrayList}s.
+ */
+final class JsonParser {
+
+    /**
+     * Maximum nesting depth accepted before failing, to avoid stack exhaustion.
+     */
+    static final int MAX_DEPTH = 1024;
+
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long QUOTES = 0x2222222222222222L;
+    private static final long BACKSLASHES = 0x5C5C5C5C5C5C5C5CL;
+    private static final long SPACES = 0x2020202020202020L;
+
+    private static final int MAX_CACHED_KEY_LENGTH = 32;
+    private static final int KEY_CACHE_SIZE = 4096;
+
+    /**
+     * String values at most this long are deduplicated through {@link StringPool#shared()}.
+     */
+    private static final int MAX_POOLED_VALUE_LENGTH = 32;
+
+    /**
+     * Canonical property names, kept apart from values so that documents
+     * with many distinct values do not evict their keys.
+     */
+    private static final StringPool KEY_CACHE = StringPool.of(KEY_CACHE_SIZE, MAX_CACHED_KEY_LENGTH);
+
+    private final byte[] bytes;
+    private final int end;
+    private int pos;
+    private int depth;
+
+    /**
+     * Creates a parser over a range of UTF-8 bytes.
+     *
+     * @param bytes  the input.
+     * @param offset the start offset.
+     * @param length the number of bytes to parse.
+     */
+    private JsonParser(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.pos = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Parses a complete JSON document held in a range of UTF-8 bytes.
+     *
+     * @param bytes  the input.
+     * @param offset the start offset.
+     * @param length the number of bytes to parse.
+     * @return the parsed value.
+     * @throws JsonException if the input is malformed.
+     */
+    static Object parse(byte[] bytes, int offset, int length) {
+        JsonParser parser = new JsonParser(bytes, offset, length);
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != parser.end) {
+            throw parser.syntaxError("Unexpected data after the end of the document");
+        }
+        return value;
+    }
+
+    /**
+     * Parses a complete JSON document held in a string.
+     *
+     * @param json the input.
+     * @return the parsed value.
+     * @throws JsonException if the input is malformed.
+     */
+    static Object parse(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads the value starting at the next non-whitespace byte.
+     *
+     * @return the parsed value.
+     */
+    private Object readValue() {
+        this.skipWhitespace();
+        if (this.pos == this.end) {
+            throw this.syntaxError("Unexpected end of input");
+        }
+
+        byte b = this.bytes[this.pos];
+        return switch (b) {
+            case '{' -> this.readObject();
+            case '[' -> this.readArray();
+            case '"' -> this.readString(false);
+            case 't' -> this.readLiteral("true", Boolean.TRUE);
+            case 'f' -> this.readLiteral("false", Boolean.FALSE);
+            case 'n' -> this.readLiteral("null", null);
+            default -> {
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    yield this.readNumber();
+                }
+                throw this.syntaxError("Unexpected character '" + (char) (b & 0xFF) + "'");
+            }
+        };
+    }
+
+    /**
+     * Reads an object starting at the opening brace.
+     *
+     * @return the object as a map.
+     */
+    private Map<String, Object> readObject() {
+        this.enter();
+        this.pos++;
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        this.skipWhitespace();
+        if (this.peekByte() == '}') {
+            this.pos++;
+            this.depth--;
+            return map;
+        }
+
+        while (true) {
+            this.skipWhitespace();
+            if (this.peekByte() != '"') {
+                throw this.syntaxError("Expected a property name");
+            }
+            String name = this.readString(true);
+
+            this.skipWhitespace();
+            if (this.peekByte() != ':') {
+                throw this.syntaxError("Expected ':'");
+            }
+            this.pos++;
+            map.put(name, this.readValue());
+
+            this.skipWhitespace();
+            int b = this.peekByte();
+            this.pos++;
+            if (b == '}') {
+                this.depth--;
+                return map;
+            }
+            if (b != ',') {
+                this.pos--;
+                throw this.syntaxError("Expected ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Reads an array starting at the opening bracket.
+     *
+     * @return the array as a list.
+     */
+    private List<Object> readArray() {
+        this.enter();
+        this.pos++;
+        List<Object> list = new ArrayList<>();
+
+        this.skipWhitespace();
+        if (this.peekByte() == ']') {
+            this.pos++;
+            this.depth--;
+            return list;
+        }
+
+        while (true) {
+            list.add(this.readValue());
+
+            this.skipWhitespace();
+            int b = this.peekByte();
+            this.pos++;
+            if (b == ']') {
+                this.depth--;
+                return list;
+            }
+            if (b != ',') {
+                this.pos--;
+                throw this.syntaxError("Expected ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Reads a string starting at the opening quote.
+     *
+     * @param key whether the string is a property name eligible for canonicalization.
+     * @return the decoded string.
+     */
+    private String readString(boolean key) {
+        int start = ++this.pos;
+        int i = scanStringBody(this.bytes, start, this.end);
+        if (i < 0) {
+            throw this.syntaxError("Unterminated string");
+        }
+
+        byte b = this.bytes[i];
+        if (b == '"') {
+            this.pos = i + 1;
+            int length = i - start;
+            if (key) {
+                return KEY_CACHE.intern(this.bytes, start, length);
+            }
+            return length <= MAX_POOLED_VALUE_LENGTH
+                ? StringPool.shared().intern(this.bytes, start, length)
+                : new String(this.bytes, start, length, StandardCharsets.UTF_8);
+        }
+        if (b != '\\') {
+            this.pos = i;
+            throw this.syntaxError("Unescaped control character in string");
+        }
+        return this.readEscapedString(start, i);
+    }
+
+    /**
+     * Continues reading a string once the first escape sequence was found.
+     *
+     * @param start  the index of the first byte of the string body.
+     * @param escape the index of the first backslash.
+     * @return the decoded string.
+     */
+    private String readEscapedString(int start, int escape) {
+        StringBuilder builder = new StringBuilder(escape - start + 16);
+        int runStart = start;
+        int i = escape;
+
+        while (true) {
+            builder.append(new String(this.bytes, runStart, i - runStart, StandardCharsets.UTF_8));
+            byte b = this.bytes[i];
+            if (b == '"') {
+                this.pos = i + 1;
+                return builder.toString();
+            }
+            if (b != '\\') {
+                this.pos = i;
+                throw this.syntaxError("Unescaped control character in string");
+            }
+
+            this.pos = i + 1;
+            builder.append(this.readEscape());
+            runStart = this.pos;
+            i = scanStringBody(this.bytes, runStart, this.end);
+            if (i < 0) {
+                throw this.syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Reads an escape sequence whose backslash was already consumed.
+     *
+     * @return the escaped character.
+     */
+    private char readEscape() {
+        if (this.pos == this.end) {
+            throw this.syntaxError("Unterminated string");
+        }
+        byte b = this.bytes[this.pos++];
+        return switch (b) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '/' -> '/';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                if (this.pos + 4 > this.end) {
+                    throw this.syntaxError("Invalid unicode escape");
+                }
+                int value = 0;
+                for (int k = 0; k < 4; k++) {
+                    int digit = JsonNumbers.hexDigit(this.bytes[this.pos++]);
+                    if (digit < 0) {
+                        throw this.syntaxError("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            default -> throw this.syntaxError("Invalid escape sequence '\\" + (char) (b & 0xFF) + "'");
+        };
+    }
+
+    /**
+     * Reads a literal keyword.
+     *
+     * @param literal the expected keyword.
+     * @param value   the value it represents.
+     * @return the value.
+     */
+    private Object readLiteral(String literal, Object value) {
+        int length = literal.length();
+        if (this.pos + length > this.end) {
+            throw this.syntaxError("Invalid literal");
+        }
+        for (int k = 1; k < length; k++) {
+            if (this.bytes[this.pos + k] != literal.charAt(k)) {
+                throw this.syntaxError("Invalid literal");
+            }
+        }
+        this.pos += length;
+        return value;
+    }
+
+    /**
+     * Reads a number literal.
+     * <p>
+     * Up to 18 integral digits are accumulated directly into a {@code long};
+     * larger integers and decimals are materialized from the validated range.
+     *
+     * @return the number.
+     */
+    private Number readNumber() {
+        int start = this.pos;
+        int stop = numberEnd(this.bytes, start, this.end);
+        if (stop < 0) {
+            this.pos = -stop - 1;
+            throw this.syntaxError("Invalid number");
+        }
+        this.pos = stop;
+
+        boolean negative = this.bytes[start] == '-';
+        int i = negative ? start + 1 : start;
+        long value = 0;
+        while (i < stop && isDigit(this.bytes[i])) {
+            value = value * 10 + (this.bytes[i] - '0');
+            i++;
+        }
+        int digits = i - (negative ? start + 1 : start);
+
+        if (i == stop) {
+            if (digits <= 18) {
+                return JsonNumbers.narrow(negative ? -value : value);
+            }
+            return JsonNumbers.narrow(new BigInteger(new String(this.bytes, start, stop - start, StandardCharsets.ISO_8859_1)));
+        }
+
+        double decimal = NumberParser.parseDouble(this.bytes, start, stop - start, Double.NaN);
+        if (Double.isInfinite(decimal)) {
+            return JsonNumbers.outOfRange(new String(this.bytes, start, stop - start, StandardCharsets.ISO_8859_1), decimal);
+        }
+        return decimal;
+    }
+
+    /**
+     * Finds the end of the number literal starting at the given index, using
+     * the grammar shared with {@link JsonNumbers#validate(CharSequence, int, int)}.
+     *
+     * @param bytes the input.
+     * @param start the index of the first byte of the literal.
+     * @param end   the end of the input.
+     * @return the index after the literal, or {@code -(i + 1)} where {@code i}
+     * is the index at which the literal was found to be invalid.
+     */
+    static int numberEnd(byte[] bytes, int start, int end) {
+        return JsonNumbers.numberEnd(null, bytes, start, end);
+    }
+
+    /**
+     * Skips JSON whitespace.
+     */
+    private void skipWhitespace() {
+        while (this.pos < this.end) {
+            byte b = this.bytes[this.pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            this.pos++;
+        }
+    }
+
+    /**
+     * Returns the byte at the current position, or {@code -1} at the end of input.
+     *
+     * @return the current byte.
+     */
+    private int peekByte() {
+        return this.pos < this.end ? this.bytes[this.pos] : -1;
+    }
+
+    /**
+     * Increments the nesting depth, failing when it exceeds {@link #MAX_DEPTH}.
+     */
+    private void enter() {
+        if (++this.depth > MAX_DEPTH) {
+            throw this.syntaxError("Nesting too deep");
+        }
+    }
+
+    /**
+     * Creates a syntax error carrying the current position.
+     *
+     * @param message the error message.
+     * @return the exception to throw.
+     */
+    private JsonException syntaxError(String message) {
+        return new JsonException(message + " at byte " + this.pos);
+    }
+
+    /**
+     * Finds the first quote, backslash or control character in a string body,
+     * examining eight bytes per step.
+     *
+     * @param bytes the input.
+     * @param from  the index to start from.
+     * @param end   the end of the input.
+     * @return the index of the first special byte, or {@code -1} if none is found.
+     */
+    static int scanStringBody(byte[] bytes, int from, int end) {
+        int i = from;
+        while (i + Long.BYTES <= end) {
+            long word = (long) LONG_VIEW.get(bytes, i);
+            long quote = word ^ QUOTES;
+            long backslash = word ^ BACKSLASHES;
+            long special = ((quote - ONES) & ~quote)
+                | ((backslash - ONES) & ~backslash)
+                | ((word - SPACES) & ~word);
+            special &= HIGH_BITS;
+            if (special != 0) {
+                break;
+            }
+            i += Long.BYTES;
+        }
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a byte is an ASCII digit.
+     *
+     * @param b the byte.
+     * @return {@code true} if {@code b} is between {@code '0'} and {@code '9'}.
+     */
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
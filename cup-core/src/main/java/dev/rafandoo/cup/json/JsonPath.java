@@ -0,0 +1,794 @@
+package dev.rafandoo.cup.json;
+
+import dev.rafandoo.cup.exception.JsonException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiled JSON path expression.
+ * <p>
+ * Two syntaxes are accepted:
+ * <ul>
+ *   <li>JSON Pointer (RFC 6901), such as {@code "/servers/0/host"}, where each
+ *   token addresses an object property or, when numeric, an array element;</li>
+ *   <li>a subset of JSONPath starting with {@code $}: child names
+ *   ({@code .name}, {@code ['name']}), array indexes ({@code [0]}), wildcards
+ *   ({@code .*}, {@code [*]}), recursive descent ({@code ..name}, {@code ..*})
+ *   and filters comparing a relative path with a literal, such as
+ *   {@code [?(@.price < 10)]}, {@code [?(@.type == 'book')]} or {@code [?(@.isbn)]}.</li>
+ * </ul>
+ * An expression is parsed once into a small automaton and can then be
+ * evaluated any number of times, from any thread, against materialized
+ * {@link Map}/{@link List} trees, against a {@link JsonDocument}, or against a
+ * {@link JsonReader}. In the streaming case, subtrees that cannot lead to a
+ * match are skipped without being decoded, and only matched values (and
+ * candidates of filters) are materialized.
+ */
+public final class JsonPath {
+
+    /**
+     * Maximum number of steps, bounded by the width of the state set.
+     */
+    private static final int MAX_STEPS = Long.SIZE - 1;
+
+    private final String expression;
+    private final Step[] steps;
+
+    /**
+     * State bit marking a completed match.
+     */
+    private final long accept;
+
+    /**
+     * State bits of steps that need the child value to decide a match.
+     */
+    private final long filters;
+
+    /**
+     * Creates a compiled path.
+     *
+     * @param expression the source expression.
+     * @param steps      the compiled steps.
+     */
+    private JsonPath(String expression, List<Step> steps) {
+        if (steps.size() > MAX_STEPS) {
+            throw new JsonException("JSON path has more than " + MAX_STEPS + " steps: " + expression);
+        }
+        this.expression = expression;
+        this.steps = steps.toArray(new Step[0]);
+        this.accept = 1L << this.steps.length;
+
+        long mask = 0;
+        for (int i = 0; i < this.steps.length; i++) {
+            if (this.steps[i] instanceof Filter) {
+                mask |= 1L << i;
+            }
+        }
+        this.filters = mask;
+    }
+
+    /**
+     * Compiles a JSON Pointer or JSONPath expression.
+     *
+     * @param expression the expression; an empty string or {@code "$"} addresses the root.
+     * @return the compiled path.
+     * @throws IllegalArgumentException if the expression is null or malformed.
+     */
+    public static JsonPath compile(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("JSON path expression cannot be null");
+        }
+        if (expression.isEmpty() || expression.charAt(0) == '/') {
+            return new JsonPath(expression, parsePointer(expression));
+        }
+        return new JsonPath(expression, new Parser(expression).parse());
+    }
+
+    /**
+     * Returns the source expression.
+     *
+     * @return the expression this path was compiled from.
+     */
+    public String expression() {
+        return this.expression;
+    }
+
+    /**
+     * Selects all values matching this path in a materialized tree.
+     *
+     * @param root the root value, typically a {@link Map} or {@link List}.
+     * @return the matching values in document order; empty if none match.
+     */
+    public List<Object> select(Object root) {
+        List<Object> matches = new ArrayList<>();
+        this.select(root, 1L, matches);
+        return matches;
+    }
+
+    /**
+     * Selects the first value matching this path in a materialized tree.
+     *
+     * @param root the root value, typically a {@link Map} or {@link List}.
+     * @return the first match, or {@code null} if none match.
+     */
+    public Object selectFirst(Object root) {
+        List<Object> matches = this.select(root);
+        return matches.isEmpty() ? null : matches.getFirst();
+    }
+
+    /**
+     * Selects all values matching this path in an indexed document,
+     * materializing only the matches.
+     *
+     * @param document the document.
+     * @return the matching values in document order; empty if none match.
+     */
+    public List<Object> select(JsonDocument document) {
+        List<Object> matches = new ArrayList<>();
+        this.select(document, 0, 1L, matches);
+        return matches;
+    }
+
+    /**
+     * Reads the next value from a streaming reader and selects the values
+     * matching this path, skipping subtrees that cannot match.
+     *
+     * @param reader the reader, positioned before a value.
+     * @return the matching values in document order; empty if none match.
+     * @throws IOException   if reading fails.
+     * @throws JsonException if the JSON is invalid.
+     */
+    public List<Object> select(JsonReader reader) throws IOException {
+        List<Object> matches = new ArrayList<>();
+        this.select(reader, 1L, matches);
+        return matches;
+    }
+
+    /**
+     * Returns the source expression.
+     *
+     * @return the expression.
+     */
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+
+    /**
+     * Evaluates the path over a materialized value.
+     *
+     * @param value  the current value.
+     * @param states the active states at this value.
+     * @param out    the collected matches.
+     */
+    private void select(Object value, long states, List<Object> out) {
+        if ((states & this.accept) != 0) {
+            out.add(value);
+        }
+        long active = states & ~this.accept;
+        if (active == 0) {
+            return;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                long next = this.transition(active, String.valueOf(entry.getKey()), -1, entry.getValue());
+                if (next != 0) {
+                    this.select(entry.getValue(), next, out);
+                }
+            }
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                long next = this.transition(active, null, i, list.get(i));
+                if (next != 0) {
+                    this.select(list.get(i), next, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates the path over an entry of an indexed document.
+     *
+     * @param document the document.
+     * @param entry    the current entry.
+     * @param states   the active states at this entry.
+     * @param out      the collected matches.
+     */
+    private void select(JsonDocument document, int entry, long states, List<Object> out) {
+        if ((states & this.accept) != 0) {
+            out.add(document.materialize(entry));
+        }
+        long active = states & ~this.accept;
+        JsonToken token = document.token(entry);
+        if (active == 0 || (token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY)) {
+            return;
+        }
+        boolean object = token == JsonToken.BEGIN_OBJECT;
+
+        if (Long.bitCount(active) == 1 && this.steps[Long.numberOfTrailingZeros(active)] instanceof Child child
+            && !child.descendant()) {
+            int target = object
+                ? (child.name() == null ? -1 : document.member(entry, child.name()))
+                : (child.index() < 0 ? -1 : document.element(entry, child.index()));
+            if (target >= 0) {
+                this.select(document, target, active << 1, out);
+            }
+            return;
+        }
+
+        int index = 0;
+        for (int child = document.firstChild(entry); child >= 0; child = document.nextSibling(entry, child)) {
+            String name = object ? document.decodeString(child) : null;
+            int value = object ? child + 1 : child;
+            Object materialized = (active & this.filters) != 0 ? document.materialize(value) : null;
+            long next = this.transition(active, name, object ? -1 : index++, materialized);
+            if (next != 0) {
+                this.select(document, value, next, out);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the path over the next value of a streaming reader.
+     *
+     * @param reader the reader, positioned before a value.
+     * @param states the active states at this value.
+     * @param out    the collected matches.
+     * @throws IOException if reading fails.
+     */
+    private void select(JsonReader reader, long states, List<Object> out) throws IOException {
+        if ((states & this.accept) != 0) {
+            this.select(reader.readValue(), states, out);
+            return;
+        }
+
+        switch (reader.peek()) {
+            case BEGIN_OBJECT -> {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    this.selectChild(reader, states, name, -1, out);
+                }
+                reader.endObject();
+            }
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                for (int i = 0; reader.hasNext(); i++) {
+                    this.selectChild(reader, states, null, i, out);
+                }
+                reader.endArray();
+            }
+            default -> reader.skipValue();
+        }
+    }
+
+    /**
+     * Evaluates the path over a child value of a streaming reader, skipping it
+     * when no state survives the transition.
+     *
+     * @param reader the reader, positioned before the child value.
+     * @param states the active states at the parent.
+     * @param name   the property name, or {@code null} for array elements.
+     * @param index  the element index, or {@code -1} for object properties.
+     * @param out    the collected matches.
+     * @throws IOException if reading fails.
+     */
+    private void selectChild(JsonReader reader, long states, String name, int index, List<Object> out)
+        throws IOException {
+        if ((states & this.filters) != 0) {
+            Object value = reader.readValue();
+            long next = this.transition(states, name, index, value);
+            if (next != 0) {
+                this.select(value, next, out);
+            }
+            return;
+        }
+
+        long next = this.transition(states, name, index, null);
+        if (next == 0) {
+            reader.skipValue();
+        } else {
+            this.select(reader, next, out);
+        }
+    }
+
+    /**
+     * Computes the states active at a child from the states active at its parent.
+     *
+     * @param states the parent states, excluding the accepting state.
+     * @param name   the property name, or {@code null} for array elements.
+     * @param index  the element index, or {@code -1} for object properties.
+     * @param value  the child value; only consulted by filter steps.
+     * @return the child states.
+     */
+    private long transition(long states, String name, int index, Object value) {
+        long next = 0;
+        for (long remaining = states; remaining != 0; remaining &= remaining - 1) {
+            int i = Long.numberOfTrailingZeros(remaining);
+            Step step = this.steps[i];
+            if (step.descendant()) {
+                next |= 1L << i;
+            }
+            if (step.matches(name, index, value)) {
+                next |= 1L << (i + 1);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Parses a JSON Pointer into child steps.
+     *
+     * @param pointer the pointer.
+     * @return the steps.
+     */
+    private static List<Step> parsePointer(String pointer) {
+        List<Step> steps = new ArrayList<>();
+        int from = 1;
+        while (from <= pointer.length() && !pointer.isEmpty()) {
+            int slash = pointer.indexOf('/', from);
+            int to = slash < 0 ? pointer.length() : slash;
+            String token = pointer.substring(from, to);
+            if (token.indexOf('~') >= 0) {
+                token = unescapePointer(pointer, token, from);
+            }
+            steps.add(new Child(token, JsonDocument.arrayIndex(token), false));
+            from = to + 1;
+        }
+        return steps;
+    }
+
+    /**
+     * Decodes the {@code ~0} and {@code ~1} escapes of a JSON Pointer token.
+     *
+     * @param pointer the whole pointer, for error messages.
+     * @param token   the token.
+     * @param offset  the offset of the token within the pointer.
+     * @return the decoded token.
+     */
+    private static String unescapePointer(String pointer, String token, int offset) {
+        StringBuilder builder = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c != '~') {
+                builder.append(c);
+                continue;
+            }
+            char next = i + 1 < token.length() ? token.charAt(++i) : 0;
+            if (next == '0') {
+                builder.append('~');
+            } else if (next == '1') {
+                builder.append('/');
+            } else {
+                throw new JsonException("Invalid JSON pointer escape at index " + (offset + i) + ": " + pointer);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A step of a compiled path, consuming one level of the tree.
+     */
+    private sealed interface Step permits Child, Wildcard, Filter {
+
+        /**
+         * Whether the step applies at any depth below the current value.
+         *
+         * @return {@code true} for recursive descent steps.
+         */
+        boolean descendant();
+
+        /**
+         * Checks whether a child is accepted by this step.
+         *
+         * @param name  the property name, or {@code null} for array elements.
+         * @param index the element index, or {@code -1} for object properties.
+         * @param value the child value, only available to filters.
+         * @return {@code true} if the child matches.
+         */
+        boolean matches(String name, int index, Object value);
+    }
+
+    /**
+     * Selects a property by name and/or an element by index.
+     *
+     * @param name       the property name, or {@code null} to match no property.
+     * @param index      the element index, or {@code -1} to match no element.
+     * @param descendant whether the step applies at any depth.
+     */
+    private record Child(String name, int index, boolean descendant) implements Step {
+
+        @Override
+        public boolean matches(String name, int index, Object value) {
+            return name != null ? name.equals(this.name) : index >= 0 && index == this.index;
+        }
+    }
+
+    /**
+     * Selects every property and element.
+     *
+     * @param descendant whether the step applies at any depth.
+     */
+    private record Wildcard(boolean descendant) implements Step {
+
+        @Override
+        public boolean matches(String name, int index, Object value) {
+            return true;
+        }
+    }
+
+    /**
+     * Selects the properties and elements whose value satisfies a comparison.
+     *
+     * @param operand    the relative path from the candidate to the compared value.
+     * @param operator   the comparison operator, or {@code null} to test existence.
+     * @param literal    the literal compared against.
+     * @param descendant whether the step applies at any depth.
+     */
+    private record Filter(Child[] operand, String operator, Object literal, boolean descendant) implements Step {
+
+        /**
+         * Marker for an operand path that does not resolve.
+         */
+        private static final Object MISSING = new Object();
+
+        @Override
+        public boolean matches(String name, int index, Object value) {
+            Object resolved = value;
+            for (Child child : this.operand) {
+                resolved = switch (resolved) {
+                    case Map<?, ?> map when child.name() != null && map.containsKey(child.name()) ->
+                        map.get(child.name());
+                    case List<?> list when child.index() >= 0 && child.index() < list.size() ->
+                        list.get(child.index());
+                    case null, default -> MISSING;
+                };
+                if (resolved == MISSING) {
+                    return false;
+                }
+            }
+            return this.operator == null || this.test(resolved);
+        }
+
+        /**
+         * Applies the comparison to a resolved operand.
+         *
+         * @param actual the resolved operand value.
+         * @return {@code true} if the comparison holds.
+         */
+        private boolean test(Object actual) {
+            int order;
+            if (actual instanceof Number a && this.literal instanceof Number b) {
+                order = compare(a, b);
+            } else if (actual instanceof String a && this.literal instanceof String b) {
+                order = a.compareTo(b);
+            } else {
+                boolean equal = Objects.equals(actual, this.literal);
+                return switch (this.operator) {
+                    case "==" -> equal;
+                    case "!=" -> !equal;
+                    default -> false;
+                };
+            }
+            return switch (this.operator) {
+                case "==" -> order == 0;
+                case "!=" -> order != 0;
+                case "<" -> order < 0;
+                case "<=" -> order <= 0;
+                case ">" -> order > 0;
+                default -> order >= 0;
+            };
+        }
+
+        /**
+         * Compares two numbers by value, regardless of their boxed type.
+         *
+         * @param a the first number.
+         * @param b the second number.
+         * @return the comparison result.
+         */
+        private static int compare(Number a, Number b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return Long.compare(a.longValue(), b.longValue());
+            }
+            if (a instanceof BigDecimal || a instanceof BigInteger || b instanceof BigDecimal || b instanceof BigInteger) {
+                return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+            }
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+
+        /**
+         * Checks whether a number is a boxed primitive integer.
+         *
+         * @param n the number.
+         * @return {@code true} for {@link Integer}, {@link Long}, {@link Short} and {@link Byte}.
+         */
+        private static boolean isIntegral(Number n) {
+            return n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte;
+        }
+    }
+
+    /**
+     * Recursive descent parser for the JSONPath subset.
+     */
+    private static final class Parser {
+
+        /**
+         * Characters ending a dotted name in the main path.
+         */
+        private static final String PATH_DELIMITERS = ".[";
+
+        /**
+         * Characters ending a dotted name in a filter operand.
+         */
+        private static final String FILTER_DELIMITERS = ".[ )=!<>";
+
+        private final String expression;
+        private int pos;
+
+        /**
+         * Creates a parser.
+         *
+         * @param expression the expression, starting with {@code $}.
+         */
+        private Parser(String expression) {
+            this.expression = expression;
+        }
+
+        /**
+         * Parses the whole expression.
+         *
+         * @return the steps.
+         */
+        private List<Step> parse() {
+            if (this.expression.charAt(0) != '$') {
+                throw this.error("Expected '$' or '/'");
+            }
+            this.pos = 1;
+            List<Step> steps = new ArrayList<>();
+            while (this.pos < this.expression.length()) {
+                char c = this.expression.charAt(this.pos);
+                if (c == '.') {
+                    boolean descendant = this.expression.startsWith("..", this.pos);
+                    this.pos += descendant ? 2 : 1;
+                    if (descendant && this.peek() == '[') {
+                        steps.add(this.bracket(true));
+                    } else {
+                        steps.add(this.dotted(descendant, PATH_DELIMITERS));
+                    }
+                } else if (c == '[') {
+                    steps.add(this.bracket(false));
+                } else {
+                    throw this.error("Unexpected character '" + c + "'");
+                }
+            }
+            return steps;
+        }
+
+        /**
+         * Parses a dotted name or wildcard.
+         *
+         * @param descendant whether the step is a recursive descent.
+         * @param delimiters the characters ending the name.
+         * @return the step.
+         */
+        private Step dotted(boolean descendant, String delimiters) {
+            if (this.peek() == '*') {
+                this.pos++;
+                return new Wildcard(descendant);
+            }
+            int start = this.pos;
+            while (this.pos < this.expression.length() && delimiters.indexOf(this.expression.charAt(this.pos)) < 0) {
+                this.pos++;
+            }
+            if (start == this.pos) {
+                throw this.error("Expected a property name");
+            }
+            return new Child(this.expression.substring(start, this.pos), -1, descendant);
+        }
+
+        /**
+         * Parses a bracketed selector.
+         *
+         * @param descendant whether the step is a recursive descent.
+         * @return the step.
+         */
+        private Step bracket(boolean descendant) {
+            this.expect('[');
+            this.skipSpaces();
+            char c = this.peek();
+            Step step;
+            if (c == '*') {
+                this.pos++;
+                step = new Wildcard(descendant);
+            } else if (c == '\'' || c == '"') {
+                step = new Child(this.quoted(), -1, descendant);
+            } else if (c == '?') {
+                step = this.filter(descendant);
+            } else {
+                step = new Child(null, this.index(), descendant);
+            }
+            this.skipSpaces();
+            this.expect(']');
+            return step;
+        }
+
+        /**
+         * Parses a filter expression {@code ?(@... op literal)}.
+         *
+         * @param descendant whether the step is a recursive descent.
+         * @return the filter step.
+         */
+        private Filter filter(boolean descendant) {
+            this.expect('?');
+            this.skipSpaces();
+            this.expect('(');
+            this.skipSpaces();
+            this.expect('@');
+
+            List<Child> operand = new ArrayList<>();
+            while (this.peek() == '.' || this.peek() == '[') {
+                if (this.peek() == '.') {
+                    this.pos++;
+                    Step step = this.dotted(false, FILTER_DELIMITERS);
+                    if (!(step instanceof Child child)) {
+                        throw this.error("Wildcards are not supported in filters");
+                    }
+                    operand.add(child);
+                } else {
+                    this.pos++;
+                    this.skipSpaces();
+                    char c = this.peek();
+                    operand.add(c == '\'' || c == '"'
+                        ? new Child(this.quoted(), -1, false)
+                        : new Child(null, this.index(), false));
+                    this.skipSpaces();
+                    this.expect(']');
+                }
+            }
+
+            this.skipSpaces();
+            String operator = null;
+            Object literal = null;
+            if (this.peek() != ')') {
+                operator = this.operator();
+                this.skipSpaces();
+                literal = this.literal();
+                this.skipSpaces();
+            }
+            this.expect(')');
+            return new Filter(operand.toArray(new Child[0]), operator, literal, descendant);
+        }
+
+        /**
+         * Parses a comparison operator.
+         *
+         * @return the operator.
+         */
+        private String operator() {
+            for (String operator : new String[]{"==", "!=", "<=", ">=", "<", ">"}) {
+                if (this.expression.startsWith(operator, this.pos)) {
+                    this.pos += operator.length();
+                    return operator;
+                }
+            }
+            throw this.error("Expected a comparison operator");
+        }
+
+        /**
+         * Parses a filter literal: a quoted string, a number, {@code true},
+         * {@code false} or {@code null}.
+         *
+         * @return the literal value.
+         */
+        private Object literal() {
+            char c = this.peek();
+            if (c == '\'' || c == '"') {
+                return this.quoted();
+            }
+            for (String keyword : new String[]{"true", "false", "null"}) {
+                if (this.expression.startsWith(keyword, this.pos)) {
+                    this.pos += keyword.length();
+                    return keyword.equals("null") ? null : Boolean.valueOf(keyword);
+                }
+            }
+
+            int start = this.pos;
+            while (this.pos < this.expression.length() && "0123456789+-.eE".indexOf(this.expression.charAt(this.pos)) >= 0) {
+                this.pos++;
+            }
+            int kind = JsonNumbers.validate(this.expression, start, this.pos);
+            if (kind == 0) {
+                this.pos = start;
+                throw this.error("Expected a literal");
+            }
+            return JsonNumbers.toNumber(this.expression, start, this.pos, kind == 1);
+        }
+
+        /**
+         * Parses a single or double quoted string with backslash escapes.
+         *
+         * @return the unquoted string.
+         */
+        private String quoted() {
+            char quote = this.expression.charAt(this.pos++);
+            StringBuilder builder = new StringBuilder();
+            while (this.pos < this.expression.length()) {
+                char c = this.expression.charAt(this.pos++);
+                if (c == quote) {
+                    return builder.toString();
+                }
+                if (c == '\\' && this.pos < this.expression.length()) {
+                    c = this.expression.charAt(this.pos++);
+                }
+                builder.append(c);
+            }
+            throw this.error("Unterminated string");
+        }
+
+        /**
+         * Parses a non-negative array index.
+         *
+         * @return the index.
+         */
+        private int index() {
+            int start = this.pos;
+            while (this.pos < this.expression.length() && Character.isDigit(this.expression.charAt(this.pos))) {
+                this.pos++;
+            }
+            int index = JsonDocument.arrayIndex(this.expression.substring(start, this.pos));
+            if (index < 0) {
+                this.pos = start;
+                throw this.error("Expected an array index");
+            }
+            return index;
+        }
+
+        /**
+         * Consumes an expected character.
+         *
+         * @param c the character.
+         */
+        private void expect(char c) {
+            if (this.peek() != c) {
+                throw this.error("Expected '" + c + "'");
+            }
+            this.pos++;
+        }
+
+        /**
+         * Returns the current character without consuming it.
+         *
+         * @return the character, or {@code 0} at the end of the expression.
+         */
+        private char peek() {
+            return this.pos < this.expression.length() ? this.expression.charAt(this.pos) : 0;
+        }
+
+        /**
+         * Skips spaces.
+         */
+        private void skipSpaces() {
+            while (this.peek() == ' ') {
+                this.pos++;
+            }
+        }
+
+        /**
+         * Creates a syntax error carrying the current position.
+         *
+         * @param message the error message.
+         * @return the exception to throw.
+         */
+        private JsonException error(String message) {
+            return new JsonException(message + " at index " + this.pos + " of JSON path: " + this.expression);
+        }
+    }
+}
@@ -0,0 +1,690 @@
+package dev.rafandoo.cup.json;
+
+import dev.rafandoo.cup.exception.JsonException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streaming pull parser that reads a JSON document (RFC 8259) one token at a time.
+ * <p>
+ * Input is consumed through a fixed-size buffer, so memory usage is bounded
+ * by the largest single string or number in the document rather than by the
+ * document size. Values that are not needed can be discarded with
+ * {@link #skipValue()} without decoding them.
+ * <p>
+ * Example:
+ * <pre>
+ * try (JsonReader reader = new JsonReader(input)) {
+ *     reader.beginArray();
+ *     while (reader.hasNext()) {
+ *         Map&lt;String, Object&gt; item = reader.readObject();
+ *     }
+ *     reader.endArray();
+ * }
+ * </pre>
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class JsonReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    private JsonToken peeked;
+    private boolean peekedBoolean;
+    private final StringBuilder scratch = new StringBuilder();
+
+    /**
+     * Creates a reader consuming JSON from the given {@link Reader}.
+     *
+     * @param in the source of JSON text.
+     */
+    public JsonReader(Reader in) {
+        this.in = Objects.requireNonNull(in, "Reader must not be null");
+        this.stack[this.stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Returns the type of the next token without consuming it.
+     *
+     * @return the next token.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the input is malformed.
+     */
+    public JsonToken peek() throws IOException {
+        if (this.peeked != null) {
+            return this.peeked;
+        }
+
+        int scope = this.stack[this.stackSize - 1];
+        switch (scope) {
+            case EMPTY_ARRAY -> {
+                this.stack[this.stackSize - 1] = NONEMPTY_ARRAY;
+                if (this.nextNonWhitespace() == ']') {
+                    return this.peeked = JsonToken.END_ARRAY;
+                }
+                this.pos--;
+            }
+            case NONEMPTY_ARRAY -> {
+                int c = this.nextNonWhitespace();
+                if (c == ']') {
+                    return this.peeked = JsonToken.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw this.syntaxError("Expected ',' or ']'");
+                }
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                int c = this.nextNonWhitespace();
+                if (c == '}') {
+                    return this.peeked = JsonToken.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw this.syntaxError("Expected ',' or '}'");
+                    }
+                    c = this.nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw this.syntaxError("Expected a property name");
+                }
+                this.stack[this.stackSize - 1] = DANGLING_NAME;
+                return this.peeked = JsonToken.NAME;
+            }
+            case DANGLING_NAME -> {
+                this.stack[this.stackSize - 1] = NONEMPTY_OBJECT;
+                if (this.nextNonWhitespace() != ':') {
+                    throw this.syntaxError("Expected ':'");
+                }
+            }
+            case EMPTY_DOCUMENT -> this.stack[this.stackSize - 1] = NONEMPTY_DOCUMENT;
+            default -> {
+                if (this.nextNonWhitespaceOrEnd() != -1) {
+                    throw this.syntaxError("Unexpected data after the end of the document");
+                }
+                return this.peeked = JsonToken.END_DOCUMENT;
+            }
+        }
+
+        return this.peeked = this.peekValue();
+    }
+
+    /**
+     * Consumes the opening of a JSON array.
+     *
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#BEGIN_ARRAY}.
+     */
+    public void beginArray() throws IOException {
+        this.expect(JsonToken.BEGIN_ARRAY);
+        this.push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the closing of a JSON array.
+     *
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#END_ARRAY}.
+     */
+    public void endArray() throws IOException {
+        this.expect(JsonToken.END_ARRAY);
+        this.stackSize--;
+    }
+
+    /**
+     * Consumes the opening of a JSON object.
+     *
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#BEGIN_OBJECT}.
+     */
+    public void beginObject() throws IOException {
+        this.expect(JsonToken.BEGIN_OBJECT);
+        this.push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the closing of a JSON object.
+     *
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#END_OBJECT}.
+     */
+    public void endObject() throws IOException {
+        this.expect(JsonToken.END_OBJECT);
+        this.stackSize--;
+    }
+
+    /**
+     * Checks whether the current array or object has more elements.
+     *
+     * @return {@code true} if another element or property follows.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the input is malformed.
+     */
+    public boolean hasNext() throws IOException {
+        JsonToken token = this.peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the next property name.
+     *
+     * @return the property name.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#NAME}.
+     */
+    public String nextName() throws IOException {
+        this.expect(JsonToken.NAME);
+        return this.readString();
+    }
+
+    /**
+     * Consumes the next string value. Numbers are returned as their literal text.
+     *
+     * @return the string value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not a string or number.
+     */
+    public String nextString() throws IOException {
+        JsonToken token = this.peek();
+        if (token == JsonToken.NUMBER) {
+            this.peeked = null;
+            this.readNumber();
+            return this.scratch.toString();
+        }
+        this.expect(JsonToken.STRING);
+        return this.readString();
+    }
+
+    /**
+     * Consumes the next boolean value.
+     *
+     * @return the boolean value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#BOOLEAN}.
+     */
+    public boolean nextBoolean() throws IOException {
+        this.expect(JsonToken.BOOLEAN);
+        return this.peekedBoolean;
+    }
+
+    /**
+     * Consumes the next {@code null} value.
+     *
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#NULL}.
+     */
+    public void nextNull() throws IOException {
+        this.expect(JsonToken.NULL);
+    }
+
+    /**
+     * Consumes the next number value, materialized as the narrowest fitting
+     * {@link Integer}, {@link Long}, {@link java.math.BigInteger}, {@link Double}
+     * or {@link java.math.BigDecimal}.
+     *
+     * @return the number value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#NUMBER}.
+     */
+    public Number nextNumber() throws IOException {
+        this.expect(JsonToken.NUMBER);
+        boolean integral = this.readNumber();
+        return JsonNumbers.toNumber(this.scratch, 0, this.scratch.length(), integral);
+    }
+
+    /**
+     * Consumes the next number value as a {@code double}.
+     *
+     * @return the double value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not {@link JsonToken#NUMBER}.
+     */
+    public double nextDouble() throws IOException {
+        return this.nextNumber().doubleValue();
+    }
+
+    /**
+     * Consumes the next number value as a {@code long}.
+     *
+     * @return the long value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not an integral number within the long range.
+     */
+    public long nextLong() throws IOException {
+        Number number = this.nextNumber();
+        if (number instanceof Integer || number instanceof Long) {
+            return number.longValue();
+        }
+        throw this.syntaxError("Expected a long but was " + number);
+    }
+
+    /**
+     * Consumes the next number value as an {@code int}.
+     *
+     * @return the int value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next token is not an integral number within the int range.
+     */
+    public int nextInt() throws IOException {
+        Number number = this.nextNumber();
+        if (number instanceof Integer i) {
+            return i;
+        }
+        throw this.syntaxError("Expected an int but was " + number);
+    }
+
+    /**
+     * Skips the next value, including all nested values of an array or object,
+     * without materializing it.
+     *
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the input is malformed or the next token ends an array or object.
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            JsonToken token = this.peek();
+            if (depth == 0 && (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT)) {
+                throw this.syntaxError("Expected a value but was " + token);
+            }
+            switch (token) {
+                case BEGIN_ARRAY -> {
+                    this.beginArray();
+                    depth++;
+                }
+                case BEGIN_OBJECT -> {
+                    this.beginObject();
+                    depth++;
+                }
+                case END_ARRAY -> {
+                    this.endArray();
+                    depth--;
+                }
+                case END_OBJECT -> {
+                    this.endObject();
+                    depth--;
+                }
+                case NAME, STRING -> {
+                    this.peeked = null;
+                    this.skipString();
+                }
+                case NUMBER -> {
+                    this.peeked = null;
+                    this.readNumber();
+                }
+                case BOOLEAN, NULL -> this.peeked = null;
+                case END_DOCUMENT -> throw this.syntaxError("Unexpected end of document");
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Consumes and materializes the next value.
+     * <p>
+     * Objects become {@link LinkedHashMap}s (preserving property order),
+     * arrays become {@link ArrayList}s and {@code null} becomes {@code null}.
+     *
+     * @return the materialized value.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the input is malformed.
+     */
+    public Object readValue() throws IOException {
+        return switch (this.peek()) {
+            case BEGIN_OBJECT -> this.readObject();
+            case BEGIN_ARRAY -> this.readArray();
+            case STRING -> this.nextString();
+            case NUMBER -> this.nextNumber();
+            case BOOLEAN -> this.nextBoolean();
+            case NULL -> {
+                this.nextNull();
+                yield null;
+            }
+            default -> throw this.syntaxError("Expected a value but was " + this.peeked);
+        };
+    }
+
+    /**
+     * Consumes and materializes the next JSON object.
+     *
+     * @return the object as a map.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next value is not an object.
+     */
+    public Map<String, Object> readObject() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        this.beginObject();
+        while (this.hasNext()) {
+            String name = this.nextName();
+            map.put(name, this.readValue());
+        }
+        this.endObject();
+        return map;
+    }
+
+    /**
+     * Consumes and materializes the next JSON array.
+     *
+     * @return the array as a list.
+     * @throws IOException   if reading from the underlying reader fails.
+     * @throws JsonException if the next value is not an array.
+     */
+    public List<Object> readArray() throws IOException {
+        List<Object> list = new ArrayList<>();
+        this.beginArray();
+        while (this.hasNext()) {
+            list.add(this.readValue());
+        }
+        this.endArray();
+        return list;
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if closing the reader fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.peeked = null;
+        this.stackSize = 0;
+        this.in.close();
+    }
+
+    /**
+     * Determines the type of the value starting at the next non-whitespace character.
+     *
+     * @return the value token.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private JsonToken peekValue() throws IOException {
+        int c = this.nextNonWhitespace();
+        switch (c) {
+            case '{' -> {
+                return JsonToken.BEGIN_OBJECT;
+            }
+            case '[' -> {
+                return JsonToken.BEGIN_ARRAY;
+            }
+            case '"' -> {
+                return JsonToken.STRING;
+            }
+            case 't' -> {
+                this.expectLiteral("rue");
+                this.peekedBoolean = true;
+                return JsonToken.BOOLEAN;
+            }
+            case 'f' -> {
+                this.expectLiteral("alse");
+                this.peekedBoolean = false;
+                return JsonToken.BOOLEAN;
+            }
+            case 'n' -> {
+                this.expectLiteral("ull");
+                return JsonToken.NULL;
+            }
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    this.pos--;
+                    return JsonToken.NUMBER;
+                }
+                throw this.syntaxError("Unexpected character '" + (char) c + "'");
+            }
+        }
+    }
+
+    /**
+     * Consumes the next token, which must be of the expected type.
+     *
+     * @param expected the expected token.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken token = this.peek();
+        if (token != expected) {
+            throw this.syntaxError("Expected " + expected + " but was " + token);
+        }
+        this.peeked = null;
+    }
+
+    /**
+     * Consumes the remaining characters of a literal.
+     *
+     * @param rest the characters following the first one.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (this.pos == this.limit && !this.fill()) {
+                throw this.syntaxError("Unexpected end of input");
+            }
+            if (this.buffer[this.pos++] != rest.charAt(i)) {
+                throw this.syntaxError("Invalid literal");
+            }
+        }
+    }
+
+    /**
+     * Pushes a new scope onto the nesting stack.
+     *
+     * @param scope the scope to push.
+     */
+    private void push(int scope) {
+        if (this.stackSize == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.stackSize * 2);
+        }
+        this.stack[this.stackSize++] = scope;
+    }
+
+    /**
+     * Reads the body of a string whose opening quote was already consumed.
+     *
+     * @return the decoded string.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private String readString() throws IOException {
+        StringBuilder builder = this.scratch;
+        builder.setLength(0);
+
+        while (true) {
+            int start = this.pos;
+            while (this.pos < this.limit) {
+                char c = this.buffer[this.pos++];
+                if (c == '"') {
+                    builder.append(this.buffer, start, this.pos - start - 1);
+                    return builder.toString();
+                }
+                if (c == '\\') {
+                    builder.append(this.buffer, start, this.pos - start - 1);
+                    builder.append(this.readEscape());
+                    start = this.pos;
+                } else if (c < 0x20) {
+                    throw this.syntaxError("Unescaped control character in string");
+                }
+            }
+            builder.append(this.buffer, start, this.pos - start);
+            if (!this.fill()) {
+                throw this.syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Skips the body of a string whose opening quote was already consumed.
+     *
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private void skipString() throws IOException {
+        while (true) {
+            while (this.pos < this.limit) {
+                char c = this.buffer[this.pos++];
+                if (c == '"') {
+                    return;
+                }
+                if (c == '\\') {
+                    this.readEscape();
+                } else if (c < 0x20) {
+                    throw this.syntaxError("Unescaped control character in string");
+                }
+            }
+            if (!this.fill()) {
+                throw this.syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Reads an escape sequence whose backslash was already consumed.
+     *
+     * @return the escaped character.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private char readEscape() throws IOException {
+        char c = this.nextChar();
+        return switch (c) {
+            case '"', '\\', '/' -> c;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = JsonNumbers.hexDigit(this.nextChar());
+                    if (digit < 0) {
+                        throw this.syntaxError("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            default -> throw this.syntaxError("Invalid escape sequence '\\" + c + "'");
+        };
+    }
+
+    /**
+     * Reads a number literal into the scratch buffer and validates it.
+     *
+     * @return {@code true} if the literal is integral.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private boolean readNumber() throws IOException {
+        StringBuilder builder = this.scratch;
+        builder.setLength(0);
+
+        while (this.pos < this.limit || this.fill()) {
+            char c = this.buffer[this.pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                builder.append(c);
+                this.pos++;
+            } else {
+                break;
+            }
+        }
+
+        int kind = JsonNumbers.validate(builder, 0, builder.length());
+        if (kind == 0) {
+            throw this.syntaxError("Invalid number '" + builder + "'");
+        }
+        return kind == 1;
+    }
+
+    /**
+     * Reads the next character, failing at the end of input.
+     *
+     * @return the next character.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private char nextChar() throws IOException {
+        if (this.pos == this.limit && !this.fill()) {
+            throw this.syntaxError("Unexpected end of input");
+        }
+        return this.buffer[this.pos++];
+    }
+
+    /**
+     * Reads the next non-whitespace character, failing at the end of input.
+     *
+     * @return the next non-whitespace character.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private int nextNonWhitespace() throws IOException {
+        int c = this.nextNonWhitespaceOrEnd();
+        if (c == -1) {
+            throw this.syntaxError("Unexpected end of input");
+        }
+        return c;
+    }
+
+    /**
+     * Reads the next non-whitespace character.
+     *
+     * @return the next non-whitespace character, or {@code -1} at the end of input.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private int nextNonWhitespaceOrEnd() throws IOException {
+        while (this.pos < this.limit || this.fill()) {
+            char c = this.buffer[this.pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Refills the buffer from the underlying reader.
+     *
+     * @return {@code false} if the end of input was reached.
+     * @throws IOException if reading from the underlying reader fails.
+     */
+    private boolean fill() throws IOException {
+        this.consumed += this.limit;
+        this.pos = 0;
+        this.limit = 0;
+
+        int read;
+        while ((read = this.in.read(this.buffer, 0, this.buffer.length)) == 0) {
+            // keep reading until data or end of input
+        }
+        if (read < 0) {
+            return false;
+        }
+        this.limit = read;
+        return true;
+    }
+
+    /**
+     * Creates a syntax error carrying the current position.
+     *
+     * @param message the error message.
+     * @return the exception to throw.
+     */
+    private JsonException syntaxError(String message) {
+        return new JsonException(message + " at position " + (this.consumed + this.pos));
+    }
+}
@@ -0,0 +1,339 @@
+package dev.rafandoo.cup.json;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Single-pass JSON scanner that validates a document and, optionally,
+ * re-emits its tokens with new formatting.
+ * <p>
+ * No tree is built: string and number literals are validated in place and
+ * copied verbatim, and the nesting of objects and arrays is tracked in a bit
+ * stack. Validation alone performs no allocation for documents nested up to
+ * 64 levels deep.
+ */
+final class JsonScanner {
+
+    private static final int VALUE = 0;
+    private static final int NAME = 1;
+    private static final int AFTER_VALUE = 2;
+
+    private final CharSequence json;
+    private final int length;
+    private final Appendable out;
+    private final String indent;
+    private final boolean scalars;
+
+    private long objectBits;
+    private long[] deepBits;
+    private int depth;
+
+    /**
+     * Creates a scanner.
+     *
+     * @param json    the document to scan.
+     * @param out     the target for reformatted output, or {@code null} to only validate.
+     * @param indent  the indentation per level, or {@code null} for compact output.
+     * @param scalars whether a scalar is accepted as the top-level value.
+     */
+    private JsonScanner(CharSequence json, Appendable out, String indent, boolean scalars) {
+        this.json = json;
+        this.length = json.length();
+        this.out = out;
+        this.indent = indent;
+        this.scalars = scalars;
+    }
+
+    /**
+     * Checks whether the text is a well-formed JSON object or array.
+     *
+     * @param json the text to check.
+     * @return {@code true} if the text is a valid JSON object or array.
+     */
+    static boolean isValid(CharSequence json) {
+        try {
+            return new JsonScanner(json, null, null, false).scan();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreachable: no output target", e);
+        }
+    }
+
+    /**
+     * Validates a JSON value and writes it to the target with the given
+     * indentation. Unlike {@link #isValid(CharSequence)}, a top-level scalar
+     * is accepted. Output written before an error is detected is not rolled back.
+     *
+     * @param json   the document to format.
+     * @param out    the target.
+     * @param indent the indentation per level, or {@code null} for compact output.
+     * @return {@code true} if the document was valid and fully written.
+     * @throws IOException if writing to the target fails.
+     */
+    static boolean format(CharSequence json, Appendable out, String indent) throws IOException {
+        return new JsonScanner(json, out, indent == null || indent.isEmpty() ? null : indent, true).scan();
+    }
+
+    /**
+     * Runs the scan.
+     *
+     * @return {@code true} if the document is valid.
+     * @throws IOException if writing to the target fails.
+     */
+    private boolean scan() throws IOException {
+        int i = this.skipWhitespace(0);
+        if (i == this.length || (!this.scalars && this.json.charAt(i) != '{' && this.json.charAt(i) != '[')) {
+            return false;
+        }
+
+        int state = VALUE;
+        while (true) {
+            if (state == VALUE) {
+                if (i == this.length) {
+                    return false;
+                }
+                char c = this.json.charAt(i);
+                if (c == '{' || c == '[') {
+                    boolean object = c == '{';
+                    char close = object ? '}' : ']';
+                    this.emit(c);
+                    i = this.skipWhitespace(i + 1);
+                    if (i < this.length && this.json.charAt(i) == close) {
+                        this.emit(close);
+                        i++;
+                        state = AFTER_VALUE;
+                    } else {
+                        this.push(object);
+                        this.newline();
+                        state = object ? NAME : VALUE;
+                    }
+                    continue;
+                }
+
+                int end = switch (c) {
+                    case '"' -> this.scanString(i);
+                    case 't' -> this.scanLiteral(i, "true");
+                    case 'f' -> this.scanLiteral(i, "false");
+                    case 'n' -> this.scanLiteral(i, "null");
+                    default -> this.scanNumber(i);
+                };
+                if (end < 0) {
+                    return false;
+                }
+                this.emit(i, end);
+                i = end;
+                state = AFTER_VALUE;
+            } else if (state == NAME) {
+                if (i == this.length || this.json.charAt(i) != '"') {
+                    return false;
+                }
+                int end = this.scanString(i);
+                if (end < 0) {
+                    return false;
+                }
+                this.emit(i, end);
+                i = this.skipWhitespace(end);
+                if (i == this.length || this.json.charAt(i) != ':') {
+                    return false;
+                }
+                this.emit(':');
+                if (this.indent != null) {
+                    this.emit(' ');
+                }
+                i = this.skipWhitespace(i + 1);
+                state = VALUE;
+            } else {
+                i = this.skipWhitespace(i);
+                if (this.depth == 0) {
+                    return i == this.length;
+                }
+                if (i == this.length) {
+                    return false;
+                }
+                char c = this.json.charAt(i);
+                boolean object = this.isObject();
+                if (c == ',') {
+                    this.emit(',');
+                    this.newline();
+                    i = this.skipWhitespace(i + 1);
+                    state = object ? NAME : VALUE;
+                } else if (c == (object ? '}' : ']')) {
+                    this.depth--;
+                    this.newline();
+                    this.emit(c);
+                    i++;
+                } else {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a string literal starting at the opening quote.
+     *
+     * @param start the index of the opening quote.
+     * @return the index after the closing quote, or {@code -1} if invalid.
+     */
+    private int scanString(int start) {
+        int i = start + 1;
+        while (i < this.length) {
+            char c = this.json.charAt(i++);
+            if (c == '"') {
+                return i;
+            }
+            if (c == '\\') {
+                if (i == this.length) {
+                    return -1;
+                }
+                char escape = this.json.charAt(i++);
+                if (escape == 'u') {
+                    if (i + 4 > this.length) {
+                        return -1;
+                    }
+                    for (int end = i + 4; i < end; i++) {
+                        if (JsonNumbers.hexDigit(this.json.charAt(i)) < 0) {
+                            return -1;
+                        }
+                    }
+                } else if ("\"\\/bfnrt".indexOf(escape) < 0) {
+                    return -1;
+                }
+            } else if (c < 0x20) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scans a literal keyword.
+     *
+     * @param start   the index of the first character.
+     * @param literal the expected keyword.
+     * @return the index after the literal, or {@code -1} if invalid.
+     */
+    private int scanLiteral(int start, String literal) {
+        int end = start + literal.length();
+        if (end > this.length) {
+            return -1;
+        }
+        for (int i = 1; i < literal.length(); i++) {
+            if (this.json.charAt(start + i) != literal.charAt(i)) {
+                return -1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Scans a number literal.
+     *
+     * @param start the index of the first character.
+     * @return the index after the literal, or {@code -1} if invalid.
+     */
+    private int scanNumber(int start) {
+        int i = start;
+        while (i < this.length) {
+            char c = this.json.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return JsonNumbers.validate(this.json, start, i) == 0 ? -1 : i;
+    }
+
+    /**
+     * Skips JSON whitespace.
+     *
+     * @param start the index to start from.
+     * @return the index of the next non-whitespace character, or the length.
+     */
+    private int skipWhitespace(int start) {
+        int i = start;
+        while (i < this.length) {
+            char c = this.json.charAt(i);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Pushes a container onto the bit stack.
+     *
+     * @param object {@code true} for an object, {@code false} for an array.
+     */
+    private void push(boolean object) {
+        int index = this.depth++;
+        if (index < Long.SIZE) {
+            this.objectBits = object ? this.objectBits | (1L << index) : this.objectBits & ~(1L << index);
+            return;
+        }
+
+        int word = (index >>> 6) - 1;
+        if (this.deepBits == null) {
+            this.deepBits = new long[4];
+        } else if (word >= this.deepBits.length) {
+            this.deepBits = Arrays.copyOf(this.deepBits, this.deepBits.length * 2);
+        }
+        long bit = 1L << (index & 63);
+        this.deepBits[word] = object ? this.deepBits[word] | bit : this.deepBits[word] & ~bit;
+    }
+
+    /**
+     * Checks whether the innermost open container is an object.
+     *
+     * @return {@code true} for an object, {@code false} for an array.
+     */
+    private boolean isObject() {
+        int index = this.depth - 1;
+        if (index < Long.SIZE) {
+            return (this.objectBits & (1L << index)) != 0;
+        }
+        return (this.deepBits[(index >>> 6) - 1] & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * Emits a single character.
+     *
+     * @param c the character.
+     * @throws IOException if writing to the target fails.
+     */
+    private void emit(char c) throws IOException {
+        if (this.out != null) {
+            this.out.append(c);
+        }
+    }
+
+    /**
+     * Emits a range of the input verbatim.
+     *
+     * @param start the start index (inclusive).
+     * @param end   the end index (exclusive).
+     * @throws IOException if writing to the target fails.
+     */
+    private void emit(int start, int end) throws IOException {
+        if (this.out != null) {
+            this.out.append(this.json, start, end);
+        }
+    }
+
+    /**
+     * Emits a newline and the indentation of the current depth.
+     *
+     * @throws IOException if writing to the target fails.
+     */
+    private void newline() throws IOException {
+        if (this.out == null || this.indent == null) {
+            return;
+        }
+        this.out.append('\n');
+        for (int i = 0; i < this.depth; i++) {
+            this.out.append(this.indent);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.rafandoo.cup.json;
+
+/**
+ * Tokens produced by {@link JsonReader}.
+ */
+public enum JsonToken {
+
+    /**
+     * The opening of a JSON array ({@code [}).
+     */
+    BEGIN_ARRAY,
+
+    /**
+     * The closing of a JSON array ({@code ]}).
+     */
+    END_ARRAY,
+
+    /**
+     * The opening of a JSON object (<code>{</code>).
+     */
+    BEGIN_OBJECT,
+
+    /**
+     * The closing of a JSON object (<code>}</code>).
+     */
+    END_OBJECT,
+
+    /**
+     * A property name inside a JSON object.
+     */
+    NAME,
+
+    /**
+     * A JSON string value.
+     */
+    STRING,
+
+    /**
+     * A JSON number value.
+     */
+    NUMBER,
+
+    /**
+     * A JSON {@code true} or {@code false} value.
+     */
+    BOOLEAN,
+
+    /**
+     * A JSON {@code null} value.
+     */
+    NULL,
+
+    /**
+     * The end of the JSON document.
+     */
+    END_DOCUMENT
+}
@@ -0,0 +1,503 @@
+package dev.rafandoo.cup.json;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streaming writer that emits a JSON document (RFC 8259) one token at a time
+ * to any {@link Appendable}, such as a {@link java.io.Writer} or {@link StringBuilder}.
+ * <p>
+ * Nothing is buffered beyond what the target itself buffers, so documents of
+ * any size can be produced in constant memory.
+ * <p>
+ * Example:
+ * <pre>
+ * try (JsonWriter writer = new JsonWriter(output)) {
+ *     writer.beginObject()
+ *         .name("id").value(1)
+ *         .name("tags").value(List.of("a", "b"))
+ *         .endObject();
+ * }
+ * </pre>
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class JsonWriter implements Closeable, Flushable {
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private static final String[] CONTROL_ESCAPES = new String[0x20];
+
+    static {
+        for (int c = 0; c < CONTROL_ESCAPES.length; c++) {
+            CONTROL_ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        CONTROL_ESCAPES['\b'] = "\\b";
+        CONTROL_ESCAPES['\f'] = "\\f";
+        CONTROL_ESCAPES['\n'] = "\\n";
+        CONTROL_ESCAPES['\r'] = "\\r";
+        CONTROL_ESCAPES['\t'] = "\\t";
+    }
+
+    private final Appendable out;
+    private String indent;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    /**
+     * Creates a writer emitting compact JSON to the given {@link Appendable}.
+     *
+     * @param out the target of JSON text.
+     */
+    public JsonWriter(Appendable out) {
+        this.out = Objects.requireNonNull(out, "Appendable must not be null");
+        this.stack[this.stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Creates a writer emitting UTF-8 encoded JSON to the given {@link OutputStream}.
+     * <p>
+     * Output is buffered; call {@link #flush()} or {@link #close()} when done.
+     *
+     * @param out the target stream.
+     */
+    public JsonWriter(OutputStream out) {
+        this(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Sets the indentation used for each nesting level. A {@code null} or
+     * empty indent produces compact output.
+     *
+     * @param indent the indentation string, e.g. four spaces.
+     * @return this writer, for chaining.
+     */
+    public JsonWriter setIndent(String indent) {
+        this.indent = indent == null || indent.isEmpty() ? null : indent;
+        return this;
+    }
+
+    /**
+     * Begins a JSON array.
+     *
+     * @return this writer, for chaining.
+     * @throws IOException           if writing to the target fails.
+     * @throws IllegalStateException if a value is not allowed at this point.
+     */
+    public JsonWriter beginArray() throws IOException {
+        return this.open(EMPTY_ARRAY, '[');
+    }
+
+    /**
+     * Ends the current JSON array.
+     *
+     * @return this writer, for chaining.
+     * @throws IOException           if writing to the target fails.
+     * @throws IllegalStateException if no array is open.
+     */
+    public JsonWriter endArray() throws IOException {
+        return this.close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    /**
+     * Begins a JSON object.
+     *
+     * @return this writer, for chaining.
+     * @throws IOException           if writing to the target fails.
+     * @throws IllegalStateException if a value is not allowed at this point.
+     */
+    public JsonWriter beginObject() throws IOException {
+        return this.open(EMPTY_OBJECT, '{');
+    }
+
+    /**
+     * Ends the current JSON object.
+     *
+     * @return this writer, for chaining.
+     * @throws IOException           if writing to the target fails.
+     * @throws IllegalStateException if no object is open or a name has no value.
+     */
+    public JsonWriter endObject() throws IOException {
+        return this.close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    /**
+     * Writes a property name.
+     *
+     * @param name the property name.
+     * @return this writer, for chaining.
+     * @throws IOException           if writing to the target fails.
+     * @throws IllegalStateException if no object is open or a name has no value.
+     */
+    public JsonWriter name(String name) throws IOException {
+        Objects.requireNonNull(name, "Name must not be null");
+        int scope = this.peekScope();
+        if (scope == NONEMPTY_OBJECT) {
+            this.out.append(',');
+        } else if (scope != EMPTY_OBJECT) {
+            throw new IllegalStateException("Names are only allowed inside objects");
+        }
+        this.newline();
+        this.string(name);
+        this.stack[this.stackSize - 1] = DANGLING_NAME;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or {@code null}.
+     *
+     * @param value the value.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return this.nullValue();
+        }
+        this.beforeValue();
+        this.string(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value the value.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonWriter value(boolean value) throws IOException {
+        this.beforeValue();
+        this.out.append(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes a long value.
+     *
+     * @param value the value.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonWriter value(long value) throws IOException {
+        this.beforeValue();
+        this.out.append(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a double value.
+     *
+     * @param value the value.
+     * @return this writer, for chaining.
+     * @throws IOException              if writing to the target fails.
+     * @throws IllegalArgumentException if the value is NaN or infinite.
+     */
+    public JsonWriter value(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JSON does not allow non-finite numbers: " + value);
+        }
+        this.beforeValue();
+        this.out.append(Double.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a number value, or {@code null}.
+     *
+     * @param value the value.
+     * @return this writer, for chaining.
+     * @throws IOException              if writing to the target fails.
+     * @throws IllegalArgumentException if the value is NaN or infinite.
+     */
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return this.nullValue();
+        }
+        if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+            throw new IllegalArgumentException("JSON does not allow non-finite numbers: " + value);
+        }
+        this.beforeValue();
+        this.out.append(value.toString());
+        return this;
+    }
+
+    /**
+     * Writes a {@code null} value.
+     *
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonWriter nullValue() throws IOException {
+        this.beforeValue();
+        this.out.append("null");
+        return this;
+    }
+
+    /**
+     * Writes an arbitrary value.
+     * <p>
+     * Supported types:
+     * <ul>
+     *   <li>{@link Map} (keys are converted with {@link String#valueOf(Object)})</li>
+     *   <li>{@link Iterable} and arrays</li>
+     *   <li>{@link Number}, {@link Boolean} and {@link CharSequence}</li>
+     *   <li>{@link Enum} (written as its name)</li>
+     * </ul>
+     * Any other type is written as the string returned by its {@code toString()} method.
+     *
+     * @param value the value, may be {@code null}.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonWriter value(Object value) throws IOException {
+        switch (value) {
+            case null -> this.nullValue();
+            case String s -> this.value(s);
+            case Number n -> this.value(n);
+            case Boolean b -> this.value(b.booleanValue());
+            case Map<?, ?> map -> {
+                this.beginObject();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    this.name(String.valueOf(entry.getKey()));
+                    this.value(entry.getValue());
+                }
+                this.endObject();
+            }
+            case Iterable<?> iterable -> {
+                this.beginArray();
+                for (Object item : iterable) {
+                    this.value(item);
+                }
+                this.endArray();
+            }
+            case Enum<?> e -> this.value(e.name());
+            default -> {
+                if (value.getClass().isArray()) {
+                    this.beginArray();
+                    int length = Array.getLength(value);
+                    for (int i = 0; i < length; i++) {
+                        this.value(Array.get(value, i));
+                    }
+                    this.endArray();
+                } else {
+                    this.value(value.toString());
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a pre-encoded JSON fragment as the next value, without validation.
+     *
+     * @param json the JSON text of a single value.
+     * @return this writer, for chaining.
+     * @throws IOException if writing to the target fails.
+     */
+    public JsonWriter rawValue(CharSequence json) throws IOException {
+        this.beforeValue();
+        this.out.append(json);
+        return this;
+    }
+
+    /**
+     * Flushes the target if it is {@link Flushable}.
+     *
+     * @throws IOException if flushing fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.out instanceof Flushable flushable) {
+            flushable.flush();
+        }
+    }
+
+    /**
+     * Closes the target if it is {@link Closeable}.
+     *
+     * @throws IOException           if closing fails.
+     * @throws IllegalStateException if the document is incomplete.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.out instanceof Closeable closeable) {
+            closeable.close();
+        }
+        if (this.stackSize > 1) {
+            throw new IllegalStateException("Incomplete document");
+        }
+    }
+
+    /**
+     * Allows another top-level value to be written, as required by
+     * line-delimited output.
+     *
+     * @throws IllegalStateException if the current document is incomplete.
+     */
+    void nextDocument() {
+        if (this.stackSize > 1) {
+            throw new IllegalStateException("Incomplete document");
+        }
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Opens an array or object.
+     *
+     * @param scope   the scope to push.
+     * @param bracket the opening bracket.
+     * @return this writer.
+     * @throws IOException if writing to the target fails.
+     */
+    private JsonWriter open(int scope, char bracket) throws IOException {
+        this.beforeValue();
+        if (this.stackSize == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.stackSize * 2);
+        }
+        this.stack[this.stackSize++] = scope;
+        this.out.append(bracket);
+        return this;
+    }
+
+    /**
+     * Closes an array or object.
+     *
+     * @param empty    the empty scope of the structure.
+     * @param nonempty the non-empty scope of the structure.
+     * @param bracket  the closing bracket.
+     * @return this writer.
+     * @throws IOException if writing to the target fails.
+     */
+    private JsonWriter close(int empty, int nonempty, char bracket) throws IOException {
+        int scope = this.peekScope();
+        if (scope != empty && scope != nonempty) {
+            throw new IllegalStateException("Nesting problem: cannot close with '" + bracket + "'");
+        }
+        this.stackSize--;
+        if (scope == nonempty) {
+            this.newline();
+        }
+        this.out.append(bracket);
+        return this;
+    }
+
+    /**
+     * Writes separators required before a value and updates the current scope.
+     *
+     * @throws IOException if writing to the target fails.
+     */
+    private void beforeValue() throws IOException {
+        switch (this.peekScope()) {
+            case EMPTY_DOCUMENT -> this.stack[this.stackSize - 1] = NONEMPTY_DOCUMENT;
+            case EMPTY_ARRAY -> {
+                this.stack[this.stackSize - 1] = NONEMPTY_ARRAY;
+                this.newline();
+            }
+            case NONEMPTY_ARRAY -> {
+                this.out.append(',');
+                this.newline();
+            }
+            case DANGLING_NAME -> {
+                this.out.append(this.indent == null ? ":" : ": ");
+                this.stack[this.stackSize - 1] = NONEMPTY_OBJECT;
+            }
+            case NONEMPTY_DOCUMENT -> throw new IllegalStateException("JSON must have only one top-level value");
+            default -> throw new IllegalStateException("Expected a name before the value");
+        }
+    }
+
+    /**
+     * Returns the current scope.
+     *
+     * @return the scope at the top of the stack.
+     */
+    private int peekScope() {
+        if (this.stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed");
+        }
+        return this.stack[this.stackSize - 1];
+    }
+
+    /**
+     * Writes a newline followed by the indentation of the current depth.
+     *
+     * @throws IOException if writing to the target fails.
+     */
+    private void newline() throws IOException {
+        if (this.indent == null) {
+            return;
+        }
+        this.out.append('\n');
+        for (int i = 1; i < this.stackSize; i++) {
+            this.out.append(this.indent);
+        }
+    }
+
+    /**
+     * Writes a quoted and escaped string.
+     *
+     * @param value the string.
+     * @throws IOException if writing to the target fails.
+     */
+    private void string(String value) throws IOException {
+        writeString(this.out, value);
+    }
+
+    /**
+     * Writes a quoted and escaped string to the given target.
+     * <p>
+     * Runs of characters that need no escaping are appended as a single range.
+     *
+     * @param out   the target.
+     * @param value the string.
+     * @throws IOException if writing to the target fails.
+     */
+    static void writeString(Appendable out, CharSequence value) throws IOException {
+        out.append('"');
+        int length = value.length();
+        int last = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if (c < 0x20) {
+                replacement = CONTROL_ESCAPES[c];
+            } else if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                out.append(value, last, i);
+            }
+            out.append(replacement);
+            last = i + 1;
+        }
+        if (last < length) {
+            out.append(value, last, length);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,21 @@
+package dev.rafandoo.cup.parsing;
+
+/**
+ * Functional interface representing a conversion from a source type
+ * to a target type.
+ *
+ * @param <S> the source type.
+ * @param <T> the target type.
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * Converts the given value.
+     *
+     * @param value the value to convert, never {@code null}.
+     * @return the converted value.
+     * @throws IllegalArgumentException if the value cannot be converted.
+     */
+    T convert(S value);
+}
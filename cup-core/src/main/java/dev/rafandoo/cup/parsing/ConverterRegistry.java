@@ -0,0 +1,450 @@
+package dev.rafandoo.cup.parsing;
+
+import dev.rafandoo.cup.date.DateUtils;
+import dev.rafandoo.cup.reflection.TypeInspector;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of {@link Converter}s keyed by source and target type.
+ * <p>
+ * Converters are resolved by walking the source type hierarchy (superclasses
+ * first, then interfaces, then {@link Object}) and, for enum and {@link String}
+ * targets, by falling back to built-in generic conversions. Resolved converters
+ * are cached through nested {@link ClassValue}s, keyed by source and then by
+ * target class, so after warmup a conversion costs two lookups and the cache
+ * never keeps a class (or its class loader) reachable.
+ * <p>
+ * The {@link #defaults() default registry} is shared and pre-populated with
+ * numeric, boolean, date-time and {@link UUID} conversions. These are strict:
+ * values that cannot be parsed, such as {@code "abc"} to {@link Integer},
+ * are rejected with an {@link IllegalArgumentException}, and unrelated
+ * source types (such as {@link Boolean} to {@link Integer}) have no converter.
+ */
+public final class ConverterRegistry {
+
+    private static final ConverterRegistry DEFAULTS = createDefaults();
+
+    /**
+     * Marker stored in the cache for unresolvable pairs.
+     */
+    private static final Converter<Object, Object> NONE = value -> {
+        throw new IllegalStateException("Unresolved converter");
+    };
+
+    private final Map<Key, Converter<?, ?>> converters = new ConcurrentHashMap<>();
+    private volatile ClassValue<ClassValue<Converter<?, ?>>> cache = this.newCache();
+
+    /**
+     * Registration key.
+     *
+     * @param source the source type.
+     * @param target the target type.
+     */
+    private record Key(Class<?> source, Class<?> target) {
+    }
+
+    /**
+     * Creates an empty registry.
+     * <p>
+     * Only the built-in enum and {@link String} fallbacks are available
+     * until converters are registered.
+     */
+    public ConverterRegistry() {
+    }
+
+    /**
+     * Returns the shared registry pre-populated with the default converters.
+     *
+     * @return the default registry.
+     */
+    public static ConverterRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Registers a converter for the given source and target types, replacing
+     * any previous registration for the same pair.
+     *
+     * @param source    the source type.
+     * @param target    the target type.
+     * @param converter the converter.
+     * @param <S>       the source type.
+     * @param <T>       the target type.
+     * @return this registry, for chaining.
+     */
+    public <S, T> ConverterRegistry register(
+        Class<S> source,
+        Class<T> target,
+        Converter<? super S, ? extends T> converter
+    ) {
+        Objects.requireNonNull(converter, "Converter must not be null");
+        this.converters.put(new Key(wrap(source), wrap(target)), converter);
+        this.cache = this.newCache();
+        return this;
+    }
+
+    /**
+     * Checks whether a conversion from the source type to the target type is available.
+     *
+     * @param source the source type.
+     * @param target the target type.
+     * @return {@code true} if a conversion is available.
+     */
+    public boolean canConvert(Class<?> source, Class<?> target) {
+        return wrap(target).isAssignableFrom(wrap(source)) || this.lookup(wrap(source), wrap(target)) != NONE;
+    }
+
+    /**
+     * Returns the converter resolved for the given source and target types.
+     *
+     * @param source the source type.
+     * @param target the target type.
+     * @param <S>    the source type.
+     * @param <T>    the target type.
+     * @return the resolved converter, or empty if none is available.
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> Optional<Converter<S, T>> find(Class<S> source, Class<T> target) {
+        Converter<?, ?> converter = this.lookup(wrap(source), wrap(target));
+        return converter == NONE ? Optional.empty() : Optional.of((Converter<S, T>) converter);
+    }
+
+    /**
+     * Converts a value to the target type.
+     * <p>
+     * Values that are already instances of the target type are returned as is.
+     *
+     * @param value  the value to convert.
+     * @param target the target type (primitive types are mapped to their wrappers).
+     * @param <T>    the target type.
+     * @return the converted value, or {@code null} if the value is {@code null}.
+     * @throws IllegalArgumentException if no converter is available or the conversion fails.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object value, Class<T> target) {
+        if (value == null) {
+            return null;
+        }
+
+        Class<T> boxed = (Class<T>) wrap(target);
+        if (boxed.isInstance(value)) {
+            return (T) value;
+        }
+
+        Converter<Object, Object> converter = (Converter<Object, Object>) this.lookup(value.getClass(), boxed);
+        if (converter == NONE) {
+            throw new IllegalArgumentException(
+                "No converter from " + value.getClass().getName() + " to " + target.getName()
+            );
+        }
+        return (T) converter.convert(value);
+    }
+
+    /**
+     * Converts a value to the target type, returning a default value if the
+     * value is {@code null} or cannot be converted.
+     *
+     * @param value        the value to convert.
+     * @param target       the target type.
+     * @param defaultValue the value returned on failure.
+     * @param <T>          the target type.
+     * @return the converted value, or {@code defaultValue}.
+     */
+    public <T> T convertOrDefault(Object value, Class<T> target, T defaultValue) {
+        try {
+            T result = this.convert(value, target);
+            return result != null ? result : defaultValue;
+        } catch (RuntimeException ignored) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Looks up the cached converter for a source and target pair.
+     *
+     * @param source the boxed source type.
+     * @param target the boxed target type.
+     * @return the resolved converter, or {@link #NONE}.
+     */
+    private Converter<?, ?> lookup(Class<?> source, Class<?> target) {
+        return this.cache.get(source).get(target);
+    }
+
+    /**
+     * Resolves a converter by walking the source type hierarchy.
+     *
+     * @param source the boxed source type.
+     * @param target the boxed target type.
+     * @return the resolved converter, or {@link #NONE}.
+     */
+    private Converter<?, ?> resolve(Class<?> source, Class<?> target) {
+        List<Class<?>> candidates = new ArrayList<>(TypeInspector.hierarchy(source));
+        candidates.addAll(TypeInspector.interfaces(source));
+        candidates.add(Object.class);
+
+        for (Class<?> candidate : candidates) {
+            Converter<?, ?> converter = this.converters.get(new Key(candidate, target));
+            if (converter != null) {
+                return converter;
+            }
+        }
+
+        if (target.isEnum()) {
+            return enumConverter(target);
+        }
+        if (target == String.class) {
+            return (Converter<Object, String>) String::valueOf;
+        }
+        return NONE;
+    }
+
+    /**
+     * Builds a converter to an enum type, matching constants by name
+     * (case insensitive) or numbers by ordinal.
+     *
+     * @param target the enum type.
+     * @return the enum converter.
+     */
+    private static Converter<Object, Object> enumConverter(Class<?> target) {
+        Object[] constants = target.getEnumConstants();
+        return value -> {
+            if (value instanceof Number number) {
+                int ordinal = number.intValue();
+                if (ordinal >= 0 && ordinal < constants.length) {
+                    return constants[ordinal];
+                }
+            } else {
+                String name = value.toString().trim();
+                for (Object constant : constants) {
+                    if (((Enum<?>) constant).name().equalsIgnoreCase(name)) {
+                        return constant;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("No constant of " + target.getName() + " for: " + value);
+        };
+    }
+
+    /**
+     * Creates a new cache of resolved converters.
+     * <p>
+     * Each source class holds a {@link ClassValue} whose values, the
+     * converters, are stored in the target classes. Neither level references
+     * the classes of the other, so caching a conversion to a user type does
+     * not pin that type to a system source class such as {@link String}.
+     *
+     * @return the cache.
+     */
+    private ClassValue<ClassValue<Converter<?, ?>>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected ClassValue<Converter<?, ?>> computeValue(Class<?> source) {
+                return new ClassValue<>() {
+                    @Override
+                    protected Converter<?, ?> computeValue(Class<?> target) {
+                        return ConverterRegistry.this.resolve(source, target);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Maps primitive types to their wrapper types.
+     *
+     * @param type the type.
+     * @return the wrapper type, or the type itself if not primitive.
+     */
+    private static Class<?> wrap(Class<?> type) {
+        Objects.requireNonNull(type, "Type must not be null");
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        return Void.class;
+    }
+
+    /**
+     * Creates the default registry.
+     *
+     * @return the registry with the default converters.
+     */
+    private static ConverterRegistry createDefaults() {
+        ConverterRegistry registry = new ConverterRegistry();
+
+        registry.register(String.class, Integer.class, s -> Integer.valueOf(s.trim()))
+            .register(String.class, Long.class, s -> Long.valueOf(s.trim()))
+            .register(String.class, Double.class, s -> Double.valueOf(s.trim()))
+            .register(String.class, Float.class, s -> Float.valueOf(s.trim()))
+            .register(String.class, BigDecimal.class, s -> new BigDecimal(s.trim()))
+            .register(String.class, BigInteger.class, s -> new BigInteger(s.trim()))
+            .register(String.class, Boolean.class, ConverterRegistry::toBoolean)
+            .register(Number.class, BigDecimal.class, ConverterRegistry::toBigDecimal)
+            .register(Number.class, BigInteger.class, ConverterRegistry::toBigInteger)
+            .register(Number.class, Boolean.class, n -> toBigDecimal(n).signum() != 0)
+            .register(Number.class, Integer.class, n -> (int) toIntegral(n, Integer.MIN_VALUE, Integer.MAX_VALUE))
+            .register(Number.class, Long.class, n -> toIntegral(n, Long.MIN_VALUE, Long.MAX_VALUE))
+            .register(Number.class, Double.class, Number::doubleValue)
+            .register(Number.class, Float.class, Number::floatValue)
+            .register(Number.class, Short.class, n -> (short) toIntegral(n, Short.MIN_VALUE, Short.MAX_VALUE))
+            .register(Number.class, Byte.class, n -> (byte) toIntegral(n, Byte.MIN_VALUE, Byte.MAX_VALUE))
+            .register(String.class, Short.class, s -> Short.valueOf(s.trim()))
+            .register(String.class, Byte.class, s -> Byte.valueOf(s.trim()))
+            .register(String.class, Character.class, ConverterRegistry::toCharacter)
+            .register(String.class, UUID.class, UUID::fromString)
+            .register(String.class, LocalDate.class, dateTime(LocalDate::parse))
+            .register(String.class, LocalTime.class, dateTime(LocalTime::parse))
+            .register(String.class, LocalDateTime.class, dateTime(LocalDateTime::parse))
+            .register(String.class, Instant.class, dateTime(Instant::parse))
+            .register(String.class, Duration.class, dateTime(Duration::parse))
+            .register(Number.class, Instant.class, n -> Instant.ofEpochSecond(toIntegral(n, Long.MIN_VALUE, Long.MAX_VALUE)))
+            .register(Number.class, LocalDateTime.class,
+                n -> DateUtils.fromTimestamp(toIntegral(n, Long.MIN_VALUE, Long.MAX_VALUE)))
+            .register(Date.class, LocalDateTime.class, DateUtils::toLocalDateTime)
+            .register(Date.class, Instant.class, Date::toInstant)
+            .register(LocalDateTime.class, Date.class, DateUtils::toDate)
+            .register(LocalDateTime.class, LocalDate.class, LocalDateTime::toLocalDate)
+            .register(Instant.class, Date.class, Date::from);
+
+        return registry;
+    }
+
+    /**
+     * Converts a string to a {@link Boolean}, accepting the same tokens as
+     * {@link TypeParser#parseBoolean(Object, boolean)}.
+     *
+     * @param value the string to convert.
+     * @return the boolean value.
+     * @throws IllegalArgumentException if the string is not a boolean token.
+     */
+    private static Boolean toBoolean(String value) {
+        String token = value.trim();
+        if (token.equalsIgnoreCase("true") || token.equalsIgnoreCase("yes") || token.equals("1")) {
+            return true;
+        }
+        if (token.equalsIgnoreCase("false") || token.equalsIgnoreCase("no") || token.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Cannot convert to boolean: " + value);
+    }
+
+    /**
+     * Converts a number to a {@link BigDecimal} without losing precision.
+     *
+     * @param value the number to convert.
+     * @return the decimal value.
+     * @throws IllegalArgumentException if the number is not finite.
+     */
+    private static BigDecimal toBigDecimal(Number value) {
+        if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+            throw new IllegalArgumentException("Not a finite number: " + value);
+        }
+        return switch (value) {
+            case BigDecimal bd -> bd;
+            case BigInteger bi -> new BigDecimal(bi);
+            case Integer i -> BigDecimal.valueOf(i);
+            case Long l -> BigDecimal.valueOf(l);
+            case Short s -> BigDecimal.valueOf(s);
+            case Byte b -> BigDecimal.valueOf(b);
+            default -> new BigDecimal(value.toString());
+        };
+    }
+
+    /**
+     * Converts a number to an integral value, rejecting fractions and values
+     * outside the target range instead of truncating or wrapping them.
+     *
+     * @param value the number to convert.
+     * @param min   the smallest value of the target type.
+     * @param max   the largest value of the target type.
+     * @return the exact integral value.
+     * @throws IllegalArgumentException if the number has a fraction, is not finite or is out of range.
+     */
+    private static long toIntegral(Number value, long min, long max) {
+        long result;
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            result = value.longValue();
+        } else {
+            try {
+                result = toBigDecimal(value).longValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Cannot convert without loss: " + value, e);
+            }
+        }
+        if (result < min || result > max) {
+            throw new IllegalArgumentException("Value out of range [" + min + ", " + max + "]: " + value);
+        }
+        return result;
+    }
+
+    /**
+     * Converts a number to a {@link BigInteger}, rejecting fractions.
+     *
+     * @param value the number to convert.
+     * @return the exact integral value.
+     * @throws IllegalArgumentException if the number has a fraction or is not finite.
+     */
+    private static BigInteger toBigInteger(Number value) {
+        try {
+            return toBigDecimal(value).toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Cannot convert without loss: " + value, e);
+        }
+    }
+
+    /**
+     * Adapts a {@code java.time} parser so that malformed text is rejected
+     * with an {@link IllegalArgumentException}, as required by {@link Converter}.
+     *
+     * @param parser the parser, such as {@link LocalDate#parse(CharSequence)}.
+     * @param <T>    the parsed type.
+     * @return the converter.
+     */
+    private static <T> Converter<String, T> dateTime(Function<String, T> parser) {
+        return value -> {
+            try {
+                return parser.apply(value.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Cannot convert to date-time: " + value, e);
+            }
+        };
+    }
+
+    /**
+     * Converts a single-character string to a {@link Character}.
+     *
+     * @param value the string to convert.
+     * @return the character.
+     * @throws IllegalArgumentException if the string is not exactly one character long.
+     */
+    private static Character toCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Cannot convert to char: " + value);
+        }
+        return value.charAt(0);
+    }
+}
@@ -0,0 +1,571 @@
+package dev.rafandoo.cup.parsing;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exception-free parsers for primitive numeric values.
+ * <p>
+ * Unlike {@link Integer#parseInt(String)} and friends, these methods never throw
+ * on malformed input: they return the supplied default value instead. This keeps
+ * the cost of invalid input equal to the cost of scanning it, which matters when
+ * cleansing large columns of mixed data.
+ * <p>
+ * Parsers are available over {@link CharSequence} and over ranges of
+ * {@code byte[]} holding ASCII/Latin-1 text. The accepted syntax matches the
+ * corresponding {@code java.lang} parse methods.
+ */
+@UtilityClass
+public final class NumberParser {
+
+    /**
+     * Maximum number of significant digits that fit exactly into a double mantissa.
+     */
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+
+    /**
+     * Maximum number of significant digits that fit exactly into a float mantissa.
+     */
+    private static final int MAX_EXACT_FLOAT_DIGITS = 7;
+
+    /**
+     * Powers of ten exactly representable as doubles.
+     */
+    private static final double[] DOUBLE_POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Powers of ten exactly representable as floats.
+     */
+    private static final float[] FLOAT_POW10 = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * Parses a decimal integer, returning a default value if the input is not a valid {@code int}.
+     *
+     * @param value        the text to parse.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    public static int parseInt(CharSequence value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return parseInt(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * Parses a decimal integer from a range of a {@link CharSequence}.
+     *
+     * @param value        the text to parse.
+     * @param start        the start index (inclusive).
+     * @param end          the end index (exclusive).
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the sequence.
+     */
+    public static int parseInt(CharSequence value, int start, int end, int defaultValue) {
+        return (int) parseIntegral(value, null, start, end, Integer.MIN_VALUE, defaultValue);
+    }
+
+    /**
+     * Parses a decimal integer from a range of ASCII bytes.
+     *
+     * @param bytes        the bytes to parse.
+     * @param offset       the start offset.
+     * @param length       the number of bytes to read.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static int parseInt(byte[] bytes, int offset, int length, int defaultValue) {
+        if (bytes == null) {
+            return defaultValue;
+        }
+        return (int) parseIntegral(null, bytes, offset, offset + length, Integer.MIN_VALUE, defaultValue);
+    }
+
+    /**
+     * Parses a decimal long, returning a default value if the input is not a valid {@code long}.
+     *
+     * @param value        the text to parse.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    public static long parseLong(CharSequence value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return parseLong(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * Parses a decimal long from a range of a {@link CharSequence}.
+     *
+     * @param value        the text to parse.
+     * @param start        the start index (inclusive).
+     * @param end          the end index (exclusive).
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the sequence.
+     */
+    public static long parseLong(CharSequence value, int start, int end, long defaultValue) {
+        return parseIntegral(value, null, start, end, Long.MIN_VALUE, defaultValue);
+    }
+
+    /**
+     * Parses a decimal long from a range of ASCII bytes.
+     *
+     * @param bytes        the bytes to parse.
+     * @param offset       the start offset.
+     * @param length       the number of bytes to read.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static long parseLong(byte[] bytes, int offset, int length, long defaultValue) {
+        if (bytes == null) {
+            return defaultValue;
+        }
+        return parseIntegral(null, bytes, offset, offset + length, Long.MIN_VALUE, defaultValue);
+    }
+
+    /**
+     * Parses a decimal floating-point number, returning a default value if the input is not valid.
+     *
+     * @param value        the text to parse.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    public static double parseDouble(CharSequence value, double defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return parseDouble(value, 0, value.length(), defaultValue);
+    }
+
+    /**
+     * Parses a decimal floating-point number from a range of a {@link CharSequence}.
+     *
+     * @param value        the text to parse.
+     * @param start        the start index (inclusive).
+     * @param end          the end index (exclusive).
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the sequence.
+     */
+    public static double parseDouble(CharSequence value, int start, int end, double defaultValue) {
+        return parseDecimal(value, null, start, end, false, defaultValue);
+    }
+
+    /**
+     * Parses a decimal floating-point number from a range of ASCII bytes.
+     *
+     * @param bytes        the bytes to parse.
+     * @param offset       the start offset.
+     * @param length       the number of bytes to read.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static double parseDouble(byte[] bytes, int offset, int length, double defaultValue) {
+        if (bytes == null) {
+            return defaultValue;
+        }
+        return parseDecimal(null, bytes, offset, offset + length, false, defaultValue);
+    }
+
+    /**
+     * Parses a decimal floating-point number as a float, returning a default value if the input is not valid.
+     *
+     * @param value        the text to parse.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    public static float parseFloat(CharSequence value, float defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return (float) parseDecimal(value, null, 0, value.length(), true, defaultValue);
+    }
+
+    /**
+     * Parses a decimal floating-point number as a float from a range of ASCII bytes.
+     *
+     * @param bytes        the bytes to parse.
+     * @param offset       the start offset.
+     * @param length       the number of bytes to read.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static float parseFloat(byte[] bytes, int offset, int length, float defaultValue) {
+        if (bytes == null) {
+            return defaultValue;
+        }
+        return (float) parseDecimal(null, bytes, offset, offset + length, true, defaultValue);
+    }
+
+    /**
+     * Reads a character from whichever source is present.
+     *
+     * @param chars the character source, or {@code null}.
+     * @param bytes the byte source, used when {@code chars} is {@code null}.
+     * @param index the index to read.
+     * @return the character at the given index.
+     */
+    private static char charAt(CharSequence chars, byte[] bytes, int index) {
+        return chars != null ? chars.charAt(index) : (char) (bytes[index] & 0xFF);
+    }
+
+    /**
+     * Returns the decimal digit value of a character, or {@code -1}.
+     *
+     * @param c the character.
+     * @return the digit value, or {@code -1} if not a digit.
+     */
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        return c < 128 ? -1 : Character.digit(c, 10);
+    }
+
+    /**
+     * Parses a signed decimal integral value bounded by {@code minValue}
+     * and {@code -(minValue + 1)}.
+     * <p>
+     * Digits are accumulated negatively, as in {@link Long#parseLong(String)},
+     * so that the minimum value can be represented without overflow.
+     *
+     * @param chars        the character source, or {@code null}.
+     * @param bytes        the byte source, used when {@code chars} is {@code null}.
+     * @param start        the start index (inclusive).
+     * @param end          the end index (exclusive).
+     * @param minValue     the minimum representable value of the target type.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    private static long parseIntegral(
+        CharSequence chars,
+        byte[] bytes,
+        int start,
+        int end,
+        long minValue,
+        long defaultValue
+    ) {
+        if (start >= end) {
+            return defaultValue;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char first = charAt(chars, bytes, i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) {
+                return defaultValue;
+            }
+        }
+
+        long limit = negative ? minValue : minValue + 1;
+        long multiplyMin = limit / 10;
+        long result = 0;
+
+        for (; i < end; i++) {
+            int d = digit(charAt(chars, bytes, i));
+            if (d < 0 || result < multiplyMin) {
+                return defaultValue;
+            }
+            result *= 10;
+            if (result < limit + d) {
+                return defaultValue;
+            }
+            result -= d;
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses a decimal floating-point value.
+     * <p>
+     * The syntax is validated in a single pass. Values with few significant
+     * digits and a small exponent are computed exactly from the accumulated
+     * mantissa; anything else is delegated to the JDK parser, which cannot fail
+     * at that point because the input is already known to be well-formed.
+     *
+     * @param chars        the character source, or {@code null}.
+     * @param bytes        the byte source, used when {@code chars} is {@code null}.
+     * @param start        the start index (inclusive).
+     * @param end          the end index (exclusive).
+     * @param asFloat      whether the value is parsed with float precision.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    private static double parseDecimal(
+        CharSequence chars,
+        byte[] bytes,
+        int start,
+        int end,
+        boolean asFloat,
+        double defaultValue
+    ) {
+        int from = start;
+        int to = end;
+        while (from < to && charAt(chars, bytes, from) <= ' ') {
+            from++;
+        }
+        while (to > from && charAt(chars, bytes, to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return defaultValue;
+        }
+
+        int i = from;
+        boolean negative = false;
+        char c = charAt(chars, bytes, i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++i == to) {
+                return defaultValue;
+            }
+            c = charAt(chars, bytes, i);
+        }
+
+        if (c == 'N' || c == 'I' || (c == '0' && i + 1 < to && (charAt(chars, bytes, i + 1) | 0x20) == 'x')) {
+            return parseSpecial(chars, bytes, from, i, to, asFloat, defaultValue);
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean dot = false;
+
+        for (; i < to; i++) {
+            c = charAt(chars, bytes, i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    if (dot) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (significantDigits < 19) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (dot) {
+                        exponent--;
+                    }
+                } else if (!dot) {
+                    exponent++;
+                }
+                significantDigits++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!anyDigit) {
+            return defaultValue;
+        }
+
+        if (i < to && (c == 'e' || c == 'E')) {
+            if (++i == to) {
+                return defaultValue;
+            }
+            boolean negativeExponent = false;
+            c = charAt(chars, bytes, i);
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                if (++i == to) {
+                    return defaultValue;
+                }
+            }
+            int explicitExponent = 0;
+            int exponentStart = i;
+            for (; i < to; i++) {
+                c = charAt(chars, bytes, i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (c - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return defaultValue;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (i < to) {
+            c = charAt(chars, bytes, i);
+            if (c == 'f' || c == 'F' || c == 'd' || c == 'D') {
+                i++;
+            }
+        }
+        if (i != to) {
+            return defaultValue;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (asFloat) {
+            if (significantDigits <= MAX_EXACT_FLOAT_DIGITS && Math.abs(exponent) < FLOAT_POW10.length) {
+                float value = exponent >= 0
+                    ? (float) mantissa * FLOAT_POW10[exponent]
+                    : (float) mantissa / FLOAT_POW10[-exponent];
+                return negative ? -value : value;
+            }
+            return Float.parseFloat(substring(chars, bytes, from, to));
+        }
+
+        if (significantDigits <= MAX_EXACT_DOUBLE_DIGITS && Math.abs(exponent) < DOUBLE_POW10.length) {
+            double value = exponent >= 0
+                ? (double) mantissa * DOUBLE_POW10[exponent]
+                : (double) mantissa / DOUBLE_POW10[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(substring(chars, bytes, from, to));
+    }
+
+    /**
+     * Parses {@code NaN}, {@code Infinity} and hexadecimal floating-point literals.
+     * <p>
+     * {@code NaN} and {@code Infinity} are matched literally. Hexadecimal
+     * literals are checked against the grammar of {@link Double#valueOf(String)}
+     * first and only well-formed ones are handed to the JDK parser, so that
+     * values such as {@code "N/A"}, {@code "NULL"} or {@code "0xZZ"} are
+     * rejected without throwing.
+     *
+     * @param chars        the character source, or {@code null}.
+     * @param bytes        the byte source, used when {@code chars} is {@code null}.
+     * @param start        the start index of the value, including its sign.
+     * @param body         the index of the first character after the sign.
+     * @param end          the end index (exclusive).
+     * @param asFloat      whether the value is parsed with float precision.
+     * @param defaultValue the value returned when parsing fails.
+     * @return the parsed value, or {@code defaultValue}.
+     */
+    private static double parseSpecial(
+        CharSequence chars,
+        byte[] bytes,
+        int start,
+        int body,
+        int end,
+        boolean asFloat,
+        double defaultValue
+    ) {
+        if (regionEquals(chars, bytes, body, end, "NaN")) {
+            return Double.NaN;
+        }
+        if (regionEquals(chars, bytes, body, end, "Infinity")) {
+            return charAt(chars, bytes, start) == '-' ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        if (!isHexFloat(chars, bytes, body, end)) {
+            return defaultValue;
+        }
+        String text = substring(chars, bytes, start, end);
+        return asFloat ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+
+    /**
+     * Checks whether a range holds exactly the given ASCII literal.
+     *
+     * @param chars   the character source, or {@code null}.
+     * @param bytes   the byte source, used when {@code chars} is {@code null}.
+     * @param start   the start index (inclusive).
+     * @param end     the end index (exclusive).
+     * @param literal the expected literal.
+     * @return {@code true} if the range equals the literal.
+     */
+    private static boolean regionEquals(CharSequence chars, byte[] bytes, int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            return false;
+        }
+        for (int k = 0; k < literal.length(); k++) {
+            if (charAt(chars, bytes, start + k) != literal.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether an unsigned range is a hexadecimal floating-point
+     * literal, such as {@code 0x1.8p3}: a {@code 0x} prefix, hexadecimal
+     * digits with an optional point, a mandatory binary exponent and an
+     * optional type suffix.
+     *
+     * @param chars the character source, or {@code null}.
+     * @param bytes the byte source, used when {@code chars} is {@code null}.
+     * @param start the index of the leading {@code 0}.
+     * @param end   the end index (exclusive).
+     * @return {@code true} if the range is well-formed.
+     */
+    private static boolean isHexFloat(CharSequence chars, byte[] bytes, int start, int end) {
+        int i = start + 2;
+        if (i > end || charAt(chars, bytes, start) != '0' || (charAt(chars, bytes, start + 1) | 0x20) != 'x') {
+            return false;
+        }
+
+        boolean anyDigit = false;
+        boolean dot = false;
+        char c = 0;
+        for (; i < end; i++) {
+            c = charAt(chars, bytes, i);
+            if ((c >= '0' && c <= '9') || ((c | 0x20) >= 'a' && (c | 0x20) <= 'f')) {
+                anyDigit = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigit || i == end || (c | 0x20) != 'p') {
+            return false;
+        }
+
+        if (++i < end && (charAt(chars, bytes, i) == '-' || charAt(chars, bytes, i) == '+')) {
+            i++;
+        }
+        int exponentStart = i;
+        while (i < end && charAt(chars, bytes, i) >= '0' && charAt(chars, bytes, i) <= '9') {
+            i++;
+        }
+        if (i == exponentStart) {
+            return false;
+        }
+        if (i < end && "fFdD".indexOf(charAt(chars, bytes, i)) >= 0) {
+            i++;
+        }
+        return i == end;
+    }
+
+    /**
+     * Materializes a range of the source as a {@link String}.
+     *
+     * @param chars the character source, or {@code null}.
+     * @param bytes the byte source, used when {@code chars} is {@code null}.
+     * @param start the start index (inclusive).
+     * @param end   the end index (exclusive).
+     * @return the range as a string.
+     */
+    private static String substring(CharSequence chars, byte[] bytes, int start, int end) {
+        if (chars != null) {
+            return chars.subSequence(start, end).toString();
+        }
+        return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -4,9 +4,14 @@ import lombok.experimental.UtilityClass;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.List;
 
 /**
  * Utility class for parsing values to different types.
+ * <p>
+ * The {@code toXxx} methods return boxed values for convenience, while the
+ * {@code parseXxx} methods return primitives with a caller-supplied default
+ * and, in their bulk forms, fill primitive arrays without boxing.
  */
 @UtilityClass
 public final class TypeParser {
@@ -18,36 +23,27 @@ public final class TypeParser {
      * @return the parsed integer value.
      */
     public static Integer toInt(Object value) {
-        switch (value) {
-            case Integer i -> {
-                return i;
-            }
-            case BigInteger bi -> {
-                return bi.intValue();
-            }
-            case BigDecimal bd -> {
-                return bd.intValue();
-            }
-            case Long l -> {
-                return l.intValue();
-            }
-            case Double d -> {
-                return d.intValue();
-            }
-            case Float f -> {
-                return f.intValue();
-            }
-            case String s -> {
-                try {
-                    return Integer.parseInt(s);
-                } catch (NumberFormatException e) {
-                    return 0;
-                }
-            }
-            default -> {
-                return 0;
-            }
-        }
+        return parseInt(value, 0);
+    }
+
+    /**
+     * Parses the provided value to a primitive integer, if not possible returns the default value.
+     *
+     * @param value        the value to parse.
+     * @param defaultValue the value returned when the value cannot be parsed.
+     * @return the parsed integer value.
+     */
+    public static int parseInt(Object value, int defaultValue) {
+        return switch (value) {
+            case Integer i -> i;
+            case BigInteger bi -> bi.intValue();
+            case BigDecimal bd -> bd.intValue();
+            case Long l -> l.intValue();
+            case Double d -> d.intValue();
+            case Float f -> f.intValue();
+            case String s -> NumberParser.parseInt(s, defaultValue);
+            case null, default -> defaultValue;
+        };
     }
 
     /**
@@ -57,36 +53,27 @@ public final class TypeParser {
      * @return the parsed double value.
      */
     public static Double toDouble(Object value) {
-        switch (value) {
-            case Double d -> {
-                return d;
-            }
-            case BigDecimal bd -> {
-                return bd.doubleValue();
-            }
-            case BigInteger bi -> {
-                return bi.doubleValue();
-            }
-            case Integer i -> {
-                return i.doubleValue();
-            }
-            case Long l -> {
-                return l.doubleValue();
-            }
-            case Float f -> {
-                return f.doubleValue();
-            }
-            case String s -> {
-                try {
-                    return Double.parseDouble(s);
-                } catch (NumberFormatException e) {
-                    return (double) 0;
-                }
-            }
-            default -> {
-                return (double) 0;
-            }
-        }
+        return parseDouble(value, 0);
+    }
+
+    /**
+     * Parses the provided value to a primitive double, if not possible returns the default value.
+     *
+     * @param value        the value to parse.
+     * @param defaultValue the value returned when the value cannot be parsed.
+     * @return the parsed double value.
+     */
+    public static double parseDouble(Object value, double defaultValue) {
+        return switch (value) {
+            case Double d -> d;
+            case BigDecimal bd -> bd.doubleValue();
+            case BigInteger bi -> bi.doubleValue();
+            case Integer i -> i.doubleValue();
+            case Long l -> l.doubleValue();
+            case Float f -> f.doubleValue();
+            case String s -> NumberParser.parseDouble(s, defaultValue);
+            case null, default -> defaultValue;
+        };
     }
 
     /**
@@ -96,36 +83,27 @@ public final class TypeParser {
      * @return the parsed long value.
      */
     public static Long toLong(Object value) {
-        switch (value) {
-            case Long l -> {
-                return l;
-            }
-            case BigInteger bi -> {
-                return bi.longValue();
-            }
-            case BigDecimal bd -> {
-                return bd.longValue();
-            }
-            case Integer i -> {
-                return i.longValue();
-            }
-            case Double d -> {
-                return d.longValue();
-            }
-            case Float f -> {
-                return f.longValue();
-            }
-            case String s -> {
-                try {
-                    return Long.parseLong(s);
-                } catch (NumberFormatException e) {
-                    return 0L;
-                }
-            }
-            default -> {
-                return 0L;
-            }
-        }
+        return parseLong(value, 0L);
+    }
+
+    /**
+     * Parses the provided value to a primitive long, if not possible returns the default value.
+     *
+     * @param value        the value to parse.
+     * @param defaultValue the value returned when the value cannot be parsed.
+     * @return the parsed long value.
+     */
+    public static long parseLong(Object value, long defaultValue) {
+        return switch (value) {
+            case Long l -> l;
+            case BigInteger bi -> bi.longValue();
+            case BigDecimal bd -> bd.longValue();
+            case Integer i -> i.longValue();
+            case Double d -> d.longValue();
+            case Float f -> f.longValue();
+            case String s -> NumberParser.parseLong(s, defaultValue);
+            case null, default -> defaultValue;
+        };
     }
 
     /**
@@ -135,36 +113,27 @@ public final class TypeParser {
      * @return the parsed float value.
      */
     public static Float toFloat(Object value) {
-        switch (value) {
-            case Float f -> {
-                return f;
-            }
-            case Double d -> {
-                return d.floatValue();
-            }
-            case BigDecimal bd -> {
-                return bd.floatValue();
-            }
-            case BigInteger bi -> {
-                return bi.floatValue();
-            }
-            case Integer i -> {
-                return i.floatValue();
-            }
-            case Long l -> {
-                return l.floatValue();
-            }
-            case String s -> {
-                try {
-                    return Float.parseFloat(s);
-                } catch (NumberFormatException e) {
-                    return 0f;
-                }
-            }
-            default -> {
-                return 0f;
-            }
-        }
+        return parseFloat(value, 0f);
+    }
+
+    /**
+     * Parses the provided value to a primitive float, if not possible returns the default value.
+     *
+     * @param value        the value to parse.
+     * @param defaultValue the value returned when the value cannot be parsed.
+     * @return the parsed float value.
+     */
+    public static float parseFloat(Object value, float defaultValue) {
+        return switch (value) {
+            case Float f -> f;
+            case Double d -> d.floatValue();
+            case BigDecimal bd -> bd.floatValue();
+            case BigInteger bi -> bi.floatValue();
+            case Integer i -> i.floatValue();
+            case Long l -> l.floatValue();
+            case String s -> NumberParser.parseFloat(s, defaultValue);
+            case null, default -> defaultValue;
+        };
     }
 
     /**
@@ -254,19 +223,263 @@ public final class TypeParser {
      * @return the parsed boolean value.
      */
     public static Boolean toBoolean(Object value) {
-        switch (value) {
-            case Boolean b -> {
-                return b;
-            }
-            case String s -> {
-                return s.equalsIgnoreCase("true") || s.equalsIgnoreCase("yes") || s.equals("1");
-            }
-            case Number n -> {
-                return n.intValue() != 0;
-            }
-            default -> {
-                return false;
-            }
+        return parseBoolean(value, false);
+    }
+
+    /**
+     * Parses the provided value to a primitive boolean, if not possible returns the default value.
+     * Strings "true", "yes", and "1" (case insensitive) are considered true, and
+     * "false", "no" and "0" false; other strings yield the default value.
+     * Non-zero numbers are considered true.
+     *
+     * @param value        the value to parse.
+     * @param defaultValue the value returned when the value cannot be parsed.
+     * @return the parsed boolean value.
+     */
+    public static boolean parseBoolean(Object value, boolean defaultValue) {
+        return switch (value) {
+            case Boolean b -> b;
+            case String s -> parseBooleanToken(s, defaultValue);
+            case Number n -> n.intValue() != 0;
+            case null, default -> defaultValue;
+        };
+    }
+
+    /**
+     * Parses a boolean token.
+     *
+     * @param token        the string to parse.
+     * @param defaultValue the value returned when the token is not recognized.
+     * @return the parsed boolean value.
+     */
+    private static boolean parseBooleanToken(String token, boolean defaultValue) {
+        if (token.equalsIgnoreCase("true") || token.equalsIgnoreCase("yes") || token.equals("1")) {
+            return true;
+        }
+        if (token.equalsIgnoreCase("false") || token.equalsIgnoreCase("no") || token.equals("0")) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Converts the provided value to the given type using the
+     * {@link ConverterRegistry#defaults() default converter registry}.
+     * <p>
+     * Supports numeric and boolean types, enums, {@link java.util.UUID},
+     * {@code java.time} types and any converter registered in the default registry.
+     *
+     * @param value  the value to convert.
+     * @param target the target type.
+     * @param <T>    the target type.
+     * @return the converted value, or {@code null} if the value is {@code null}.
+     * @throws IllegalArgumentException if no converter is available or the conversion fails.
+     */
+    public static <T> T convert(Object value, Class<T> target) {
+        return ConverterRegistry.defaults().convert(value, target);
+    }
+
+    /**
+     * Parses every element of an array into a new {@code int[]}.
+     *
+     * @param values       the values to parse.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the parsed values, or an empty array if {@code values} is {@code null}.
+     */
+    public static int[] parseInts(Object[] values, int defaultValue) {
+        if (values == null) {
+            return new int[0];
+        }
+        return parseInts(values, new int[values.length], defaultValue);
+    }
+
+    /**
+     * Parses every element of an array into the given {@code int[]}.
+     *
+     * @param values       the values to parse.
+     * @param target       the array to fill, at least as long as {@code values}.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the {@code target} array.
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code values}.
+     */
+    public static int[] parseInts(Object[] values, int[] target, int defaultValue) {
+        requireCapacity(values.length, target.length);
+        for (int i = 0; i < values.length; i++) {
+            target[i] = parseInt(values[i], defaultValue);
+        }
+        return target;
+    }
+
+    /**
+     * Parses every element of a list into a new {@code int[]}.
+     *
+     * @param values       the values to parse.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the parsed values, or an empty array if {@code values} is {@code null}.
+     */
+    public static int[] parseInts(List<?> values, int defaultValue) {
+        if (values == null) {
+            return new int[0];
+        }
+        return parseInts(values, new int[values.size()], defaultValue);
+    }
+
+    /**
+     * Parses every element of a list into the given {@code int[]}.
+     *
+     * @param values       the values to parse.
+     * @param target       the array to fill, at least as long as {@code values}.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the {@code target} array.
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code values}.
+     */
+    public static int[] parseInts(List<?> values, int[] target, int defaultValue) {
+        requireCapacity(values.size(), target.length);
+        int i = 0;
+        for (Object value : values) {
+            target[i++] = parseInt(value, defaultValue);
+        }
+        return target;
+    }
+
+    /**
+     * Parses every element of an array into a new {@code long[]}.
+     *
+     * @param values       the values to parse.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the parsed values, or an empty array if {@code values} is {@code null}.
+     */
+    public static long[] parseLongs(Object[] values, long defaultValue) {
+        if (values == null) {
+            return new long[0];
+        }
+        return parseLongs(values, new long[values.length], defaultValue);
+    }
+
+    /**
+     * Parses every element of an array into the given {@code long[]}.
+     *
+     * @param values       the values to parse.
+     * @param target       the array to fill, at least as long as {@code values}.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the {@code target} array.
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code values}.
+     */
+    public static long[] parseLongs(Object[] values, long[] target, long defaultValue) {
+        requireCapacity(values.length, target.length);
+        for (int i = 0; i < values.length; i++) {
+            target[i] = parseLong(values[i], defaultValue);
+        }
+        return target;
+    }
+
+    /**
+     * Parses every element of a list into a new {@code long[]}.
+     *
+     * @param values       the values to parse.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the parsed values, or an empty array if {@code values} is {@code null}.
+     */
+    public static long[] parseLongs(List<?> values, long defaultValue) {
+        if (values == null) {
+            return new long[0];
+        }
+        return parseLongs(values, new long[values.size()], defaultValue);
+    }
+
+    /**
+     * Parses every element of a list into the given {@code long[]}.
+     *
+     * @param values       the values to parse.
+     * @param target       the array to fill, at least as long as {@code values}.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the {@code target} array.
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code values}.
+     */
+    public static long[] parseLongs(List<?> values, long[] target, long defaultValue) {
+        requireCapacity(values.size(), target.length);
+        int i = 0;
+        for (Object value : values) {
+            target[i++] = parseLong(value, defaultValue);
+        }
+        return target;
+    }
+
+    /**
+     * Parses every element of an array into a new {@code double[]}.
+     *
+     * @param values       the values to parse.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the parsed values, or an empty array if {@code values} is {@code null}.
+     */
+    public static double[] parseDoubles(Object[] values, double defaultValue) {
+        if (values == null) {
+            return new double[0];
+        }
+        return parseDoubles(values, new double[values.length], defaultValue);
+    }
+
+    /**
+     * Parses every element of an array into the given {@code double[]}.
+     *
+     * @param values       the values to parse.
+     * @param target       the array to fill, at least as long as {@code values}.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the {@code target} array.
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code values}.
+     */
+    public static double[] parseDoubles(Object[] values, double[] target, double defaultValue) {
+        requireCapacity(values.length, target.length);
+        for (int i = 0; i < values.length; i++) {
+            target[i] = parseDouble(values[i], defaultValue);
+        }
+        return target;
+    }
+
+    /**
+     * Parses every element of a list into a new {@code double[]}.
+     *
+     * @param values       the values to parse.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the parsed values, or an empty array if {@code values} is {@code null}.
+     */
+    public static double[] parseDoubles(List<?> values, double defaultValue) {
+        if (values == null) {
+            return new double[0];
+        }
+        return parseDoubles(values, new double[values.size()], defaultValue);
+    }
+
+    /**
+     * Parses every element of a list into the given {@code double[]}.
+     *
+     * @param values       the values to parse.
+     * @param target       the array to fill, at least as long as {@code values}.
+     * @param defaultValue the value used for elements that cannot be parsed.
+     * @return the {@code target} array.
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code values}.
+     */
+    public static double[] parseDoubles(List<?> values, double[] target, double defaultValue) {
+        requireCapacity(values.size(), target.length);
+        int i = 0;
+        for (Object value : values) {
+            target[i++] = parseDouble(value, defaultValue);
+        }
+        return target;
+    }
+
+    /**
+     * Ensures a target array can hold all source values.
+     *
+     * @param required  the number of source values.
+     * @param available the target array length.
+     * @throws IllegalArgumentException if the target is too small.
+     */
+    private static void requireCapacity(int required, int available) {
+        if (available < required) {
+            throw new IllegalArgumentException(
+                "Target array too small: required " + required + " but was " + available
+            );
         }
     }
 }
@@ -4,17 +4,44 @@ import lombok.experimental.UtilityClass;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.reflect.Modifier.isAbstract;
 
 /**
  * Utility class for inspecting Java types.
+ * <p>
+ * Reflective lookups (hierarchy, interfaces and default constructor) are
+ * computed once per class and cached with {@link ClassValue}s, so repeated
+ * inspections of the same type cost a single lookup. The caches do not
+ * prevent classes from being unloaded.
  */
 @UtilityClass
 public final class TypeInspector {
 
+    private static final ClassValue<Metadata> METADATA = new ClassValue<>() {
+        @Override
+        protected Metadata computeValue(Class<?> type) {
+            return Metadata.of(type);
+        }
+    };
+
+    /**
+     * Whether each type declares a no-args constructor, resolved separately
+     * from {@link #METADATA} on first request, since looking it up links the
+     * parameter types of every declared constructor. Only the outcome is
+     * cached: {@link Constructor} objects are mutable, so each caller gets its own.
+     */
+    private static final ClassValue<Boolean> HAS_CONSTRUCTOR = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return lookupConstructor(type).isPresent();
+        }
+    };
+
     /**
      * Checks whether the given type is a concrete class.
      *
@@ -32,10 +59,7 @@ public final class TypeInspector {
      * @return {@code true} if the class can be instantiated.
      */
     public static boolean isInstantiable(Class<?> type) {
-        return isConcrete(type)
-            && !type.isEnum()
-            && !type.isAnnotation()
-            && !type.isPrimitive();
+        return METADATA.get(type).instantiable();
     }
 
     /**
@@ -45,16 +69,30 @@ public final class TypeInspector {
      * @return {@code true} if a default constructor exists.
      */
     public static boolean hasDefaultConstructor(Class<?> type) {
-        return defaultConstructor(type).isPresent();
+        return HAS_CONSTRUCTOR.get(type);
     }
 
     /**
      * Returns the public no-args constructor, if present.
+     * <p>
+     * Each call returns a new {@link Constructor} instance, so changing its
+     * accessibility does not affect other callers. Types without one are
+     * answered from the cache, without a failed reflective lookup.
      *
      * @param type the class to inspect.
      * @return an optional default constructor.
      */
     public static Optional<Constructor<?>> defaultConstructor(Class<?> type) {
+        return HAS_CONSTRUCTOR.get(type) ? lookupConstructor(type) : Optional.empty();
+    }
+
+    /**
+     * Looks up the no-args constructor of a type.
+     *
+     * @param type the class to inspect.
+     * @return a new instance of the constructor, if declared.
+     */
+    private static Optional<Constructor<?>> lookupConstructor(Class<?> type) {
         try {
             return Optional.of(type.getDeclaredConstructor());
         } catch (NoSuchMethodException e) {
@@ -66,42 +104,31 @@ public final class TypeInspector {
      * Returns the class hierarchy including the given type and its superclasses.
      *
      * @param type the class to inspect.
-     * @return the class hierarchy.
+     * @return the class hierarchy, as an unmodifiable list.
      */
     public static List<Class<?>> hierarchy(Class<?> type) {
-        List<Class<?>> hierarchy = new ArrayList<>();
-        Class<?> current = type;
-
-        while (current != null && current != Object.class) {
-            hierarchy.add(current);
-            current = current.getSuperclass();
-        }
-
-        return hierarchy;
+        return METADATA.get(type).hierarchy();
     }
 
     /**
      * Returns all interfaces implemented by the given type.
      *
      * @param type the class to inspect.
-     * @return a list of interfaces.
+     * @return a list of interfaces, as an unmodifiable list.
      */
     public static List<Class<?>> interfaces(Class<?> type) {
-        List<Class<?>> interfaces = new ArrayList<>();
-        collectInterfaces(type, interfaces);
-        return interfaces;
+        return METADATA.get(type).interfaces();
     }
 
     /**
      * Recursively collects interfaces implemented by the given type.
      *
      * @param type       the class to inspect.
-     * @param interfaces the list to collect interfaces into.
+     * @param interfaces the set to collect interfaces into, in discovery order.
      */
-    private static void collectInterfaces(Class<?> type, List<Class<?>> interfaces) {
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
         for (Class<?> iface : type.getInterfaces()) {
-            if (!interfaces.contains(iface)) {
-                interfaces.add(iface);
+            if (interfaces.add(iface)) {
                 collectInterfaces(iface, interfaces);
             }
         }
@@ -111,4 +138,43 @@ public final class TypeInspector {
             collectInterfaces(superclass, interfaces);
         }
     }
+
+    /**
+     * Reflective metadata of a type, computed once.
+     *
+     * @param hierarchy    the type and its superclasses, excluding {@link Object}.
+     * @param interfaces   all implemented interfaces.
+     * @param instantiable whether the type can be instantiated.
+     */
+    private record Metadata(
+        List<Class<?>> hierarchy,
+        List<Class<?>> interfaces,
+        boolean instantiable
+    ) {
+
+        /**
+         * Computes the metadata of a type.
+         *
+         * @param type the class to inspect.
+         * @return the metadata.
+         */
+        static Metadata of(Class<?> type) {
+            List<Class<?>> hierarchy = new ArrayList<>();
+            Class<?> current = type;
+            while (current != null && current != Object.class) {
+                hierarchy.add(current);
+                current = current.getSuperclass();
+            }
+
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            collectInterfaces(type, interfaces);
+
+            boolean instantiable = isConcrete(type)
+                && !type.isEnum()
+                && !type.isAnnotation()
+                && !type.isPrimitive();
+
+            return new Metadata(List.copyOf(hierarchy), List.copyOf(interfaces), instantiable);
+        }
+    }
 }
@@ -0,0 +1,270 @@
+package dev.rafandoo.cup.reflection.discovery;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the header of class files: the class name, access flags,
+ * superclass, interfaces and runtime-visible class annotations.
+ * <p>
+ * Only the constant pool and the class attributes are interpreted; fields
+ * and methods are skipped, and strings of the constant pool are decoded on
+ * demand. No class is loaded or initialized.
+ */
+@UtilityClass
+final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String ANNOTATIONS_ATTRIBUTE = "RuntimeVisibleAnnotations";
+
+    /**
+     * Reads a class file.
+     *
+     * @param bytes the class file contents.
+     * @return the class description, or {@code null} if the bytes are not a
+     * well-formed class file or describe a module or package descriptor.
+     */
+    static ClassInfo read(byte[] bytes) {
+        try {
+            return parse(bytes);
+        } catch (IndexOutOfBoundsException | IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a class file.
+     *
+     * @param bytes the class file contents.
+     * @return the class description, or {@code null} if it is not a class file.
+     * @throws IOException if a string of the constant pool is malformed.
+     */
+    private static ClassInfo parse(byte[] bytes) throws IOException {
+        if (bytes.length < 10 || readInt(bytes, 0) != MAGIC) {
+            return null;
+        }
+
+        int count = readShort(bytes, 8);
+        int[] offsets = new int[count];
+        int pos = 10;
+        for (int i = 1; i < count; i++) {
+            offsets[i] = pos;
+            int tag = bytes[pos] & 0xFF;
+            pos += switch (tag) {
+                case 1 -> 3 + readShort(bytes, pos + 1);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> 5;
+                case 5, 6 -> 9;
+                case 7, 8, 16, 19, 20 -> 3;
+                case 15 -> 4;
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            };
+            if (tag == 5 || tag == 6) {
+                i++;
+            }
+        }
+
+        int access = readShort(bytes, pos);
+        if ((access & 0x8000) != 0) {
+            return null;
+        }
+        String name = className(bytes, offsets, readShort(bytes, pos + 2));
+        if (name == null || name.endsWith("package-info")) {
+            return null;
+        }
+        String superclass = (access & Modifier.INTERFACE) != 0 ? null : className(bytes, offsets, readShort(bytes, pos + 4));
+
+        int interfaceCount = readShort(bytes, pos + 6);
+        pos += 8;
+        List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(className(bytes, offsets, readShort(bytes, pos)));
+            pos += 2;
+        }
+
+        pos = skipMembers(bytes, pos);
+        pos = skipMembers(bytes, pos);
+
+        List<String> annotations = new ArrayList<>();
+        int attributeCount = readShort(bytes, pos);
+        pos += 2;
+        for (int i = 0; i < attributeCount; i++) {
+            int length = readInt(bytes, pos + 2);
+            if (isUtf8(bytes, offsets, readShort(bytes, pos), ANNOTATIONS_ATTRIBUTE)) {
+                readAnnotations(bytes, offsets, pos + 6, annotations);
+            }
+            pos += 6 + length;
+        }
+
+        return new ClassInfo(name, access, superclass, interfaces, annotations);
+    }
+
+    /**
+     * Skips the fields or methods table.
+     *
+     * @param bytes the class file.
+     * @param pos   the offset of the member count.
+     * @return the offset following the table.
+     */
+    private static int skipMembers(byte[] bytes, int pos) {
+        int count = readShort(bytes, pos);
+        pos += 2;
+        for (int i = 0; i < count; i++) {
+            int attributes = readShort(bytes, pos + 6);
+            pos += 8;
+            for (int j = 0; j < attributes; j++) {
+                pos += 6 + readInt(bytes, pos + 2);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Reads the annotation types of a {@code RuntimeVisibleAnnotations} attribute.
+     *
+     * @param bytes       the class file.
+     * @param offsets     the constant pool offsets.
+     * @param pos         the offset of the annotation count.
+     * @param annotations the list receiving the annotation names.
+     * @throws IOException if a string of the constant pool is malformed.
+     */
+    private static void readAnnotations(byte[] bytes, int[] offsets, int pos, List<String> annotations)
+        throws IOException {
+        int count = readShort(bytes, pos);
+        pos += 2;
+        for (int i = 0; i < count; i++) {
+            String descriptor = utf8(bytes, offsets, readShort(bytes, pos));
+            if (descriptor.length() > 2 && descriptor.charAt(0) == 'L') {
+                annotations.add(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+            }
+            pos = skipAnnotation(bytes, pos);
+        }
+    }
+
+    /**
+     * Skips an annotation structure.
+     *
+     * @param bytes the class file.
+     * @param pos   the offset of the annotation type index.
+     * @return the offset following the annotation.
+     */
+    private static int skipAnnotation(byte[] bytes, int pos) {
+        int pairs = readShort(bytes, pos + 2);
+        pos += 4;
+        for (int i = 0; i < pairs; i++) {
+            pos = skipElementValue(bytes, pos + 2);
+        }
+        return pos;
+    }
+
+    /**
+     * Skips an annotation element value.
+     *
+     * @param bytes the class file.
+     * @param pos   the offset of the value tag.
+     * @return the offset following the value.
+     */
+    private static int skipElementValue(byte[] bytes, int pos) {
+        char tag = (char) bytes[pos];
+        return switch (tag) {
+            case 'e' -> pos + 5;
+            case '@' -> skipAnnotation(bytes, pos + 1);
+            case '[' -> {
+                int count = readShort(bytes, pos + 1);
+                int next = pos + 3;
+                for (int i = 0; i < count; i++) {
+                    next = skipElementValue(bytes, next);
+                }
+                yield next;
+            }
+            default -> pos + 3;
+        };
+    }
+
+    /**
+     * Returns the binary name of a {@code CONSTANT_Class} entry.
+     *
+     * @param bytes   the class file.
+     * @param offsets the constant pool offsets.
+     * @param index   the entry index, or {@code 0}.
+     * @return the class name with dots, or {@code null} for index {@code 0}.
+     * @throws IOException if the name is malformed.
+     */
+    private static String className(byte[] bytes, int[] offsets, int index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        return utf8(bytes, offsets, readShort(bytes, offsets[index] + 1)).replace('/', '.');
+    }
+
+    /**
+     * Decodes a {@code CONSTANT_Utf8} entry.
+     *
+     * @param bytes   the class file.
+     * @param offsets the constant pool offsets.
+     * @param index   the entry index.
+     * @return the decoded string.
+     * @throws IOException if the entry is not valid modified UTF-8.
+     */
+    private static String utf8(byte[] bytes, int[] offsets, int index) throws IOException {
+        int offset = offsets[index];
+        int length = readShort(bytes, offset + 1);
+        int start = offset + 3;
+        for (int i = start; i < start + length; i++) {
+            if (bytes[i] <= 0) {
+                return new DataInputStream(new ByteArrayInputStream(bytes, offset + 1, length + 2)).readUTF();
+            }
+        }
+        return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Checks whether a {@code CONSTANT_Utf8} entry equals an ASCII string.
+     *
+     * @param bytes    the class file.
+     * @param offsets  the constant pool offsets.
+     * @param index    the entry index.
+     * @param expected the ASCII string.
+     * @return {@code true} if both are equal.
+     */
+    private static boolean isUtf8(byte[] bytes, int[] offsets, int index, String expected) {
+        int offset = offsets[index];
+        if (readShort(bytes, offset + 1) != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (bytes[offset + 3 + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads an unsigned big-endian 16-bit value.
+     *
+     * @param bytes the class file.
+     * @param pos   the offset.
+     * @return the value.
+     */
+    private static int readShort(byte[] bytes, int pos) {
+        return (bytes[pos] & 0xFF) << 8 | bytes[pos + 1] & 0xFF;
+    }
+
+    /**
+     * Reads a big-endian 32-bit value.
+     *
+     * @param bytes the class file.
+     * @param pos   the offset.
+     * @return the value.
+     */
+    private static int readInt(byte[] bytes, int pos) {
+        return readShort(bytes, pos) << 16 | readShort(bytes, pos + 2);
+    }
+}
@@ -4,78 +4,95 @@ import lombok.experimental.UtilityClass;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URL;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 
 /**
  * Utility class for discovering classes available in a given package.
  * <p>
- * <strong>Note:</strong> This implementation supports only classes loaded
- * from the filesystem (i.e. exploded directories). Classes packaged inside
- * JAR files are not supported.
+ * Classes are discovered in exploded directories as well as inside JAR
+ * files, including JARs nested in other JARs. Their class files are read
+ * into a {@link ClassIndex} without loading the classes, which can then be
+ * queried by hierarchy or annotation before loading only the classes needed.
+ * <p>
+ * Directories and archives are scanned in parallel. Classpath roots that
+ * carry a build-time index, generated with {@link ClassIndexFile}, are not
+ * scanned at all.
  */
 @UtilityClass
 public final class ClassFinder {
 
     /**
      * Finds all classes located in the specified package and its subpackages.
+     * <p>
+     * The classes are loaded with the context class loader, without being initialized.
      *
      * @param packageName the fully qualified package name.
      * @return a list of discovered classes.
      * @throws IOException if an error occurs while accessing classpath resources.
      */
     public static List<Class<?>> find(String packageName) throws IOException {
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        String path = packageName.replace('.', '/');
-
-        Enumeration<URL> resources = classLoader.getResources(path);
-        List<Class<?>> classes = new ArrayList<>();
+        ClassIndex index = index(packageName);
+        return index.load(index.classes());
+    }
 
-        while (resources.hasMoreElements()) {
-            URL resource = resources.nextElement();
-            File directory = new File(resource.getFile());
+    /**
+     * Builds an index of the classes located in the specified packages and
+     * their subpackages, using the context class loader.
+     *
+     * @param packageNames the fully qualified package names.
+     * @return the index of the discovered classes.
+     * @throws IOException if an error occurs while accessing classpath resources.
+     */
+    public static ClassIndex index(String... packageNames) throws IOException {
+        return index(Thread.currentThread().getContextClassLoader(), packageNames);
+    }
 
-            if (directory.exists() && directory.isDirectory()) {
-                classes.addAll(scanDirectory(directory, packageName));
-            }
+    /**
+     * Builds an index of the classes located in the specified packages and
+     * their subpackages.
+     *
+     * @param classLoader  the class loader whose classpath is scanned.
+     * @param packageNames the fully qualified package names.
+     * @return the index of the discovered classes.
+     * @throws IOException if an error occurs while accessing classpath resources.
+     */
+    public static ClassIndex index(ClassLoader classLoader, String... packageNames) throws IOException {
+        ClassScanner scanner = new ClassScanner();
+        for (String packageName : packageNames) {
+            scanner.scan(classLoader, packageName);
         }
-
-        return classes;
+        return new ClassIndex(scanner.classes(), classLoader);
     }
 
     /**
-     * Recursively scans a directory to locate {@code .class} files
-     * and load them as Java classes.
+     * Scans a directory of compiled classes and loads the classes of the
+     * given package with the context class loader, without initializing them.
+     * <p>
+     * The directory is scanned in parallel and class names are read from the
+     * class files, as {@link #index(String...)} does for classpath roots.
      *
      * @param directory   the directory to scan.
-     * @param packageName the current package name.
+     * @param packageName the package name of the directory, or an empty string for a classpath root.
      * @return a list of discovered classes.
+     * @throws UncheckedIOException if the directory cannot be read.
      */
     public static List<Class<?>> scanDirectory(File directory, String packageName) {
-        List<Class<?>> classes = new ArrayList<>();
-
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return classes;
+        List<ClassInfo> scanned;
+        try {
+            scanned = ClassScanner.scanDirectory(directory.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error scanning directory " + directory, e);
         }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                classes.addAll(
-                    scanDirectory(file, packageName + "." + file.getName())
-                );
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + '.' + file.getName().replaceAll("\\.class$", "");
-
-                try {
-                    classes.add(Class.forName(className));
-                } catch (ClassNotFoundException ignored) {
-                }
+        String prefix = packageName.isEmpty() ? "" : packageName + '.';
+        List<ClassInfo> classes = new ArrayList<>(scanned.size());
+        for (ClassInfo info : scanned) {
+            if (info.name().startsWith(prefix)) {
+                classes.add(info);
             }
         }
-
-        return classes;
+        return new ClassIndex(classes, Thread.currentThread().getContextClassLoader()).load(classes);
     }
 }
@@ -0,0 +1,222 @@
+package dev.rafandoo.cup.reflection.discovery;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the classes of one or more packages, built from their
+ * class files without loading them.
+ * <p>
+ * The index answers hierarchy and annotation queries by name, so that only
+ * the classes actually selected need to be loaded with {@link #load(Collection)}.
+ * Supertypes declared outside the indexed packages (for example library or
+ * JDK classes) are resolved on demand by reading their class files through
+ * the class loader, again without loading them.
+ * <p>
+ * Instances are created by {@link ClassFinder#index(String...)} and can be
+ * shared between threads.
+ */
+public final class ClassIndex {
+
+    private final Map<String, ClassInfo> classes;
+    private final ClassLoader classLoader;
+
+    /**
+     * Descriptions of supertypes outside the index, read on demand.
+     */
+    private final Map<String, Optional<ClassInfo>> external = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index.
+     *
+     * @param classes     the indexed classes.
+     * @param classLoader the class loader used to resolve outside types and load classes.
+     */
+    ClassIndex(Collection<ClassInfo> classes, ClassLoader classLoader) {
+        Map<String, ClassInfo> map = new LinkedHashMap<>();
+        for (ClassInfo info : classes) {
+            map.putIfAbsent(info.name(), info);
+        }
+        this.classes = Collections.unmodifiableMap(map);
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the number of indexed classes.
+     *
+     * @return the class count.
+     */
+    public int size() {
+        return this.classes.size();
+    }
+
+    /**
+     * Returns all indexed classes.
+     *
+     * @return an unmodifiable view of the class descriptions, in discovery order.
+     */
+    public Collection<ClassInfo> classes() {
+        return this.classes.values();
+    }
+
+    /**
+     * Returns an indexed class by name.
+     *
+     * @param name the binary class name.
+     * @return the class description, if indexed.
+     */
+    public Optional<ClassInfo> get(String name) {
+        return Optional.ofNullable(this.classes.get(name));
+    }
+
+    /**
+     * Returns the indexed classes assignable to a type, that is, the type
+     * itself and all classes extending or implementing it, directly or not.
+     *
+     * @param typeName the binary name of the class or interface.
+     * @return the matching class descriptions, in discovery order.
+     */
+    public List<ClassInfo> assignableTo(String typeName) {
+        Map<String, Boolean> resolved = new HashMap<>();
+        List<ClassInfo> result = new ArrayList<>();
+        for (ClassInfo info : this.classes.values()) {
+            if (this.isSubtype(info.name(), typeName, resolved)) {
+                result.add(info);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indexed classes assignable to a type.
+     *
+     * @param type the class or interface.
+     * @return the matching class descriptions, in discovery order.
+     * @see #assignableTo(String)
+     */
+    public List<ClassInfo> assignableTo(Class<?> type) {
+        return this.assignableTo(type.getName());
+    }
+
+    /**
+     * Returns the indexed classes directly annotated with an annotation of runtime retention.
+     * <p>
+     * Annotations inherited from superclasses through
+     * {@link java.lang.annotation.Inherited} are not considered.
+     *
+     * @param annotationName the binary name of the annotation type.
+     * @return the matching class descriptions, in discovery order.
+     */
+    public List<ClassInfo> annotatedWith(String annotationName) {
+        List<ClassInfo> result = new ArrayList<>();
+        for (ClassInfo info : this.classes.values()) {
+            if (info.annotations().contains(annotationName)) {
+                result.add(info);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indexed classes directly annotated with an annotation.
+     *
+     * @param annotation the annotation type.
+     * @return the matching class descriptions, in discovery order.
+     * @see #annotatedWith(String)
+     */
+    public List<ClassInfo> annotatedWith(Class<? extends Annotation> annotation) {
+        return this.annotatedWith(annotation.getName());
+    }
+
+    /**
+     * Loads classes without initializing them.
+     * <p>
+     * Classes that cannot be loaded, for example because a dependency is
+     * missing from the classpath, are skipped.
+     *
+     * @param infos the class descriptions.
+     * @return the loaded classes, in the given order.
+     */
+    public List<Class<?>> load(Collection<ClassInfo> infos) {
+        List<Class<?>> loaded = new ArrayList<>(infos.size());
+        for (ClassInfo info : infos) {
+            try {
+                loaded.add(Class.forName(info.name(), false, this.classLoader));
+            } catch (ClassNotFoundException | LinkageError ignored) {
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Checks whether a class is a subtype of another, following superclasses
+     * and interfaces through indexed and outside types.
+     *
+     * @param name     the binary name of the class, or {@code null}.
+     * @param target   the binary name of the supertype.
+     * @param resolved the memoized results of the current query.
+     * @return {@code true} if {@code name} is {@code target} or one of its subtypes.
+     */
+    private boolean isSubtype(String name, String target, Map<String, Boolean> resolved) {
+        if (name == null) {
+            return false;
+        }
+        if (name.equals(target)) {
+            return true;
+        }
+        Boolean known = resolved.get(name);
+        if (known != null) {
+            return known;
+        }
+
+        resolved.put(name, false);
+        boolean result = false;
+        ClassInfo info = this.describe(name);
+        if (info != null) {
+            result = this.isSubtype(info.superclass(), target, resolved);
+            for (int i = 0; !result && i < info.interfaces().size(); i++) {
+                result = this.isSubtype(info.interfaces().get(i), target, resolved);
+            }
+        }
+        resolved.put(name, result);
+        return result;
+    }
+
+    /**
+     * Returns the description of a type, indexed or read from the class loader.
+     *
+     * @param name the binary class name.
+     * @return the class description, or {@code null} if its class file cannot be found.
+     */
+    private ClassInfo describe(String name) {
+        ClassInfo info = this.classes.get(name);
+        if (info != null) {
+            return info;
+        }
+        return this.external.computeIfAbsent(name, this::read).orElse(null);
+    }
+
+    /**
+     * Reads the class file of a type outside the index.
+     *
+     * @param name the binary class name.
+     * @return the class description, if its class file is found.
+     */
+    private Optional<ClassInfo> read(String name) {
+        try (InputStream input = this.classLoader.getResourceAsStream(name.replace('.', '/') + ".class")) {
+            return input == null ? Optional.empty() : Optional.ofNullable(ClassFileReader.read(input.readAllBytes()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+}
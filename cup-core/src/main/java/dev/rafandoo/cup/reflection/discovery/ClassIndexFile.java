@@ -0,0 +1,156 @@
+package dev.rafandoo.cup.reflection.discovery;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes build-time class indexes.
+ * <p>
+ * A class index lists the headers of every class of a classpath root. When
+ * a directory or JAR contains one at {@link #RESOURCE}, {@link ClassFinder}
+ * reads it instead of scanning the root, which makes discovery at startup
+ * independent of the number of class files.
+ * <p>
+ * The index is generated after compilation by running this class with the
+ * classes output directory as argument, for example with Gradle:
+ * <pre>
+ * tasks.register('classIndex', JavaExec) {
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     mainClass = 'dev.rafandoo.cup.reflection.discovery.ClassIndexFile'
+ *     args sourceSets.main.java.destinationDirectory.get().asFile
+ * }
+ * tasks.named('classes') { finalizedBy 'classIndex' }
+ * </pre>
+ * The index must be regenerated whenever classes change; a stale index
+ * hides the classes added since it was written.
+ */
+@UtilityClass
+public final class ClassIndexFile {
+
+    /**
+     * Location of the index relative to a classpath root.
+     */
+    public static final String RESOURCE = "META-INF/cup/class-index";
+
+    private static final String HEADER = "# cup class index 1";
+    private static final char SEPARATOR = '\t';
+    private static final String LIST_SEPARATOR = ",";
+
+    /**
+     * Generates the index of a classes directory, as the build task does.
+     *
+     * @param args the classes directory.
+     * @throws IOException if the directory cannot be scanned or the index cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ClassIndexFile <classes directory>");
+        }
+        generate(Path.of(args[0]));
+    }
+
+    /**
+     * Scans a classes directory and writes its index to {@link #RESOURCE} inside it.
+     *
+     * @param classesDirectory the root directory of compiled classes.
+     * @return the path of the written index.
+     * @throws IOException if the directory cannot be scanned or the index cannot be written.
+     */
+    public static Path generate(Path classesDirectory) throws IOException {
+        List<ClassInfo> classes = ClassScanner.scanDirectory(classesDirectory);
+        Path file = classesDirectory.resolve(RESOURCE);
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(classes, writer);
+        }
+        return file;
+    }
+
+    /**
+     * Writes an index.
+     *
+     * @param classes the classes to list.
+     * @param writer  the destination; not closed.
+     * @throws IOException if an error occurs while writing.
+     */
+    public static void write(Collection<ClassInfo> classes, Writer writer) throws IOException {
+        BufferedWriter out = writer instanceof BufferedWriter buffered ? buffered : new BufferedWriter(writer);
+        out.write(HEADER);
+        out.write('\n');
+        for (ClassInfo info : classes) {
+            out.write(info.name());
+            out.write(SEPARATOR);
+            out.write(Integer.toHexString(info.modifiers()));
+            out.write(SEPARATOR);
+            out.write(info.superclass() == null ? "" : info.superclass());
+            out.write(SEPARATOR);
+            out.write(String.join(LIST_SEPARATOR, info.interfaces()));
+            out.write(SEPARATOR);
+            out.write(String.join(LIST_SEPARATOR, info.annotations()));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads an index.
+     *
+     * @param input the index contents; not closed.
+     * @return the listed classes, in index order.
+     * @throws IOException if an error occurs while reading or the index is malformed.
+     */
+    public static List<ClassInfo> read(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (!HEADER.equals(header)) {
+            throw new IOException("Unsupported class index format: " + header);
+        }
+
+        List<ClassInfo> classes = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+            if (fields.length != 5) {
+                throw new IOException("Malformed class index line: " + line);
+            }
+            try {
+                classes.add(new ClassInfo(
+                    fields[0],
+                    Integer.parseInt(fields[1], 16),
+                    fields[2].isEmpty() ? null : fields[2],
+                    names(fields[3]),
+                    names(fields[4])
+                ));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed class index line: " + line, e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Splits a list of names.
+     *
+     * @param value the comma-separated names.
+     * @return the names, or an empty list.
+     */
+    private static List<String> names(String value) {
+        return value.isEmpty() ? List.of() : Arrays.asList(value.split(LIST_SEPARATOR));
+    }
+}
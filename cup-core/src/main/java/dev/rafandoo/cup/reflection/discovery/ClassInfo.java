@@ -0,0 +1,92 @@
+package dev.rafandoo.cup.reflection.discovery;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Description of a class read from its class file, without loading it.
+ * <p>
+ * All names are binary names, as returned by {@link Class#getName()}
+ * (for example {@code com.example.Outer$Inner}).
+ *
+ * @param name        the class name.
+ * @param modifiers   the access flags of the class file.
+ * @param superclass  the superclass name, or {@code null} for {@code java.lang.Object} and interfaces,
+ *                    as {@link Class#getSuperclass()}.
+ * @param interfaces  the names of the directly implemented interfaces.
+ * @param annotations the names of the annotations directly present on the class with runtime retention.
+ */
+public record ClassInfo(
+    String name,
+    int modifiers,
+    String superclass,
+    List<String> interfaces,
+    List<String> annotations
+) {
+
+    private static final int ANNOTATION = 0x2000;
+    private static final int ENUM = 0x4000;
+
+    /**
+     * Creates a description, copying the name lists.
+     */
+    public ClassInfo {
+        interfaces = List.copyOf(interfaces);
+        annotations = List.copyOf(annotations);
+    }
+
+    /**
+     * Returns the package name of the class.
+     *
+     * @return the package name, or an empty string for the unnamed package.
+     */
+    public String packageName() {
+        int dot = this.name.lastIndexOf('.');
+        return dot < 0 ? "" : this.name.substring(0, dot);
+    }
+
+    /**
+     * Checks whether the class is an interface, including annotation types.
+     *
+     * @return {@code true} for interfaces.
+     */
+    public boolean isInterface() {
+        return Modifier.isInterface(this.modifiers);
+    }
+
+    /**
+     * Checks whether the class is abstract; interfaces are always abstract.
+     *
+     * @return {@code true} for abstract classes and interfaces.
+     */
+    public boolean isAbstract() {
+        return Modifier.isAbstract(this.modifiers);
+    }
+
+    /**
+     * Checks whether the class is an annotation type.
+     *
+     * @return {@code true} for annotation types.
+     */
+    public boolean isAnnotation() {
+        return (this.modifiers & ANNOTATION) != 0;
+    }
+
+    /**
+     * Checks whether the class is an enum.
+     *
+     * @return {@code true} for enums.
+     */
+    public boolean isEnum() {
+        return (this.modifiers & ENUM) != 0;
+    }
+
+    /**
+     * Checks whether the class is concrete, as {@link dev.rafandoo.cup.reflection.TypeInspector#isConcrete(Class)}.
+     *
+     * @return {@code true} if the class is neither an interface nor abstract.
+     */
+    public boolean isConcrete() {
+        return !this.isInterface() && !this.isAbstract();
+    }
+}
@@ -0,0 +1,369 @@
+package dev.rafandoo.cup.reflection.discovery;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Collects the class files of a package from classpath resources, reading
+ * their headers with {@link ClassFileReader}.
+ * <p>
+ * Exploded directories, JAR files and JARs nested inside other JARs (such
+ * as {@code jar:file:/app.jar!/lib/library.jar!/com/example}) are
+ * supported. Directories are traversed and class files are parsed in
+ * parallel on the common fork/join pool. When a classpath root contains a
+ * build-time index ({@link ClassIndexFile#RESOURCE}), the index is read
+ * instead of scanning the root.
+ * <p>
+ * When the same class is found more than once, the first occurrence wins,
+ * following classpath order.
+ */
+final class ClassScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JAR_SEPARATOR = "!/";
+
+    private final Map<String, ClassInfo> classes = new LinkedHashMap<>();
+
+    /**
+     * Scans every classpath location of a package.
+     *
+     * @param classLoader the class loader whose resources are scanned.
+     * @param packageName the fully qualified package name.
+     * @throws IOException if an error occurs while reading classpath resources.
+     */
+    void scan(ClassLoader classLoader, String packageName) throws IOException {
+        String path = packageName.replace('.', '/');
+        Enumeration<URL> resources = classLoader.getResources(path);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            List<ClassInfo> found = indexed(resource, path, packageName);
+            if (found == null) {
+                found = scan(resource, path);
+            }
+            for (ClassInfo info : found) {
+                this.classes.putIfAbsent(info.name(), info);
+            }
+        }
+    }
+
+    /**
+     * Returns the classes found so far.
+     *
+     * @return the class descriptions, in discovery order.
+     */
+    Collection<ClassInfo> classes() {
+        return this.classes.values();
+    }
+
+    /**
+     * Scans a directory tree in parallel.
+     *
+     * @param directory the directory.
+     * @return the classes found, in a stable order.
+     * @throws IOException if the directory cannot be read.
+     */
+    static List<ClassInfo> scanDirectory(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try {
+            return new DirectoryTask(directory).invoke();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the classes of a package from the build-time index of its classpath root.
+     *
+     * @param resource    the URL of the package directory.
+     * @param path        the package path, with slashes.
+     * @param packageName the package name.
+     * @return the indexed classes of the package, or {@code null} if the root has no index.
+     * @throws IOException if the index exists but cannot be read.
+     */
+    private static List<ClassInfo> indexed(URL resource, String path, String packageName) throws IOException {
+        String location = resource.toString();
+        if (!location.endsWith("/")) {
+            location += '/';
+        }
+        String suffix = path.isEmpty() ? "" : path + '/';
+        if (!location.endsWith(suffix)) {
+            return null;
+        }
+
+        URL index;
+        try {
+            index = URI.create(location.substring(0, location.length() - suffix.length()) + ClassIndexFile.RESOURCE).toURL();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        InputStream input;
+        try {
+            input = index.openStream();
+        } catch (IOException e) {
+            // No index, or a location the URL handler cannot open directly (such as a nested JAR)
+            return null;
+        }
+
+        String prefix = packageName.isEmpty() ? "" : packageName + '.';
+        try (input) {
+            List<ClassInfo> found = new ArrayList<>();
+            for (ClassInfo info : ClassIndexFile.read(input)) {
+                if (info.name().startsWith(prefix)) {
+                    found.add(info);
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Scans a single location of a package.
+     *
+     * @param resource the URL of the package directory.
+     * @param path     the package path, with slashes.
+     * @return the classes found.
+     * @throws IOException if an error occurs while reading the location.
+     */
+    private static List<ClassInfo> scan(URL resource, String path) throws IOException {
+        return switch (resource.getProtocol()) {
+            case "file" -> scanDirectory(toPath(resource.toString()));
+            case "jar" -> scanJar(resource, path);
+            // Other protocols (such as application server virtual file systems) are not supported
+            default -> List.of();
+        };
+    }
+
+    /**
+     * Scans the package inside a JAR, possibly nested in other JARs.
+     *
+     * @param resource the {@code jar:} URL of the package.
+     * @param path     the package path, with slashes.
+     * @return the classes found.
+     * @throws IOException if a JAR cannot be read.
+     */
+    private static List<ClassInfo> scanJar(URL resource, String path) throws IOException {
+        String[] parts = resource.toString().substring("jar:".length()).split(JAR_SEPARATOR);
+        String prefix = path.isEmpty() ? "" : path + '/';
+
+        if (!parts[0].startsWith("file:")) {
+            JarURLConnection connection = (JarURLConnection) resource.openConnection();
+            return scanZip(connection.getJarFile(), prefix);
+        }
+
+        try (ZipFile zip = new ZipFile(toPath(parts[0]).toFile())) {
+            if (parts.length <= 2) {
+                return scanZip(zip, prefix);
+            }
+            ZipEntry nested = zip.getEntry(parts[1]);
+            if (nested == null) {
+                return List.of();
+            }
+            List<byte[]> files = new ArrayList<>();
+            try (InputStream input = zip.getInputStream(nested)) {
+                readNested(input, parts, 2, prefix, files);
+            }
+            return files.parallelStream()
+                .map(ClassFileReader::read)
+                .filter(Objects::nonNull)
+                .toList();
+        }
+    }
+
+    /**
+     * Reads and parses the class entries of an open archive in parallel.
+     *
+     * @param zip    the archive.
+     * @param prefix the package path prefix of the entries to read.
+     * @return the classes found, in entry order.
+     * @throws IOException if an entry cannot be read.
+     */
+    private static List<ClassInfo> scanZip(ZipFile zip, String prefix) throws IOException {
+        List<ZipEntry> entries = new ArrayList<>();
+        Enumeration<? extends ZipEntry> all = zip.entries();
+        while (all.hasMoreElements()) {
+            ZipEntry entry = all.nextElement();
+            if (isClassEntry(entry, prefix)) {
+                entries.add(entry);
+            }
+        }
+
+        try {
+            return entries.parallelStream()
+                .map(entry -> ClassFileReader.read(readEntry(zip, entry)))
+                .filter(Objects::nonNull)
+                .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the class files of an archive read as a stream, descending into
+     * the next nested archive of the URL path until the last one is reached.
+     *
+     * @param input  the archive contents.
+     * @param parts  the segments of the {@code jar:} URL.
+     * @param index  the segment naming the next nested archive, or the package path.
+     * @param prefix the package path prefix of the entries to read.
+     * @param files  the list receiving the class file contents.
+     * @throws IOException if the archive cannot be read.
+     */
+    private static void readNested(InputStream input, String[] parts, int index, String prefix, List<byte[]> files)
+        throws IOException {
+        ZipInputStream zip = new ZipInputStream(input);
+        boolean last = index >= parts.length - 1;
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!last && entry.getName().equals(parts[index])) {
+                readNested(zip, parts, index + 1, prefix, files);
+                return;
+            }
+            if (last && isClassEntry(entry, prefix)) {
+                files.add(zip.readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * Reads an archive entry.
+     *
+     * @param zip   the archive.
+     * @param entry the entry.
+     * @return the entry contents.
+     * @throws UncheckedIOException if the entry cannot be read.
+     */
+    private static byte[] readEntry(ZipFile zip, ZipEntry entry) {
+        try (InputStream input = zip.getInputStream(entry)) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading " + entry.getName() + " from " + zip.getName(), e);
+        }
+    }
+
+    /**
+     * Checks whether an archive entry is a class file of the package.
+     *
+     * @param entry  the entry.
+     * @param prefix the package path prefix.
+     * @return {@code true} if the entry should be read.
+     */
+    private static boolean isClassEntry(ZipEntry entry, String prefix) {
+        String name = entry.getName();
+        return !entry.isDirectory() && name.startsWith(prefix) && isClassFile(name);
+    }
+
+    /**
+     * Checks whether a file name denotes a class, excluding module descriptors.
+     *
+     * @param name the file or entry name.
+     * @return {@code true} for class files.
+     */
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_SUFFIX) && !name.endsWith("module-info.class");
+    }
+
+    /**
+     * Converts a {@code file:} URL to a path.
+     *
+     * @param url the URL.
+     * @return the path.
+     * @throws IOException if the URL is malformed.
+     */
+    private static Path toPath(String url) throws IOException {
+        try {
+            return Path.of(new URI(url));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Invalid classpath location: " + url, e);
+        }
+    }
+
+    /**
+     * Scans a directory, forking a subtask for each subdirectory and parsing
+     * its own class files while the subtasks run.
+     */
+    @SuppressWarnings("serial")
+    private static final class DirectoryTask extends RecursiveTask<List<ClassInfo>> {
+
+        private final Path directory;
+
+        /**
+         * Creates a task.
+         *
+         * @param directory the directory to scan.
+         */
+        private DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected List<ClassInfo> compute() {
+            List<Path> files = new ArrayList<>();
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(this.directory)) {
+                for (Path child : children) {
+                    if (Files.isDirectory(child)) {
+                        subdirectories.add(new DirectoryTask(child));
+                    } else if (isClassFile(child.getFileName().toString())) {
+                        files.add(child);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error scanning directory " + this.directory, e);
+            }
+            files.sort(null);
+            subdirectories.sort((a, b) -> a.directory.compareTo(b.directory));
+
+            for (DirectoryTask task : subdirectories) {
+                task.fork();
+            }
+            List<ClassInfo> result = new ArrayList<>(files.size());
+            for (Path file : files) {
+                ClassInfo info = ClassFileReader.read(readFile(file));
+                if (info != null) {
+                    result.add(info);
+                }
+            }
+            for (DirectoryTask task : subdirectories) {
+                result.addAll(task.join());
+            }
+            return result;
+        }
+
+        /**
+         * Reads a class file.
+         *
+         * @param file the file.
+         * @return the file contents.
+         * @throws UncheckedIOException if the file cannot be read.
+         */
+        private static byte[] readFile(Path file) {
+            try {
+                return Files.readAllBytes(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading class file " + file, e);
+            }
+        }
+    }
+}
@@ -6,10 +6,11 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 
-import dev.rafandoo.cup.reflection.TypeInspector;
-
 /**
  * Utility class for finding classes that implement a specific interface.
+ * <p>
+ * Candidates are selected from a {@link ClassIndex}, so only the matching
+ * classes are loaded.
  */
 @Slf4j
 @UtilityClass
@@ -29,11 +30,12 @@ public final class InterfaceFinder {
         List<Class<? extends T>> implementations = new ArrayList<>();
 
         try {
-            for (Class<?> candidate : ClassFinder.find(packageName)) {
-                if (
-                    interfaceType.isAssignableFrom(candidate)
-                    && TypeInspector.isConcrete(candidate)
-                ) {
+            ClassIndex index = ClassFinder.index(packageName);
+            List<ClassInfo> candidates = index.assignableTo(interfaceType).stream()
+                .filter(ClassInfo::isConcrete)
+                .toList();
+            for (Class<?> candidate : index.load(candidates)) {
+                if (interfaceType.isAssignableFrom(candidate)) {
                     @SuppressWarnings("unchecked")
                     Class<? extends T> impl = (Class<? extends T>) candidate;
                     implementations.add(impl);
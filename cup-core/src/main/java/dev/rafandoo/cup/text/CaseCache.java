@@ -0,0 +1,220 @@
+package dev.rafandoo.cup.text;
+
+/**
+ * Memoizing front end for the {@link StringCase} conversions.
+ * <p>
+ * Each conversion keeps its own bounded, concurrent cache keyed by the input
+ * string, so converting the same identifiers over and over (for example
+ * property names during serialization) becomes a hash lookup. When a cache is
+ * full, entries that were not used recently are evicted first.
+ * <p>
+ * Results are always identical to the corresponding {@link StringCase}
+ * method. {@code null} inputs and inputs longer than
+ * {@link #MAX_CACHED_LENGTH} characters are converted without being cached.
+ * <p>
+ * Example:
+ * <pre>
+ * String column = StringCase.cached().toSnakeCase("createdAt"); // "created_at"
+ * </pre>
+ * Instances are thread-safe.
+ */
+public final class CaseCache {
+
+    /**
+     * Default maximum number of entries per conversion.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    /**
+     * Inputs longer than this are not cached.
+     */
+    public static final int MAX_CACHED_LENGTH = 256;
+
+    private final ClockCache<String, String> titleCase;
+    private final ClockCache<String, String> capitalized;
+    private final ClockCache<String, String> camelCase;
+    private final ClockCache<String, String> pascalCase;
+    private final ClockCache<String, String> snakeCase;
+    private final ClockCache<String, String> kebabCase;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of entries per conversion.
+     */
+    private CaseCache(int maximumSize) {
+        this.titleCase = new ClockCache<>(maximumSize);
+        this.capitalized = new ClockCache<>(maximumSize);
+        this.camelCase = new ClockCache<>(maximumSize);
+        this.pascalCase = new ClockCache<>(maximumSize);
+        this.snakeCase = new ClockCache<>(maximumSize);
+        this.kebabCase = new ClockCache<>(maximumSize);
+    }
+
+    /**
+     * Creates a new cache holding up to the given number of entries per conversion.
+     *
+     * @param maximumSize the maximum number of entries per conversion.
+     * @return a new, empty cache.
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+     */
+    public static CaseCache of(int maximumSize) {
+        return new CaseCache(maximumSize);
+    }
+
+    /**
+     * Returns the shared cache used by {@link StringCase#cached()}.
+     *
+     * @return the shared instance.
+     */
+    static CaseCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Cached {@link StringCase#toTitleCase(String)}.
+     *
+     * @param str the string to convert.
+     * @return the string in title case.
+     */
+    public String toTitleCase(String str) {
+        return isCacheable(str) ? this.titleCase.get(str, StringCase::toTitleCase) : StringCase.toTitleCase(str);
+    }
+
+    /**
+     * Cached {@link StringCase#capitalize(String)}.
+     *
+     * @param str the string to capitalize.
+     * @return the capitalized string.
+     */
+    public String capitalize(String str) {
+        return isCacheable(str) ? this.capitalized.get(str, StringCase::capitalize) : StringCase.capitalize(str);
+    }
+
+    /**
+     * Cached {@link StringCase#toCamelCase(String)}.
+     *
+     * @param str the string to convert.
+     * @return the string in camelCase.
+     */
+    public String toCamelCase(String str) {
+        return isCacheable(str) ? this.camelCase.get(str, StringCase::toCamelCase) : StringCase.toCamelCase(str);
+    }
+
+    /**
+     * Cached {@link StringCase#toPascalCase(String)}.
+     *
+     * @param str the string to convert.
+     * @return the string in PascalCase.
+     */
+    public String toPascalCase(String str) {
+        return isCacheable(str) ? this.pascalCase.get(str, StringCase::toPascalCase) : StringCase.toPascalCase(str);
+    }
+
+    /**
+     * Cached {@link StringCase#toSnakeCase(String)}.
+     *
+     * @param str the string to convert.
+     * @return the string in snake_case.
+     */
+    public String toSnakeCase(String str) {
+        return isCacheable(str) ? this.snakeCase.get(str, StringCase::toSnakeCase) : StringCase.toSnakeCase(str);
+    }
+
+    /**
+     * Cached {@link StringCase#toKebabCase(String)}.
+     *
+     * @param str the string to convert.
+     * @return the string in kebab-case.
+     */
+    public String toKebabCase(String str) {
+        return isCacheable(str) ? this.kebabCase.get(str, StringCase::toKebabCase) : StringCase.toKebabCase(str);
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics, summed over all conversions.
+     *
+     * @return the statistics.
+     */
+    public Stats stats() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        int size = 0;
+        for (ClockCache<?, ?> cache : this.caches()) {
+            hits += cache.hits();
+            misses += cache.misses();
+            evictions += cache.evictions();
+            size += cache.size();
+        }
+        return new Stats(hits, misses, evictions, size);
+    }
+
+    /**
+     * Removes all cached conversions. Statistics are kept.
+     */
+    public void clear() {
+        for (ClockCache<?, ?> cache : this.caches()) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the per-conversion caches.
+     *
+     * @return the caches.
+     */
+    private ClockCache<?, ?>[] caches() {
+        return new ClockCache<?, ?>[]{
+            this.titleCase, this.capitalized, this.camelCase, this.pascalCase, this.snakeCase, this.kebabCase
+        };
+    }
+
+    /**
+     * Checks whether a conversion input is eligible for caching.
+     *
+     * @param str the input.
+     * @return {@code true} if the input is non-null and short enough.
+     */
+    private static boolean isCacheable(String str) {
+        return str != null && str.length() <= MAX_CACHED_LENGTH;
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hits      the number of conversions answered from the cache.
+     * @param misses    the number of conversions that had to be computed.
+     * @param evictions the number of entries evicted to make room for new ones.
+     * @param size      the number of cached entries.
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        /**
+         * Returns the number of cached lookups.
+         *
+         * @return the sum of hits and misses.
+         */
+        public long requests() {
+            return this.hits + this.misses;
+        }
+
+        /**
+         * Returns the fraction of lookups answered from the cache.
+         *
+         * @return the hit rate between {@code 0.0} and {@code 1.0}, or {@code 1.0} if there were no lookups.
+         */
+        public double hitRate() {
+            long requests = this.requests();
+            return requests == 0 ? 1.0 : (double) this.hits / requests;
+        }
+    }
+
+    /**
+     * Lazily initialized holder of the shared instance.
+     */
+    private static final class Shared {
+
+        private static final CaseCache INSTANCE = new CaseCache(DEFAULT_MAXIMUM_SIZE);
+    }
+}
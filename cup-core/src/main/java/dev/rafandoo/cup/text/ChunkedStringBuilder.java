@@ -0,0 +1,585 @@
+package dev.rafandoo.cup.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Text builder that stores its content in fixed-size chunks instead of one
+ * contiguous array, for assembling very large texts.
+ * <p>
+ * Appending never copies what was already written: when the current chunk
+ * is full, a new one is started. Chunks hold Latin-1 text in one byte per
+ * character and switch to two bytes per character only when a wider
+ * character is appended to them. The content can be streamed to a
+ * {@link Writer} or {@link OutputStream} chunk by chunk, without ever
+ * materializing it as a single {@link String}; ASCII chunks are written to
+ * UTF-8, US-ASCII and ISO-8859-1 streams without encoding.
+ * <p>
+ * Chunk arrays are pooled: {@link #release()} returns them to a bounded,
+ * shared pool that later builders draw from, so generating many large
+ * texts in a row does not reallocate them.
+ * <p>
+ * Example:
+ * <pre>
+ * ChunkedStringBuilder report = new ChunkedStringBuilder();
+ * for (Row row : rows) {
+ *     Strings.join(report, ";", row.values()).append('\n');
+ * }
+ * report.writeTo(output, StandardCharsets.UTF_8);
+ * report.release();
+ * </pre>
+ * Instances are not thread-safe.
+ */
+public final class ChunkedStringBuilder implements Appendable, CharSequence {
+
+    /**
+     * Number of characters per chunk.
+     */
+    static final int CHUNK_SIZE = 1 << 13;
+
+    private static final int CHUNK_SHIFT = 13;
+
+    /**
+     * Maximum number of arrays kept by each pool.
+     */
+    private static final int POOL_CAPACITY = 256;
+
+    private static final Pool<byte[]> LATIN1_POOL = new Pool<>();
+    private static final Pool<char[]> UTF16_POOL = new Pool<>();
+
+    private Chunk[] chunks = new Chunk[8];
+    private int chunkCount;
+    private int length;
+
+    /**
+     * Creates an empty builder.
+     */
+    public ChunkedStringBuilder() {
+    }
+
+    /**
+     * Appends a character.
+     *
+     * @param c the character.
+     * @return this builder.
+     */
+    @Override
+    public ChunkedStringBuilder append(char c) {
+        Chunk chunk = this.writableChunk(1);
+        chunk.append(c);
+        this.length++;
+        return this;
+    }
+
+    /**
+     * Appends a character sequence; {@code null} appends {@code "null"}.
+     *
+     * @param csq the character sequence.
+     * @return this builder.
+     */
+    @Override
+    public ChunkedStringBuilder append(CharSequence csq) {
+        CharSequence value = csq == null ? "null" : csq;
+        return this.append(value, 0, value.length());
+    }
+
+    /**
+     * Appends a part of a character sequence; {@code null} appends part of {@code "null"}.
+     *
+     * @param csq   the character sequence.
+     * @param start the start index (inclusive).
+     * @param end   the end index (exclusive).
+     * @return this builder.
+     * @throws IndexOutOfBoundsException if the range is invalid.
+     */
+    @Override
+    public ChunkedStringBuilder append(CharSequence csq, int start, int end) {
+        CharSequence value = csq == null ? "null" : csq;
+        Objects.checkFromToIndex(start, end, value.length());
+        if (value instanceof ChunkedStringBuilder other) {
+            return this.appendChunks(other, start, end);
+        }
+
+        int i = start;
+        while (i < end) {
+            Chunk chunk = this.writableChunk(end - i);
+            int count = Math.min(end - i, CHUNK_SIZE - chunk.length);
+            chunk.append(value, i, i + count);
+            this.length += count;
+            i += count;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the string representation of an object.
+     *
+     * @param obj the object.
+     * @return this builder.
+     */
+    public ChunkedStringBuilder append(Object obj) {
+        return this.append(String.valueOf(obj));
+    }
+
+    /**
+     * Appends the decimal representation of an {@code int}.
+     *
+     * @param value the value.
+     * @return this builder.
+     */
+    public ChunkedStringBuilder append(int value) {
+        return this.append(Integer.toString(value));
+    }
+
+    /**
+     * Appends the decimal representation of a {@code long}.
+     *
+     * @param value the value.
+     * @return this builder.
+     */
+    public ChunkedStringBuilder append(long value) {
+        return this.append(Long.toString(value));
+    }
+
+    /**
+     * Appends a character a number of times.
+     *
+     * @param c     the character.
+     * @param count the number of repetitions; nothing is appended if not positive.
+     * @return this builder.
+     */
+    public ChunkedStringBuilder repeat(char c, int count) {
+        int remaining = count;
+        while (remaining > 0) {
+            Chunk chunk = this.writableChunk(remaining);
+            int n = Math.min(remaining, CHUNK_SIZE - chunk.length);
+            for (int i = 0; i < n; i++) {
+                chunk.append(c);
+            }
+            this.length += n;
+            remaining -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of characters.
+     *
+     * @return the length.
+     */
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * Returns the character at an index.
+     *
+     * @param index the index.
+     * @return the character.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, this.length);
+        return this.chunks[index >>> CHUNK_SHIFT].charAt(index & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Returns a part of the content as a string.
+     *
+     * @param start the start index (inclusive).
+     * @param end   the end index (exclusive).
+     * @return the characters in the range.
+     * @throws IndexOutOfBoundsException if the range is invalid.
+     */
+    @Override
+    public String subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, this.length);
+        char[] result = new char[end - start];
+        for (int i = start; i < end; ) {
+            Chunk chunk = this.chunks[i >>> CHUNK_SHIFT];
+            int offset = i & (CHUNK_SIZE - 1);
+            int count = Math.min(end - i, chunk.length - offset);
+            chunk.getChars(offset, offset + count, result, i - start);
+            i += count;
+        }
+        return new String(result);
+    }
+
+    /**
+     * Writes the content to a writer, chunk by chunk. The writer is not flushed or closed.
+     *
+     * @param writer the writer.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        char[] buffer = null;
+        for (int i = 0; i < this.chunkCount; i++) {
+            Chunk chunk = this.chunks[i];
+            if (chunk.utf16 != null) {
+                writer.write(chunk.utf16, 0, chunk.length);
+            } else {
+                if (buffer == null) {
+                    buffer = new char[CHUNK_SIZE];
+                }
+                chunk.getChars(0, chunk.length, buffer, 0);
+                writer.write(buffer, 0, chunk.length);
+            }
+        }
+    }
+
+    /**
+     * Encodes the content to an output stream, chunk by chunk. Malformed
+     * and unmappable characters are replaced, as by {@link String#getBytes(Charset)}.
+     * The stream is not flushed or closed.
+     *
+     * @param output  the output stream.
+     * @param charset the charset to encode with.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(OutputStream output, Charset charset) throws IOException {
+        boolean asciiCompatible = charset.equals(StandardCharsets.UTF_8)
+            || charset.equals(StandardCharsets.US_ASCII);
+        boolean latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+        CharsetEncoder encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE + 1);
+        ByteBuffer bytes = ByteBuffer.allocate((int) Math.ceil(CHUNK_SIZE * encoder.maxBytesPerChar()) + 16);
+
+        for (int i = 0; i < this.chunkCount; i++) {
+            Chunk chunk = this.chunks[i];
+            if (chunk.utf16 == null && chars.position() == 0 && (latin1 || asciiCompatible && chunk.ascii)) {
+                output.write(chunk.latin1, 0, chunk.length);
+                continue;
+            }
+            chunk.getChars(0, chunk.length, chars.array(), chars.position());
+            chars.position(chars.position() + chunk.length).flip();
+            encode(encoder, chars, bytes, output, false);
+            chars.compact();
+        }
+        chars.flip();
+        encode(encoder, chars, bytes, output, true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain(bytes, output);
+        }
+        drain(bytes, output);
+    }
+
+    /**
+     * Returns the content as a single string.
+     * <p>
+     * This materializes the whole text; prefer {@link #writeTo(Writer)} or
+     * {@link #writeTo(OutputStream, Charset)} for large content.
+     *
+     * @return the content.
+     */
+    @Override
+    public String toString() {
+        boolean latin1 = true;
+        for (int i = 0; i < this.chunkCount; i++) {
+            latin1 &= this.chunks[i].utf16 == null;
+        }
+        if (latin1) {
+            byte[] bytes = new byte[this.length];
+            for (int i = 0; i < this.chunkCount; i++) {
+                System.arraycopy(this.chunks[i].latin1, 0, bytes, i << CHUNK_SHIFT, this.chunks[i].length);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        return this.subSequence(0, this.length);
+    }
+
+    /**
+     * Empties the builder and returns its chunks to the shared pool. The
+     * builder can be reused afterwards.
+     */
+    public void release() {
+        for (int i = 0; i < this.chunkCount; i++) {
+            Chunk chunk = this.chunks[i];
+            if (chunk.utf16 != null) {
+                UTF16_POOL.give(chunk.utf16);
+            } else {
+                LATIN1_POOL.give(chunk.latin1);
+            }
+            this.chunks[i] = null;
+        }
+        this.chunkCount = 0;
+        this.length = 0;
+    }
+
+    /**
+     * Encodes characters, writing the bytes whenever the byte buffer fills up.
+     * Characters that cannot be encoded yet, such as a trailing high
+     * surrogate, are left in the character buffer.
+     *
+     * @param encoder    the encoder.
+     * @param chars      the characters, in read mode.
+     * @param bytes      the byte buffer, in write mode.
+     * @param output     the output stream.
+     * @param endOfInput whether no more characters follow.
+     * @throws IOException if writing fails.
+     */
+    private static void encode(
+        CharsetEncoder encoder, CharBuffer chars, ByteBuffer bytes, OutputStream output, boolean endOfInput
+    ) throws IOException {
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+            drain(bytes, output);
+        }
+        drain(bytes, output);
+    }
+
+    /**
+     * Writes the content of a byte buffer and clears it.
+     *
+     * @param bytes  the byte buffer, in write mode.
+     * @param output the output stream.
+     * @throws IOException if writing fails.
+     */
+    private static void drain(ByteBuffer bytes, OutputStream output) throws IOException {
+        output.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+
+    /**
+     * Appends a range of another chunked builder.
+     *
+     * @param other the other builder.
+     * @param start the start index (inclusive).
+     * @param end   the end index (exclusive).
+     * @return this builder.
+     */
+    private ChunkedStringBuilder appendChunks(ChunkedStringBuilder other, int start, int end) {
+        if (other == this) {
+            return this.append(this.subSequence(start, end));
+        }
+        int i = start;
+        while (i < end) {
+            Chunk source = other.chunks[i >>> CHUNK_SHIFT];
+            int offset = i & (CHUNK_SIZE - 1);
+            Chunk target = this.writableChunk(end - i);
+            int count = Math.min(Math.min(end - i, source.length - offset), CHUNK_SIZE - target.length);
+            target.copy(source, offset, count);
+            this.length += count;
+            i += count;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the chunk to append to, starting a new one if the last chunk is full.
+     *
+     * @param needed the number of characters about to be appended.
+     * @return a chunk with free space.
+     */
+    private Chunk writableChunk(int needed) {
+        if (this.chunkCount > 0) {
+            Chunk last = this.chunks[this.chunkCount - 1];
+            if (last.length < CHUNK_SIZE) {
+                return last;
+            }
+        }
+        if (needed > Integer.MAX_VALUE - this.length) {
+            throw new OutOfMemoryError("Required length exceeds implementation limit");
+        }
+        if (this.chunkCount == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+        }
+        Chunk chunk = new Chunk();
+        this.chunks[this.chunkCount++] = chunk;
+        return chunk;
+    }
+
+    /**
+     * A chunk of up to {@link #CHUNK_SIZE} characters, stored as Latin-1
+     * bytes until a wider character is appended.
+     */
+    private static final class Chunk {
+
+        private byte[] latin1;
+        private char[] utf16;
+        private int length;
+
+        /**
+         * Whether all characters of a Latin-1 chunk are ASCII.
+         */
+        private boolean ascii = true;
+
+        /**
+         * Creates an empty Latin-1 chunk.
+         */
+        private Chunk() {
+            byte[] pooled = LATIN1_POOL.take();
+            this.latin1 = pooled != null ? pooled : new byte[CHUNK_SIZE];
+        }
+
+        /**
+         * Appends a character; the chunk must not be full.
+         *
+         * @param c the character.
+         */
+        private void append(char c) {
+            if (this.utf16 != null) {
+                this.utf16[this.length++] = c;
+            } else if (c <= 0xFF) {
+                this.latin1[this.length++] = (byte) c;
+                this.ascii &= c < 0x80;
+            } else {
+                this.inflate();
+                this.utf16[this.length++] = c;
+            }
+        }
+
+        /**
+         * Appends a range of a character sequence that fits in the chunk.
+         *
+         * @param csq   the character sequence.
+         * @param start the start index (inclusive).
+         * @param end   the end index (exclusive).
+         */
+        private void append(CharSequence csq, int start, int end) {
+            int i = start;
+            if (this.utf16 == null) {
+                byte[] bytes = this.latin1;
+                int position = this.length;
+                boolean asciiOnly = this.ascii;
+                while (i < end) {
+                    char c = csq.charAt(i);
+                    if (c > 0xFF) {
+                        break;
+                    }
+                    bytes[position++] = (byte) c;
+                    asciiOnly &= c < 0x80;
+                    i++;
+                }
+                this.length = position;
+                this.ascii = asciiOnly;
+                if (i == end) {
+                    return;
+                }
+                this.inflate();
+            }
+            if (csq instanceof String str) {
+                str.getChars(i, end, this.utf16, this.length);
+                this.length += end - i;
+            } else {
+                while (i < end) {
+                    this.utf16[this.length++] = csq.charAt(i++);
+                }
+            }
+        }
+
+        /**
+         * Appends characters of another chunk; they must fit in this chunk.
+         *
+         * @param source the source chunk.
+         * @param start  the start index within the source chunk.
+         * @param count  the number of characters.
+         */
+        private void copy(Chunk source, int start, int count) {
+            if (this.utf16 != null) {
+                source.getChars(start, start + count, this.utf16, this.length);
+                this.length += count;
+            } else if (source.utf16 == null) {
+                System.arraycopy(source.latin1, start, this.latin1, this.length, count);
+                this.length += count;
+                this.ascii &= source.ascii;
+            } else {
+                for (int i = start; i < start + count; i++) {
+                    this.append(source.utf16[i]);
+                }
+            }
+        }
+
+        /**
+         * Returns a character of the chunk.
+         *
+         * @param index the index within the chunk.
+         * @return the character.
+         */
+        private char charAt(int index) {
+            return this.utf16 != null ? this.utf16[index] : (char) (this.latin1[index] & 0xFF);
+        }
+
+        /**
+         * Copies characters of the chunk into an array.
+         *
+         * @param start  the start index within the chunk (inclusive).
+         * @param end    the end index within the chunk (exclusive).
+         * @param target the target array.
+         * @param offset the offset in the target array.
+         */
+        private void getChars(int start, int end, char[] target, int offset) {
+            if (this.utf16 != null) {
+                System.arraycopy(this.utf16, start, target, offset, end - start);
+            } else {
+                for (int i = start; i < end; i++) {
+                    target[offset + i - start] = (char) (this.latin1[i] & 0xFF);
+                }
+            }
+        }
+
+        /**
+         * Switches the chunk to two bytes per character.
+         */
+        private void inflate() {
+            char[] pooled = UTF16_POOL.take();
+            this.utf16 = pooled != null ? pooled : new char[CHUNK_SIZE];
+            for (int i = 0; i < this.length; i++) {
+                this.utf16[i] = (char) (this.latin1[i] & 0xFF);
+            }
+            LATIN1_POOL.give(this.latin1);
+            this.latin1 = null;
+        }
+    }
+
+    /**
+     * Bounded, thread-safe pool of chunk arrays.
+     *
+     * @param <T> the array type.
+     */
+    private static final class Pool<T> {
+
+        private final Queue<T> arrays = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * Takes an array from the pool.
+         *
+         * @return a pooled array, or {@code null} if the pool is empty.
+         */
+        private T take() {
+            T array = this.arrays.poll();
+            if (array != null) {
+                this.size.decrementAndGet();
+            }
+            return array;
+        }
+
+        /**
+         * Returns an array to the pool, unless the pool is full.
+         *
+         * @param array the array.
+         */
+        private void give(T array) {
+            if (this.size.incrementAndGet() <= POOL_CAPACITY) {
+                this.arrays.offer(array);
+            } else {
+                this.size.decrementAndGet();
+            }
+        }
+    }
+}
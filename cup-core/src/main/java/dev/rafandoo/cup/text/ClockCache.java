@@ -0,0 +1,182 @@
+package dev.rafandoo.cup.text;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded concurrent cache with approximate LRU eviction (CLOCK).
+ * <p>
+ * Reads are lock-free: a hit is a {@link ConcurrentHashMap} lookup that marks
+ * the entry as recently used. Insertions are serialized and, once the cache
+ * is full, sweep a clock hand over the entries, giving recently used ones a
+ * second chance and evicting the first one that was not used since the last
+ * sweep. Values are computed outside any lock, so concurrent misses on the
+ * same key may compute it more than once; the first value stored wins.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class ClockCache<K, V> {
+
+    private final int maximumSize;
+    private final Map<K, Node<K, V>> map;
+    private final Node<K, V>[] ring;
+    private int count;
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of entries.
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    ClockCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+        this.ring = (Node<K, V>[]) new Node<?, ?>[maximumSize];
+    }
+
+    /**
+     * Returns the cached value for a key, computing and caching it on a miss.
+     *
+     * @param key      the key.
+     * @param function the function computing a missing value; must not return {@code null}.
+     * @return the cached or computed value.
+     */
+    V get(K key, Function<? super K, ? extends V> function) {
+        Node<K, V> node = this.map.get(key);
+        if (node != null) {
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            this.hits.increment();
+            return node.value;
+        }
+
+        this.misses.increment();
+        V value = function.apply(key);
+        return this.put(key, value);
+    }
+
+    /**
+     * Stores a value unless the key is already present, evicting an entry if the cache is full.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the value now cached for the key.
+     */
+    private synchronized V put(K key, V value) {
+        Node<K, V> existing = this.map.get(key);
+        if (existing != null) {
+            return existing.value;
+        }
+
+        int slot = this.count < this.maximumSize ? this.count++ : this.evict();
+        Node<K, V> node = new Node<>(key, value);
+        this.ring[slot] = node;
+        this.map.put(key, node);
+        return value;
+    }
+
+    /**
+     * Advances the clock hand until an entry not used since the last sweep is
+     * found, and removes it.
+     *
+     * @return the freed slot.
+     */
+    private int evict() {
+        while (true) {
+            int slot = this.hand;
+            this.hand = slot + 1 == this.maximumSize ? 0 : slot + 1;
+            Node<K, V> candidate = this.ring[slot];
+            if (candidate.referenced) {
+                candidate.referenced = false;
+            } else {
+                this.map.remove(candidate.key);
+                this.evictions.increment();
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Removes all entries. Statistics are kept.
+     */
+    synchronized void clear() {
+        this.map.clear();
+        Arrays.fill(this.ring, null);
+        this.count = 0;
+        this.hand = 0;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the current size.
+     */
+    int size() {
+        return this.map.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return the hit count.
+     */
+    long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to compute the value.
+     *
+     * @return the miss count.
+     */
+    long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new ones.
+     *
+     * @return the eviction count.
+     */
+    long evictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * A cached entry with its recently-used mark.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private volatile boolean referenced;
+
+        /**
+         * Creates an entry.
+         *
+         * @param key   the key.
+         * @param value the value.
+         */
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
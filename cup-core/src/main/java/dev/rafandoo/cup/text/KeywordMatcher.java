@@ -0,0 +1,303 @@
+package dev.rafandoo.cup.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compiled multi-keyword matcher that finds the occurrences of many
+ * keywords in a single pass over a text (Aho-Corasick).
+ * <p>
+ * The keywords are compiled once into a deterministic automaton over the
+ * characters they contain; matching then costs one table lookup per text
+ * character, however many keywords there are. Instances are immutable and
+ * can be shared between threads.
+ * <p>
+ * Example:
+ * <pre>
+ * KeywordMatcher matcher = KeywordMatcher.of("error", "warn", "timeout");
+ * int[] counts = matcher.count(log); // counts[0] errors, counts[1] warnings, ...
+ * </pre>
+ * Empty and null keywords never match.
+ */
+public final class KeywordMatcher {
+
+    private final String[] keywords;
+
+    /**
+     * Character class of each ASCII character; {@code 0} for characters not in any keyword.
+     */
+    private final int[] asciiClasses;
+
+    /**
+     * Sorted non-ASCII keyword characters; the class of {@code nonAscii[i]} is {@code nonAsciiBase + i}.
+     */
+    private final char[] nonAscii;
+    private final int nonAsciiBase;
+
+    /**
+     * Transition table: the next state of state {@code s} on class {@code c}
+     * is {@code transitions[s * width + c]}.
+     */
+    private final int[] transitions;
+    private final int width;
+
+    /**
+     * First keyword ending at each state, or {@code -1}.
+     */
+    private final int[] terminals;
+
+    /**
+     * Nearest state on the failure chain of each state that ends a keyword, or {@code -1}.
+     */
+    private final int[] outputs;
+
+    /**
+     * Next keyword with the same text as each keyword, or {@code -1}.
+     */
+    private final int[] duplicates;
+
+    /**
+     * Compiles the automaton.
+     *
+     * @param keywords the keywords.
+     */
+    private KeywordMatcher(String[] keywords) {
+        this.keywords = keywords;
+
+        StringBuilder chars = new StringBuilder();
+        for (String keyword : keywords) {
+            if (keyword != null) {
+                chars.append(keyword);
+            }
+        }
+        int total = chars.length();
+        char[] sorted = chars.toString().toCharArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+
+        this.asciiClasses = new int[128];
+        int ascii = 0;
+        while (ascii < distinct && sorted[ascii] < 128) {
+            this.asciiClasses[sorted[ascii]] = ascii + 1;
+            ascii++;
+        }
+        this.nonAscii = Arrays.copyOfRange(sorted, ascii, distinct);
+        this.nonAsciiBase = ascii + 1;
+
+        this.width = distinct + 1;
+        int[] delta = new int[(total + 1) * this.width];
+        this.terminals = new int[total + 1];
+        this.duplicates = new int[keywords.length];
+        Arrays.fill(this.terminals, -1);
+        Arrays.fill(this.duplicates, -1);
+
+        int states = 1;
+        for (int k = 0; k < keywords.length; k++) {
+            String keyword = keywords[k];
+            if (keyword == null || keyword.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int index = state * this.width + this.classOf(keyword.charAt(i));
+                if (delta[index] == 0) {
+                    delta[index] = states++;
+                }
+                state = delta[index];
+            }
+            if (this.terminals[state] < 0) {
+                this.terminals[state] = k;
+            } else {
+                int last = this.terminals[state];
+                while (this.duplicates[last] >= 0) {
+                    last = this.duplicates[last];
+                }
+                this.duplicates[last] = k;
+            }
+        }
+
+        this.outputs = new int[states];
+        Arrays.fill(this.outputs, -1);
+        int[] failures = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < this.width; c++) {
+            int child = delta[c];
+            if (child != 0) {
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int failure = failures[state];
+            for (int c = 0; c < this.width; c++) {
+                int index = state * this.width + c;
+                int child = delta[index];
+                if (child == 0) {
+                    delta[index] = delta[failure * this.width + c];
+                    continue;
+                }
+                int childFailure = delta[failure * this.width + c];
+                failures[child] = childFailure;
+                this.outputs[child] = this.terminals[childFailure] >= 0 ? childFailure : this.outputs[childFailure];
+                queue[tail++] = child;
+            }
+        }
+        this.transitions = Arrays.copyOf(delta, states * this.width);
+    }
+
+    /**
+     * Compiles a matcher for the given keywords.
+     *
+     * @param keywords the keywords; their positions are the keyword indexes used in results.
+     * @return a new matcher.
+     */
+    public static KeywordMatcher of(String... keywords) {
+        return new KeywordMatcher(keywords.clone());
+    }
+
+    /**
+     * Compiles a matcher for the given keywords.
+     *
+     * @param keywords the keywords; their iteration order gives the keyword indexes used in results.
+     * @return a new matcher.
+     */
+    public static KeywordMatcher of(Collection<String> keywords) {
+        return new KeywordMatcher(keywords.toArray(String[]::new));
+    }
+
+    /**
+     * Returns the number of keywords.
+     *
+     * @return the keyword count.
+     */
+    public int size() {
+        return this.keywords.length;
+    }
+
+    /**
+     * Returns a keyword.
+     *
+     * @param index the keyword index.
+     * @return the keyword.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String keyword(int index) {
+        return this.keywords[index];
+    }
+
+    /**
+     * Counts the occurrences of every keyword in a text.
+     * <p>
+     * Each keyword is counted as {@link Strings#countOccurrences(String, String)}
+     * would: occurrences of the same keyword do not overlap, while
+     * occurrences of different keywords are counted independently.
+     *
+     * @param text the text to search.
+     * @return the number of occurrences of each keyword, indexed like the keywords.
+     */
+    public int[] count(CharSequence text) {
+        int[] counts = new int[this.keywords.length];
+        if (text == null) {
+            return counts;
+        }
+
+        int[] nextStart = new int[this.keywords.length];
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = this.transitions[state * this.width + this.classOf(text.charAt(i))];
+            int match = this.terminals[state] >= 0 ? state : this.outputs[state];
+            while (match >= 0) {
+                for (int k = this.terminals[match]; k >= 0; k = this.duplicates[k]) {
+                    int start = i + 1 - this.keywords[k].length();
+                    if (start >= nextStart[k]) {
+                        counts[k]++;
+                        nextStart[k] = i + 1;
+                    }
+                }
+                match = this.outputs[match];
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Finds all occurrences of all keywords in a text, including overlapping ones.
+     *
+     * @param text the text to search.
+     * @return the occurrences, ordered by end position and, for the same end,
+     * from the longest keyword to the shortest.
+     */
+    public List<Occurrence> findAll(CharSequence text) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        if (text == null) {
+            return occurrences;
+        }
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = this.transitions[state * this.width + this.classOf(text.charAt(i))];
+            int match = this.terminals[state] >= 0 ? state : this.outputs[state];
+            while (match >= 0) {
+                for (int k = this.terminals[match]; k >= 0; k = this.duplicates[k]) {
+                    occurrences.add(new Occurrence(k, i + 1 - this.keywords[k].length(), i + 1));
+                }
+                match = this.outputs[match];
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Checks whether a text contains any of the keywords.
+     *
+     * @param text the text to search.
+     * @return {@code true} as soon as a keyword is found.
+     */
+    public boolean containsAny(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = this.transitions[state * this.width + this.classOf(text.charAt(i))];
+            if (this.terminals[state] >= 0 || this.outputs[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the character class of a character.
+     *
+     * @param c the character.
+     * @return the class, or {@code 0} if no keyword contains the character.
+     */
+    private int classOf(char c) {
+        if (c < 128) {
+            return this.asciiClasses[c];
+        }
+        int index = Arrays.binarySearch(this.nonAscii, c);
+        return index < 0 ? 0 : this.nonAsciiBase + index;
+    }
+
+    /**
+     * A keyword occurrence.
+     *
+     * @param keyword the keyword index.
+     * @param start   the start index in the text (inclusive).
+     * @param end     the end index in the text (exclusive).
+     */
+    public record Occurrence(int keyword, int start, int end) {
+    }
+}
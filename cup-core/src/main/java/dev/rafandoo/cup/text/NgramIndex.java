@@ -0,0 +1,437 @@
+package dev.rafandoo.cup.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory trigram index for fuzzy lookup over a fixed dictionary of strings.
+ * <p>
+ * Values are normalized with {@link StringNormalizer#normalizeForComparison(String)}
+ * and split into trigrams as in {@link StringSimilarity#trigramSimilarity(String, String)}.
+ * Each trigram maps to a sorted posting list of value indexes, stored as
+ * slices of a single {@code int[]}. A query only visits the values sharing
+ * trigrams with it, and ranks them by trigram Jaccard similarity.
+ * <p>
+ * Passing a minimum score enables prefix filtering: a value can only reach
+ * the score if it appears in one of the few rarest posting lists of the
+ * query, so the long lists of common trigrams are only probed for those
+ * candidates instead of being scanned. Values with too few or too many
+ * trigrams to reach the score are skipped without being counted.
+ * <p>
+ * Example:
+ * <pre>
+ * NgramIndex index = NgramIndex.of(productNames);
+ * List&lt;NgramIndex.Match&gt; matches = index.search("cafe com leite", 10, 0.4);
+ * </pre>
+ * Instances are immutable and thread-safe.
+ */
+public final class NgramIndex {
+
+    private final String[] values;
+
+    /**
+     * Number of distinct trigrams of each value.
+     */
+    private final int[] gramCounts;
+
+    /**
+     * Open-addressing table of the packed trigrams, and the posting list index of each slot.
+     */
+    private final long[] gramKeys;
+    private final int[] gramSlots;
+
+    /**
+     * Posting list {@code i} is {@code postings[offsets[i]]} to {@code postings[offsets[i + 1]]}.
+     */
+    private final int[] offsets;
+    private final int[] postings;
+
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * Builds the index.
+     *
+     * @param values the indexed values.
+     */
+    private NgramIndex(String[] values) {
+        this.values = values;
+        this.gramCounts = new int[values.length];
+
+        int capacity = Integer.highestOneBit(Math.max(16, values.length * 8) - 1) << 1;
+        long[] keys = new long[capacity];
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        int[] sizes = new int[64];
+        int lists = 0;
+        long total = 0;
+
+        String[] normalized = new String[values.length];
+        long[] grams = new long[16];
+        for (int id = 0; id < values.length; id++) {
+            if (values[id] == null) {
+                continue;
+            }
+            normalized[id] = StringNormalizer.normalizeForComparison(values[id]);
+            grams = ensure(grams, normalized[id].length() + 1);
+            int count = StringSimilarity.trigrams(normalized[id], grams);
+            this.gramCounts[id] = count;
+            total += count;
+
+            for (int g = 0; g < count; g++) {
+                if (lists * 2 >= keys.length) {
+                    long[] oldKeys = keys;
+                    int[] oldSlots = slots;
+                    keys = new long[oldKeys.length * 2];
+                    slots = new int[oldKeys.length * 2];
+                    Arrays.fill(slots, -1);
+                    for (int i = 0; i < oldKeys.length; i++) {
+                        if (oldSlots[i] >= 0) {
+                            int slot = probe(keys, slots, oldKeys[i]);
+                            keys[slot] = oldKeys[i];
+                            slots[slot] = oldSlots[i];
+                        }
+                    }
+                }
+                int slot = probe(keys, slots, grams[g]);
+                if (slots[slot] < 0) {
+                    keys[slot] = grams[g];
+                    slots[slot] = lists;
+                    if (lists == sizes.length) {
+                        sizes = Arrays.copyOf(sizes, lists * 2);
+                    }
+                    lists++;
+                }
+                sizes[slots[slot]]++;
+            }
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many trigrams to index: " + total);
+        }
+
+        this.gramKeys = keys;
+        this.gramSlots = slots;
+        this.offsets = new int[lists + 1];
+        for (int i = 0; i < lists; i++) {
+            this.offsets[i + 1] = this.offsets[i] + sizes[i];
+        }
+        this.postings = new int[(int) total];
+        int[] cursors = Arrays.copyOf(this.offsets, lists);
+        for (int id = 0; id < values.length; id++) {
+            if (normalized[id] == null) {
+                continue;
+            }
+            int count = StringSimilarity.trigrams(normalized[id], grams);
+            for (int g = 0; g < count; g++) {
+                int list = slots[probe(keys, slots, grams[g])];
+                this.postings[cursors[list]++] = id;
+            }
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(values.length));
+    }
+
+    /**
+     * Indexes a collection of strings. Null elements are kept, but never match.
+     *
+     * @param values the values to index.
+     * @return a new index; value indexes follow the iteration order of the collection.
+     */
+    public static NgramIndex of(Collection<String> values) {
+        return new NgramIndex(values.toArray(String[]::new));
+    }
+
+    /**
+     * Indexes an array of strings. Null elements are kept, but never match.
+     *
+     * @param values the values to index.
+     * @return a new index; value indexes follow the array order.
+     */
+    public static NgramIndex of(String... values) {
+        return new NgramIndex(values.clone());
+    }
+
+    /**
+     * Returns the number of indexed values.
+     *
+     * @return the size of the index.
+     */
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * Returns an indexed value, as given when building the index.
+     *
+     * @param index the value index.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String get(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Finds the indexed values most similar to a query.
+     *
+     * @param query the query; normalized like the indexed values.
+     * @param limit the maximum number of matches.
+     * @return the best matches, by decreasing score; values sharing no trigram
+     * with the query are never returned.
+     * @throws IllegalArgumentException if {@code limit} is negative.
+     */
+    public List<Match> search(String query, int limit) {
+        return this.search(query, limit, 0.0);
+    }
+
+    /**
+     * Finds the indexed values most similar to a query, with at least a given score.
+     * <p>
+     * The higher the minimum score, the fewer candidates are examined.
+     *
+     * @param query    the query; normalized like the indexed values.
+     * @param limit    the maximum number of matches.
+     * @param minScore the minimum trigram Jaccard similarity, between {@code 0.0} and {@code 1.0}.
+     * @return the best matches, by decreasing score and then by index.
+     * @throws IllegalArgumentException if {@code limit} is negative or {@code minScore} is out of range.
+     */
+    public List<Match> search(String query, int limit, double minScore) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        if (!(minScore >= 0.0 && minScore <= 1.0)) {
+            throw new IllegalArgumentException("Minimum score must be between 0 and 1: " + minScore);
+        }
+        if (query == null || limit == 0) {
+            return Collections.emptyList();
+        }
+
+        String normalized = StringNormalizer.normalizeForComparison(query);
+        long[] grams = new long[normalized.length() + 1];
+        int count = StringSimilarity.trigrams(normalized, grams);
+
+        int[] lists = new int[count];
+        int found = 0;
+        for (int g = 0; g < count; g++) {
+            int slot = this.gramSlots[probe(this.gramKeys, this.gramSlots, grams[g])];
+            if (slot >= 0) {
+                lists[found++] = slot;
+            }
+        }
+        if (found == 0) {
+            return Collections.emptyList();
+        }
+        sortByLength(lists, found, this.offsets);
+
+        int minShared = Math.max(1, (int) Math.ceil(minScore * count - 1e-9));
+        if (minShared > found) {
+            return Collections.emptyList();
+        }
+        int prefix = found - minShared + 1;
+        int minGrams = minShared;
+        int maxGrams = minScore > 0.0 ? (int) Math.min(Integer.MAX_VALUE, Math.floor(count / minScore + 1e-9)) : Integer.MAX_VALUE;
+
+        Scratch scratch = this.scratch.get();
+        int[] shared = scratch.shared;
+        int candidates = 0;
+        try {
+            for (int l = 0; l < prefix; l++) {
+                for (int p = this.offsets[lists[l]], end = this.offsets[lists[l] + 1]; p < end; p++) {
+                    int id = this.postings[p];
+                    int size = this.gramCounts[id];
+                    if (size < minGrams || size > maxGrams) {
+                        continue;
+                    }
+                    if (shared[id]++ == 0) {
+                        scratch.touch(candidates++, id);
+                    }
+                }
+            }
+            for (int l = prefix; l < found; l++) {
+                this.probeList(lists[l], scratch, candidates);
+            }
+            return this.rank(scratch, candidates, count, limit, minScore);
+        } finally {
+            for (int i = 0; i < candidates; i++) {
+                shared[scratch.touched[i]] = 0;
+            }
+        }
+    }
+
+    /**
+     * Adds the matches of a posting list to the shared counts of the
+     * current candidates, either by scanning the list or by binary-searching
+     * each candidate in it, whichever is cheaper.
+     *
+     * @param list       the posting list.
+     * @param scratch    the per-thread counters.
+     * @param candidates the number of candidates.
+     */
+    private void probeList(int list, Scratch scratch, int candidates) {
+        int start = this.offsets[list];
+        int end = this.offsets[list + 1];
+        int[] shared = scratch.shared;
+        int length = end - start;
+        if ((long) candidates * (32 - Integer.numberOfLeadingZeros(length)) < length) {
+            for (int i = 0; i < candidates; i++) {
+                int id = scratch.touched[i];
+                if (Arrays.binarySearch(this.postings, start, end, id) >= 0) {
+                    shared[id]++;
+                }
+            }
+        } else {
+            for (int p = start; p < end; p++) {
+                int id = this.postings[p];
+                if (shared[id] > 0) {
+                    shared[id]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores the candidates and keeps the best ones.
+     *
+     * @param scratch    the per-thread counters.
+     * @param candidates the number of candidates.
+     * @param queryGrams the number of distinct trigrams of the query.
+     * @param limit      the maximum number of matches.
+     * @param minScore   the minimum score.
+     * @return the best matches, by decreasing score and then by index.
+     */
+    private List<Match> rank(Scratch scratch, int candidates, int queryGrams, int limit, double minScore) {
+        PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, candidates) + 1, Match::compareTo);
+        for (int i = 0; i < candidates; i++) {
+            int id = scratch.touched[i];
+            int shared = scratch.shared[id];
+            double score = (double) shared / (queryGrams + this.gramCounts[id] - shared);
+            if (score < minScore) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Match(id, this.values[id], score));
+            } else {
+                Match worst = best.peek();
+                if (score > worst.score() || score == worst.score() && id < worst.index()) {
+                    best.poll();
+                    best.add(new Match(id, this.values[id], score));
+                }
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort(Collections.reverseOrder());
+        return result;
+    }
+
+    /**
+     * Finds the slot of a trigram in an open-addressing table.
+     *
+     * @param keys  the packed trigrams.
+     * @param slots the posting list of each slot, or {@code -1} if the slot is empty.
+     * @param gram  the packed trigram.
+     * @return the slot holding the trigram, or the empty slot where it belongs.
+     */
+    private static int probe(long[] keys, int[] slots, long gram) {
+        int mask = keys.length - 1;
+        long h = gram * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ h >>> 32) & mask;
+        while (slots[slot] >= 0 && keys[slot] != gram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Sorts posting lists by increasing length.
+     *
+     * @param lists   the posting list indexes.
+     * @param count   the number of lists.
+     * @param offsets the posting list offsets.
+     */
+    private static void sortByLength(int[] lists, int count, int[] offsets) {
+        for (int i = 1; i < count; i++) {
+            int list = lists[i];
+            int length = offsets[list + 1] - offsets[list];
+            int j = i - 1;
+            while (j >= 0 && offsets[lists[j] + 1] - offsets[lists[j]] > length) {
+                lists[j + 1] = lists[j];
+                j--;
+            }
+            lists[j + 1] = list;
+        }
+    }
+
+    /**
+     * Returns an array with at least the given length.
+     *
+     * @param array  the array.
+     * @param length the required length.
+     * @return the array itself, or a new larger one.
+     */
+    private static long[] ensure(long[] array, int length) {
+        return array.length >= length ? array : new long[Math.max(length, array.length * 2)];
+    }
+
+    /**
+     * A search result.
+     *
+     * @param index the index of the value in the dictionary.
+     * @param value the value, as given when building the index.
+     * @param score the trigram Jaccard similarity to the query.
+     */
+    public record Match(int index, String value, double score) implements Comparable<Match> {
+
+        /**
+         * Orders matches from worst to best: by score, then by decreasing index.
+         *
+         * @param other the other match.
+         * @return a negative number, zero or a positive number as this match is worse, equal or better.
+         */
+        @Override
+        public int compareTo(Match other) {
+            int byScore = Double.compare(this.score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.index, this.index);
+        }
+    }
+
+    /**
+     * Per-thread query counters, reset after every query.
+     */
+    private static final class Scratch {
+
+        /**
+         * Number of query trigrams shared with each value.
+         */
+        private final int[] shared;
+
+        /**
+         * Values with a non-zero count, in order of discovery.
+         */
+        private int[] touched = new int[256];
+
+        /**
+         * Creates the counters.
+         *
+         * @param size the number of indexed values.
+         */
+        private Scratch(int size) {
+            this.shared = new int[size];
+        }
+
+        /**
+         * Records a value as a candidate.
+         *
+         * @param position the candidate position.
+         * @param id       the value index.
+         */
+        private void touch(int position, int id) {
+            if (position == this.touched.length) {
+                this.touched = Arrays.copyOf(this.touched, position * 2);
+            }
+            this.touched[position] = id;
+        }
+    }
+}
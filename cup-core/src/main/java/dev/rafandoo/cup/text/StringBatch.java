@@ -0,0 +1,397 @@
+package dev.rafandoo.cup.text;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Applies string operations to many values at once.
+ * <p>
+ * Any per-string operation can be used, typically one of the
+ * {@link StringNormalizer} or {@link StringCase} methods:
+ * <pre>
+ * String[] keys = StringBatch.applyParallel(names, StringNormalizer::normalizeForComparison);
+ * StringBatch.applyLines(input, output, StringCase::toSnakeCase, true);
+ * </pre>
+ * Parallel variants split the work into contiguous ranges processed by a
+ * {@link ForkJoinPool} (the common pool unless one is given), so throughput
+ * grows with the number of available cores. Results always keep the input order.
+ */
+@UtilityClass
+public final class StringBatch {
+
+    /**
+     * Number of lines read, transformed and written at a time by {@link #applyLines}.
+     */
+    static final int LINE_BATCH_SIZE = 1 << 14;
+
+    /**
+     * Ranges smaller than this are not split any further.
+     */
+    private static final int MIN_CHUNK = 1024;
+
+    /**
+     * Applies an operation to every element of an array.
+     *
+     * @param values    the values; elements may be null if the operation accepts null.
+     * @param operation the operation.
+     * @return a new array with the results, in the same order.
+     */
+    public static String[] apply(String[] values, UnaryOperator<String> operation) {
+        Objects.requireNonNull(operation, "operation");
+        String[] result = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = operation.apply(values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Applies an operation to every element of a list.
+     *
+     * @param values    the values; elements may be null if the operation accepts null.
+     * @param operation the operation.
+     * @return a new fixed-size list with the results, in the same order.
+     */
+    public static List<String> apply(List<String> values, UnaryOperator<String> operation) {
+        return Arrays.asList(apply(values.toArray(String[]::new), operation));
+    }
+
+    /**
+     * Applies an operation to every element of a stream, keeping its
+     * sequential or parallel mode.
+     *
+     * @param values    the values.
+     * @param operation the operation.
+     * @return a stream of the results.
+     */
+    public static Stream<String> apply(Stream<String> values, UnaryOperator<String> operation) {
+        Objects.requireNonNull(operation, "operation");
+        return values.map(operation);
+    }
+
+    /**
+     * Applies an operation to every element of an array in parallel, using the common pool.
+     * <p>
+     * The operation must be thread-safe; all {@link StringNormalizer} and
+     * {@link StringCase} methods are.
+     *
+     * @param values    the values; elements may be null if the operation accepts null.
+     * @param operation the operation.
+     * @return a new array with the results, in the same order.
+     */
+    public static String[] applyParallel(String[] values, UnaryOperator<String> operation) {
+        return applyParallel(values, operation, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies an operation to every element of an array in parallel, using the given pool.
+     * <p>
+     * The operation must be thread-safe.
+     *
+     * @param values    the values; elements may be null if the operation accepts null.
+     * @param operation the operation.
+     * @param pool      the pool that runs the work.
+     * @return a new array with the results, in the same order.
+     */
+    public static String[] applyParallel(String[] values, UnaryOperator<String> operation, ForkJoinPool pool) {
+        Objects.requireNonNull(operation, "operation");
+        String[] result = new String[values.length];
+        transform(values, result, values.length, operation, pool);
+        return result;
+    }
+
+    /**
+     * Applies an operation to every element of a list in parallel, using the common pool.
+     * <p>
+     * The operation must be thread-safe.
+     *
+     * @param values    the values; elements may be null if the operation accepts null.
+     * @param operation the operation.
+     * @return a new fixed-size list with the results, in the same order.
+     */
+    public static List<String> applyParallel(List<String> values, UnaryOperator<String> operation) {
+        return Arrays.asList(applyParallel(values.toArray(String[]::new), operation));
+    }
+
+    /**
+     * Applies an operation to every line of a UTF-8 text file and writes the
+     * results, one per line, to another file.
+     * <p>
+     * The input is processed in batches of lines, so memory use does not
+     * depend on the file size. In parallel mode each batch is split across
+     * the common pool; the output order always matches the input.
+     *
+     * @param input     the file to read.
+     * @param output    the file to write; created or truncated.
+     * @param operation the operation applied to each line, without its line terminator;
+     *                  a {@code null} result is written as an empty line.
+     * @param parallel  whether to transform each batch in parallel.
+     * @return the number of lines processed.
+     * @throws UncheckedIOException if reading or writing fails.
+     */
+    public static long applyLines(Path input, Path output, UnaryOperator<String> operation, boolean parallel) {
+        Objects.requireNonNull(operation, "operation");
+        ForkJoinPool pool = parallel ? ForkJoinPool.commonPool() : null;
+        String[] batch = new String[LINE_BATCH_SIZE];
+        long total = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            int count;
+            do {
+                count = 0;
+                String line;
+                while (count < batch.length && (line = reader.readLine()) != null) {
+                    batch[count++] = line;
+                }
+
+                if (pool != null) {
+                    transform(batch, batch, count, operation, pool);
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        batch[i] = operation.apply(batch[i]);
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    if (batch[i] != null) {
+                        writer.write(batch[i]);
+                    }
+                    writer.write('\n');
+                }
+                total += count;
+            } while (count == batch.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error transforming " + input, e);
+        }
+        return total;
+    }
+
+    /**
+     * Creates a line operation that applies an operation to a single column
+     * of a delimited (CSV) line and leaves the other columns untouched.
+     * <p>
+     * Quoted fields are unquoted before the operation is applied, with
+     * doubled quotes ({@code ""}) unescaped, and quoted again afterwards. A
+     * result that contains the separator, a quote or a line break is always
+     * quoted. Lines with fewer columns are returned unchanged. Quoted fields
+     * spanning several lines are not supported.
+     * <p>
+     * Example:
+     * <pre>
+     * StringBatch.applyLines(in, out, StringBatch.column(1, ',', StringNormalizer::normalizeForComparison), true);
+     * </pre>
+     *
+     * @param index     the zero-based column index.
+     * @param separator the field separator.
+     * @param operation the operation applied to the field value.
+     * @return the line operation.
+     * @throws IllegalArgumentException if {@code index} is negative or {@code separator} is a quote.
+     */
+    public static UnaryOperator<String> column(int index, char separator, UnaryOperator<String> operation) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Column index must not be negative: " + index);
+        }
+        if (separator == '"') {
+            throw new IllegalArgumentException("Separator must not be a quote");
+        }
+        Objects.requireNonNull(operation, "operation");
+        return line -> line == null ? null : transformColumn(line, index, separator, operation);
+    }
+
+    /**
+     * Rewrites a single field of a delimited line.
+     *
+     * @param line      the line.
+     * @param index     the zero-based column index.
+     * @param separator the field separator.
+     * @param operation the operation applied to the field value.
+     * @return the rewritten line, or the line itself if it has fewer columns.
+     */
+    private static String transformColumn(String line, int index, char separator, UnaryOperator<String> operation) {
+        int start = 0;
+        for (int column = 0; column < index; column++) {
+            start = fieldEnd(line, start, separator);
+            if (start == line.length()) {
+                return line;
+            }
+            start++;
+        }
+        int end = fieldEnd(line, start, separator);
+
+        boolean quoted = start < end && line.charAt(start) == '"';
+        String value = quoted ? unquote(line, start, end) : line.substring(start, end);
+        String result = operation.apply(value);
+        if (result == null) {
+            result = "";
+        }
+
+        StringBuilder sb = new StringBuilder(line.length() + result.length() - (end - start) + 2);
+        sb.append(line, 0, start);
+        if (quoted || needsQuotes(result, separator)) {
+            sb.append('"');
+            for (int i = 0; i < result.length(); i++) {
+                char c = result.charAt(i);
+                if (c == '"') {
+                    sb.append('"');
+                }
+                sb.append(c);
+            }
+            sb.append('"');
+        } else {
+            sb.append(result);
+        }
+        return sb.append(line, end, line.length()).toString();
+    }
+
+    /**
+     * Finds the end of the field starting at an index.
+     *
+     * @param line      the line.
+     * @param start     the start of the field.
+     * @param separator the field separator.
+     * @return the index of the separator after the field, or the line length.
+     */
+    private static int fieldEnd(String line, int start, char separator) {
+        int i = start;
+        if (i < line.length() && line.charAt(i) == '"') {
+            i++;
+            while (i < line.length()) {
+                if (line.charAt(i) == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        i += 2;
+                        continue;
+                    }
+                    i++;
+                    break;
+                }
+                i++;
+            }
+        }
+        while (i < line.length() && line.charAt(i) != separator) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the value of a quoted field.
+     *
+     * @param line  the line.
+     * @param start the index of the opening quote.
+     * @param end   the end of the field.
+     * @return the unquoted, unescaped value.
+     */
+    private static String unquote(String line, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start + 1; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (i + 1 < end && line.charAt(i + 1) == '"') {
+                    i++;
+                } else {
+                    continue;
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks whether a field value must be quoted.
+     *
+     * @param value     the value.
+     * @param separator the field separator.
+     * @return {@code true} if the value contains the separator, a quote or a line break.
+     */
+    private static boolean needsQuotes(String value, char separator) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Transforms the first {@code length} elements of an array in parallel.
+     *
+     * @param source    the input elements.
+     * @param target    the array receiving the results; may be {@code source}.
+     * @param length    the number of elements.
+     * @param operation the operation.
+     * @param pool      the pool that runs the work.
+     */
+    private static void transform(
+        String[] source, String[] target, int length, UnaryOperator<String> operation, ForkJoinPool pool
+    ) {
+        int threshold = Math.max(MIN_CHUNK, length / (pool.getParallelism() * 4));
+        pool.invoke(new Chunk(source, target, 0, length, threshold, operation));
+    }
+
+    /**
+     * A contiguous range of elements, split in halves until it is small
+     * enough to be transformed directly.
+     */
+    @SuppressWarnings("serial")
+    private static final class Chunk extends RecursiveAction {
+
+        private final String[] source;
+        private final String[] target;
+        private final int start;
+        private final int end;
+        private final int threshold;
+        private final UnaryOperator<String> operation;
+
+        /**
+         * Creates a chunk.
+         *
+         * @param source    the input elements.
+         * @param target    the array receiving the results.
+         * @param start     the start of the range (inclusive).
+         * @param end       the end of the range (exclusive).
+         * @param threshold the size under which the range is not split.
+         * @param operation the operation.
+         */
+        private Chunk(
+            String[] source, String[] target, int start, int end, int threshold, UnaryOperator<String> operation
+        ) {
+            this.source = source;
+            this.target = target;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.operation = operation;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= this.threshold) {
+                for (int i = this.start; i < this.end; i++) {
+                    this.target[i] = this.operation.apply(this.source[i]);
+                }
+                return;
+            }
+            int middle = (this.start + this.end) >>> 1;
+            invokeAll(
+                new Chunk(this.source, this.target, this.start, middle, this.threshold, this.operation),
+                new Chunk(this.source, this.target, middle, this.end, this.threshold, this.operation)
+            );
+        }
+    }
+}
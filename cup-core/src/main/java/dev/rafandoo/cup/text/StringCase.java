@@ -3,23 +3,37 @@ package dev.rafandoo.cup.text;
 import lombok.experimental.UtilityClass;
 
 import java.util.Locale;
-import java.util.regex.Pattern;
 
 /**
  * Provides utility methods for converting strings between different letter cases.
+ * <p>
+ * Conversions walk the input once: words are delimited by runs of ASCII
+ * whitespace ({@code [ \t\n\x0B\f\r]}) and, for snake and kebab case, by a
+ * lowercase letter or digit followed by an uppercase ASCII letter. ASCII
+ * letters are case-mapped inline; words containing other characters use the
+ * full {@link String} case mapping with {@link Locale#ROOT}.
  */
 @UtilityClass
 public final class StringCase {
 
     /**
-     * Pattern that matches one or more whitespace characters.
-     */
-    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
-
-    /**
-     * Pattern used to detect word boundaries in camelCase or PascalCase strings.
+     * Returns the shared memoizing front end for these conversions, holding up
+     * to {@link CaseCache#DEFAULT_MAXIMUM_SIZE} entries per conversion.
+     * <p>
+     * Useful when the same identifiers are converted repeatedly, for example
+     * property names during serialization. Use {@link CaseCache#of(int)} for a
+     * cache with a different bound.
+     * <p>
+     * Example:
+     * <pre>
+     * StringCase.cached().toSnakeCase("helloWorld") -> "hello_world"
+     * </pre>
+     *
+     * @return the shared case conversion cache.
      */
-    private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("(?<=[a-z0-9])(?=[A-Z])");
+    public static CaseCache cached() {
+        return CaseCache.shared();
+    }
 
     /**
      * Converts a string to title case.
@@ -36,14 +50,19 @@ public final class StringCase {
         if (StringValidator.isNullOrBlank(str)) {
             return str;
         }
-        String[] words = WHITESPACE.split(str.trim());
-        StringBuilder result = new StringBuilder();
 
-        for (String word : words) {
-            result.append(capitalize(word)).append(' ');
+        int start = trimStart(str);
+        int end = trimEnd(str);
+        StringBuilder result = new StringBuilder(end - start);
+        for (int i = start; i < end; ) {
+            int wordEnd = wordEnd(str, i, end);
+            if (i > start) {
+                result.append(' ');
+            }
+            appendWord(result, str, i, wordEnd, true);
+            i = skipWhitespace(str, wordEnd, end);
         }
-
-        return result.toString().trim();
+        return result.toString();
     }
 
 
@@ -63,8 +82,9 @@ public final class StringCase {
             return str;
         }
 
-        return str.substring(0, 1).toUpperCase(Locale.ROOT)
-            + str.substring(1).toLowerCase(Locale.ROOT);
+        StringBuilder result = new StringBuilder(str.length());
+        appendWord(result, str, 0, str.length(), true);
+        return result.toString();
     }
 
     /**
@@ -83,13 +103,14 @@ public final class StringCase {
             return str;
         }
 
-        String[] parts = WHITESPACE.split(str.trim());
-        StringBuilder result = new StringBuilder(parts[0].toLowerCase(Locale.ROOT));
-
-        for (int i = 1; i < parts.length; i++) {
-            result.append(capitalize(parts[i]));
+        int start = trimStart(str);
+        int end = trimEnd(str);
+        StringBuilder result = new StringBuilder(end - start);
+        for (int i = start; i < end; ) {
+            int wordEnd = wordEnd(str, i, end);
+            appendWord(result, str, i, wordEnd, i > start);
+            i = skipWhitespace(str, wordEnd, end);
         }
-
         return result.toString();
     }
 
@@ -109,13 +130,14 @@ public final class StringCase {
             return str;
         }
 
-        String[] parts = WHITESPACE.split(str.trim());
-        StringBuilder result = new StringBuilder();
-
-        for (String part : parts) {
-            result.append(capitalize(part));
+        int start = trimStart(str);
+        int end = trimEnd(str);
+        StringBuilder result = new StringBuilder(end - start);
+        for (int i = start; i < end; ) {
+            int wordEnd = wordEnd(str, i, end);
+            appendWord(result, str, i, wordEnd, true);
+            i = skipWhitespace(str, wordEnd, end);
         }
-
         return result.toString();
     }
 
@@ -141,11 +163,7 @@ public final class StringCase {
         if (StringValidator.isNullOrBlank(str)) {
             return str;
         }
-
-        String withBoundaries = CAMEL_CASE_BOUNDARY.matcher(str).replaceAll("_");
-        return WHITESPACE.matcher(withBoundaries.trim())
-            .replaceAll("_")
-            .toLowerCase(Locale.ROOT);
+        return toDelimited(str, '_');
     }
 
     /**
@@ -163,10 +181,147 @@ public final class StringCase {
         if (StringValidator.isNullOrBlank(str)) {
             return str;
         }
+        return toDelimited(str, '-');
+    }
+
+    /**
+     * Converts a non-blank string to lowercase words joined by a delimiter,
+     * splitting at whitespace runs and camelCase boundaries.
+     *
+     * @param str       the string to convert.
+     * @param delimiter the word delimiter.
+     * @return the converted string.
+     */
+    private static String toDelimited(String str, char delimiter) {
+        int start = trimStart(str);
+        int end = trimEnd(str);
+        StringBuilder result = new StringBuilder(end - start + ((end - start) >> 2));
+        boolean ascii = true;
+
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if (isWhitespace(c)) {
+                result.append(delimiter);
+                i = skipWhitespace(str, i, end) - 1;
+            } else if (c >= 'A' && c <= 'Z') {
+                char previous = i > 0 ? str.charAt(i - 1) : ' ';
+                if ((previous >= 'a' && previous <= 'z') || (previous >= '0' && previous <= '9')) {
+                    result.append(delimiter);
+                }
+                result.append((char) (c + ('a' - 'A')));
+            } else {
+                ascii &= c < 0x80;
+                result.append(c);
+            }
+        }
+
+        String converted = result.toString();
+        return ascii ? converted : converted.toLowerCase(Locale.ROOT);
+    }
 
-        String withBoundaries = CAMEL_CASE_BOUNDARY.matcher(str).replaceAll("-");
-        return WHITESPACE.matcher(withBoundaries.trim())
-            .replaceAll("-")
-            .toLowerCase(Locale.ROOT);
+    /**
+     * Appends a word, lowercased, with its first character uppercased when requested.
+     * <p>
+     * ASCII words are mapped inline; other words use the full {@link String}
+     * case mapping, so that characters such as {@code 'ß'} expand as expected.
+     *
+     * @param result     the target builder.
+     * @param str        the source string.
+     * @param start      the start of the word (inclusive).
+     * @param end        the end of the word (exclusive).
+     * @param capitalize whether to uppercase the first character.
+     */
+    private static void appendWord(StringBuilder result, String str, int start, int end, boolean capitalize) {
+        for (int i = start; i < end; i++) {
+            if (str.charAt(i) >= 0x80) {
+                String word = str.substring(start, end);
+                if (!capitalize) {
+                    result.append(word.toLowerCase(Locale.ROOT));
+                } else {
+                    result.append(word.substring(0, 1).toUpperCase(Locale.ROOT))
+                        .append(word.substring(1).toLowerCase(Locale.ROOT));
+                }
+                return;
+            }
+        }
+
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if (i == start && capitalize) {
+                result.append(c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c);
+            } else {
+                result.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the word starting at the given index.
+     *
+     * @param str   the string.
+     * @param start the start of the word.
+     * @param end   the end of the range to search.
+     * @return the index of the first whitespace character after the word, or {@code end}.
+     */
+    private static int wordEnd(String str, int start, int end) {
+        int i = start;
+        while (i < end && !isWhitespace(str.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips a run of whitespace.
+     *
+     * @param str   the string.
+     * @param start the index to start from.
+     * @param end   the end of the range to search.
+     * @return the index of the first non-whitespace character, or {@code end}.
+     */
+    private static int skipWhitespace(String str, int start, int end) {
+        int i = start;
+        while (i < end && isWhitespace(str.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the first character that {@link String#trim()} keeps.
+     *
+     * @param str the string.
+     * @return the start index of the trimmed range.
+     */
+    private static int trimStart(String str) {
+        int i = 0;
+        while (i < str.length() && str.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index after the last character that {@link String#trim()} keeps.
+     *
+     * @param str the string.
+     * @return the end index of the trimmed range.
+     */
+    private static int trimEnd(String str) {
+        int i = str.length();
+        while (i > 0 && str.charAt(i - 1) <= ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Checks whether a character is ASCII whitespace, as matched by the regular expression {@code \s}.
+     *
+     * @param c the character.
+     * @return {@code true} for space, tab, line feed, vertical tab, form feed and carriage return.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
 }
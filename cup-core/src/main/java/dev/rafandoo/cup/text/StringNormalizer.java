@@ -3,51 +3,86 @@ package dev.rafandoo.cup.text;
 import lombok.experimental.UtilityClass;
 
 import java.text.Normalizer;
-import java.util.Locale;
-import java.util.regex.Pattern;
 
 /**
  * Provides utility methods for normalizing strings.
  * <p>
  * This class is intended for text normalization purposes only and
  * does not perform validation or formatting.
+ * <p>
+ * All operations walk the input once and write into a single buffer. Pure
+ * ASCII input never reaches {@link Normalizer}; accented Latin letters are
+ * folded through a lookup table, and only characters outside the Latin
+ * ranges are decomposed with {@link Normalizer} (NFD) at run time.
+ * <p>
+ * Besides removing diacritical marks, the folding table maps Latin letters
+ * that have no canonical decomposition to their base letters, expanding
+ * ligatures: {@code æ -> ae}, {@code œ -> oe}, {@code ß -> ss},
+ * {@code þ -> th}, {@code ø -> o}, {@code đ -> d}, {@code ł -> l}, and so on.
  */
 @UtilityClass
 public final class StringNormalizer {
 
     /**
-     * Pattern that matches Unicode diacritical marks.
+     * First character covered by {@link #LATIN_FOLDING} (Latin-1 Supplement).
+     */
+    private static final char LATIN_START = '\u0080';
+
+    /**
+     * First character covered by {@link #LATIN_EXTENDED_FOLDING} (Latin Extended Additional).
      */
-    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{M}");
+    private static final char LATIN_EXTENDED_START = 'Ḁ';
 
     /**
-     * Pattern that matches one or more whitespace characters.
+     * Latin letters without a canonical decomposition and their folded form,
+     * as pairs of character and replacement of at most two characters.
      */
-    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String[] SPECIAL_FOLDINGS = {
+        "Æ", "AE", "æ", "ae", "Œ", "OE", "œ", "oe", "Ĳ", "IJ", "ĳ", "ij",
+        "ß", "ss", "ẞ", "SS", "Þ", "TH", "þ", "th",
+        "Ø", "O", "ø", "o", "Ð", "D", "ð", "d", "Đ", "D", "đ", "d",
+        "Ħ", "H", "ħ", "h", "Ł", "L", "ł", "l", "Ŀ", "L", "ŀ", "l",
+        "Ŧ", "T", "ŧ", "t", "Ƀ", "B", "ƀ", "b", "Ɨ", "I", "ɨ", "i",
+        "ı", "i", "ſ", "s", "ƒ", "f"
+    };
 
     /**
-     * Pattern that matches non-ASCII characters.
+     * Folded form of U+0080 to U+024F: the first character in the low 16 bits
+     * and, for ligatures, the second one in the high 16 bits; {@code 0} where
+     * the character needs the {@link Normalizer} fallback.
      */
-    private static final Pattern NON_ASCII = Pattern.compile("[^\\p{ASCII}]");
+    private static final int[] LATIN_FOLDING = foldingTable(LATIN_START, 'ɏ');
+
+    /**
+     * Folded form of U+1E00 to U+1EFF, encoded as in {@link #LATIN_FOLDING}.
+     */
+    private static final int[] LATIN_EXTENDED_FOLDING = foldingTable(LATIN_EXTENDED_START, 'ỿ');
+
+    private static final int REMOVE_ACCENTS = 0;
+    private static final int REMOVE_NON_ASCII = 1;
+    private static final int COMPARISON = 2;
+    private static final int SLUG = 3;
 
     /**
      * Removes accents (diacritical marks) from a string.
      * <p>
+     * Latin ligatures and letters with strokes are folded as well.
+     * <p>
      * Example:
      * <pre>
      * "ação" -> "acao"
+     * "Straße" -> "Strasse"
      * </pre>
      *
      * @param str the string to process.
      * @return the string without accents, or the original string if null or empty.
      */
     public static String removeAccents(String str) {
-        if (StringValidator.isNullOrEmpty(str)) {
+        if (StringValidator.isNullOrEmpty(str) || isAscii(str)) {
             return str;
         }
 
-        String normalized = Normalizer.normalize(str, Normalizer.Form.NFD);
-        return DIACRITICAL_MARKS.matcher(normalized).replaceAll("");
+        return new Pipeline(REMOVE_ACCENTS, str.length(), null).run(str);
     }
 
     /**
@@ -57,28 +92,35 @@ public final class StringNormalizer {
      * @return the string containing only ASCII characters, or the original string if null or empty.
      */
     public static String removeNonAscii(String str) {
-        if (StringValidator.isNullOrEmpty(str)) {
+        if (StringValidator.isNullOrEmpty(str) || isAscii(str)) {
             return str;
         }
 
-        return NON_ASCII.matcher(str).replaceAll("");
+        StringBuilder result = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                result.append(c);
+            }
+        }
+        return result.toString();
     }
 
     /**
      * Removes accents and non-ASCII characters from a string.
      * <p>
-     * This is a convenience method that combines
-     * {@link #removeAccents(String)} and {@link #removeNonAscii(String)}.
+     * This is equivalent to {@link #removeNonAscii(String)} applied to the
+     * result of {@link #removeAccents(String)}, computed in a single pass.
      *
      * @param str the string to process.
      * @return the normalized string, or the original string if null or empty.
      */
     public static String removeAccentsAndSpecialCharacters(String str) {
-        if (StringValidator.isNullOrEmpty(str)) {
+        if (StringValidator.isNullOrEmpty(str) || isAscii(str)) {
             return str;
         }
 
-        return removeNonAscii(removeAccents(str));
+        return new Pipeline(REMOVE_NON_ASCII, str.length(), null).run(str);
     }
 
     /**
@@ -99,7 +141,28 @@ public final class StringNormalizer {
             return str;
         }
 
-        return WHITESPACE.matcher(str.trim()).replaceAll(" ");
+        int start = 0;
+        int end = str.length();
+        while (start < end && str.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        StringBuilder result = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if (isWhitespace(c)) {
+                result.append(' ');
+                while (i + 1 < end && isWhitespace(str.charAt(i + 1))) {
+                    i++;
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
     }
 
     /**
@@ -115,22 +178,23 @@ public final class StringNormalizer {
             return str;
         }
 
-        return normalizeWhitespace(
-            removeAccentsAndSpecialCharacters(str)
-                .toLowerCase(Locale.ROOT)
-        );
+        return new Pipeline(COMPARISON, str.length(), null).run(str);
     }
 
     /**
      * Generates a normalized identifier (slug) from a string.
      * <p>
+     * The string is normalized as by {@link #normalizeForComparison(String)},
+     * every run of characters other than {@code [a-z0-9]} is replaced by the
+     * delimiter, and leading and trailing delimiters are removed.
+     * <p>
      * Example:
      * <pre>
      * "Olá Mundo Java!" -> "ola-mundo-java"
      * </pre>
      *
      * @param str       the string to normalize.
-     * @param delimiter the delimiter to use between words.
+     * @param delimiter the delimiter to use between words, taken literally.
      * @return a normalized identifier, or null if the input is null.
      */
     public static String toSlug(String str, String delimiter) {
@@ -138,11 +202,262 @@ public final class StringNormalizer {
             return null;
         }
 
-        String normalized = normalizeForComparison(str);
-        normalized = normalized.replaceAll("[^a-z0-9]+", delimiter);
-        return normalized.replaceAll(
-            "^" + Pattern.quote(delimiter) + "+|" + Pattern.quote(delimiter) + "+$",
-            ""
-        );
+        return new Pipeline(SLUG, str.length(), delimiter).run(str);
+    }
+
+    /**
+     * Checks whether a string contains only ASCII characters.
+     *
+     * @param str the string.
+     * @return {@code true} if every character is below U+0080.
+     */
+    private static boolean isAscii(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a character is ASCII whitespace, as matched by the regular expression {@code \s}.
+     *
+     * @param c the character.
+     * @return {@code true} for space, tab, line feed, vertical tab, form feed and carriage return.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Checks whether a code point is a combining mark, as matched by the
+     * regular expression {@code \p{M}}.
+     *
+     * @param codePoint the code point.
+     * @return {@code true} for non-spacing, enclosing and spacing combining marks.
+     */
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+            || type == Character.ENCLOSING_MARK
+            || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * Returns the table entry for a character.
+     *
+     * @param c a non-ASCII character.
+     * @return the folded form, or {@code 0} if the character is not covered by the tables.
+     */
+    private static int lookup(char c) {
+        if (c < LATIN_START + LATIN_FOLDING.length) {
+            return LATIN_FOLDING[c - LATIN_START];
+        }
+        if (c >= LATIN_EXTENDED_START && c < LATIN_EXTENDED_START + LATIN_EXTENDED_FOLDING.length) {
+            return LATIN_EXTENDED_FOLDING[c - LATIN_EXTENDED_START];
+        }
+        return 0;
+    }
+
+    /**
+     * Precomputes the folded form of a range of characters: their canonical
+     * (NFD) decomposition without combining marks, or their entry in
+     * {@link #SPECIAL_FOLDINGS}.
+     *
+     * @param first the first character of the range.
+     * @param last  the last character of the range.
+     * @return the table, with {@code 0} for characters that need the {@link Normalizer} fallback.
+     */
+    private static int[] foldingTable(char first, char last) {
+        int[] table = new int[last - first + 1];
+        for (char c = first; c <= last; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char folded = 0;
+            int count = 0;
+            for (int i = 0; i < decomposed.length(); i++) {
+                char d = decomposed.charAt(i);
+                if (!isMark(d)) {
+                    folded = d;
+                    count++;
+                }
+            }
+            table[c - first] = count == 1 ? folded : 0;
+        }
+        for (int i = 0; i < SPECIAL_FOLDINGS.length; i += 2) {
+            char c = SPECIAL_FOLDINGS[i].charAt(0);
+            if (c >= first && c <= last) {
+                String folded = SPECIAL_FOLDINGS[i + 1];
+                table[c - first] = folded.length() == 1 ? folded.charAt(0) : folded.charAt(0) | folded.charAt(1) << 16;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Single-pass normalization: folds accents and feeds every resulting
+     * character to the stage selected by the mode.
+     */
+    private static final class Pipeline {
+
+        private final int mode;
+        private final String delimiter;
+        private final StringBuilder out;
+
+        /**
+         * Whether a separator is due before the next kept character.
+         */
+        private boolean pending;
+
+        /**
+         * Creates a pipeline.
+         *
+         * @param mode      the operation.
+         * @param capacity  the expected output length.
+         * @param delimiter the slug delimiter, for {@link #SLUG} mode.
+         */
+        private Pipeline(int mode, int capacity, String delimiter) {
+            this.mode = mode;
+            this.delimiter = delimiter;
+            this.out = new StringBuilder(capacity);
+        }
+
+        /**
+         * Processes a string.
+         *
+         * @param str the input.
+         * @return the result.
+         */
+        private String run(String str) {
+            int length = str.length();
+            int i = 0;
+            while (i < length) {
+                char c = str.charAt(i);
+                if (c < 0x80) {
+                    this.emit(c);
+                    i++;
+                    continue;
+                }
+                int folded = lookup(c);
+                if (folded != 0) {
+                    this.emit((char) folded);
+                    if (folded >>> 16 != 0) {
+                        this.emit((char) (folded >>> 16));
+                    }
+                    i++;
+                    continue;
+                }
+
+                int end = i + 1;
+                while (end < length && str.charAt(end) >= 0x80 && lookup(str.charAt(end)) == 0) {
+                    end++;
+                }
+                this.decompose(str, i, end);
+                i = end;
+            }
+            return this.finish();
+        }
+
+        /**
+         * Folds a run of characters not covered by the tables through
+         * {@link Normalizer}, dropping combining marks.
+         *
+         * @param str   the input.
+         * @param start the start of the run (inclusive).
+         * @param end   the end of the run (exclusive).
+         */
+        private void decompose(String str, int start, int end) {
+            String run = str.substring(start, end);
+            if (!Normalizer.isNormalized(run, Normalizer.Form.NFD)) {
+                run = Normalizer.normalize(run, Normalizer.Form.NFD);
+            }
+            for (int i = 0; i < run.length(); ) {
+                int codePoint = run.codePointAt(i);
+                int count = Character.charCount(codePoint);
+                if (!isMark(codePoint)) {
+                    for (int k = 0; k < count; k++) {
+                        this.emit(run.charAt(i + k));
+                    }
+                }
+                i += count;
+            }
+        }
+
+        /**
+         * Passes one folded character to the selected stage.
+         *
+         * @param c the character.
+         */
+        private void emit(char c) {
+            if (this.mode == REMOVE_ACCENTS) {
+                this.out.append(c);
+                return;
+            }
+            if (c >= 0x80) {
+                return;
+            }
+            if (this.mode == REMOVE_NON_ASCII) {
+                this.out.append(c);
+                return;
+            }
+
+            char lower = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            if (this.mode == COMPARISON) {
+                if (isWhitespace(lower)) {
+                    this.pending = !this.out.isEmpty();
+                } else if (lower > ' ' || !this.out.isEmpty()) {
+                    if (this.pending) {
+                        this.out.append(' ');
+                        this.pending = false;
+                    }
+                    this.out.append(lower);
+                }
+            } else if ((lower >= 'a' && lower <= 'z') || (lower >= '0' && lower <= '9')) {
+                if (this.pending) {
+                    this.out.append(this.delimiter);
+                    this.pending = false;
+                }
+                this.out.append(lower);
+            } else {
+                this.pending = !this.out.isEmpty();
+            }
+        }
+
+        /**
+         * Completes the output of the selected stage.
+         *
+         * @return the result.
+         */
+        private String finish() {
+            if (this.mode == COMPARISON) {
+                int end = this.out.length();
+                while (end > 0 && this.out.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+                this.out.setLength(end);
+            } else if (this.mode == SLUG && !this.delimiter.isEmpty()) {
+                return strip(this.out.toString(), this.delimiter);
+            }
+            return this.out.toString();
+        }
+
+        /**
+         * Removes repeated occurrences of a delimiter from both ends of a string.
+         *
+         * @param str       the string.
+         * @param delimiter the delimiter.
+         * @return the stripped string.
+         */
+        private static String strip(String str, String delimiter) {
+            int start = 0;
+            int end = str.length();
+            while (str.startsWith(delimiter, start) && start + delimiter.length() <= end) {
+                start += delimiter.length();
+            }
+            while (end - delimiter.length() >= start && str.startsWith(delimiter, end - delimiter.length())) {
+                end -= delimiter.length();
+            }
+            return str.substring(start, end);
+        }
     }
 }
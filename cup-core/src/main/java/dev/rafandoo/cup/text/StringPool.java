@@ -0,0 +1,288 @@
+package dev.rafandoo.cup.text;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded pool of canonical string instances, used to deduplicate the many
+ * equal strings produced when loading large documents (repeated property
+ * names, enum-like values, codes).
+ * <p>
+ * The pool is a fixed-size, two-way set-associative table: each string
+ * hashes to a set of two slots, and a new string evicts the least recently
+ * inserted one of its set. Memory use is therefore bounded by the capacity,
+ * and strings that are no longer used anywhere else are simply overwritten
+ * over time. Strings longer than the pool's maximum length are never pooled.
+ * <p>
+ * Lookups take no locks. Concurrent updates may occasionally overwrite each
+ * other, which only costs a missed deduplication; strings are immutable, so
+ * every thread always sees a complete instance.
+ * <p>
+ * UTF-8 input can be looked up directly with {@link #intern(byte[], int, int)}:
+ * ASCII byte ranges are hashed and compared in place, so a pooled value is
+ * returned without decoding or allocating a new string.
+ */
+public final class StringPool {
+
+    /**
+     * Default number of pooled strings.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /**
+     * Default maximum length of pooled strings.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final String[] table;
+    private final int setMask;
+    private final int maxLength;
+
+    /**
+     * Creates a pool.
+     *
+     * @param capacity  the number of pooled strings, rounded up to a power of two.
+     * @param maxLength the maximum length of pooled strings.
+     */
+    private StringPool(int capacity, int maxLength) {
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.table = new String[size];
+        this.setMask = size / 2 - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Creates a pool holding up to the given number of strings of at most
+     * {@link #DEFAULT_MAX_LENGTH} characters.
+     *
+     * @param capacity the number of pooled strings, rounded up to a power of two.
+     * @return a new, empty pool.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    public static StringPool of(int capacity) {
+        return of(capacity, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a pool holding up to the given number of strings of at most the given length.
+     *
+     * @param capacity  the number of pooled strings, rounded up to a power of two.
+     * @param maxLength the maximum length of pooled strings.
+     * @return a new, empty pool.
+     * @throws IllegalArgumentException if {@code capacity} is not positive, too large or {@code maxLength} is negative.
+     */
+    public static StringPool of(int capacity, int maxLength) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Maximum length must not be negative: " + maxLength);
+        }
+        return new StringPool(capacity, maxLength);
+    }
+
+    /**
+     * Returns the pool shared by the library, with the default capacity and
+     * maximum length. The JSON parser routes short string values through it.
+     *
+     * @return the shared pool.
+     */
+    public static StringPool shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Returns the canonical instance of a string, adding it to the pool if absent.
+     *
+     * @param str the string.
+     * @return a pooled string equal to {@code str}, or {@code str} itself if
+     * it was not pooled yet, is too long or is null.
+     */
+    public String intern(String str) {
+        if (str == null || str.length() > this.maxLength) {
+            return str;
+        }
+
+        int hash = str.hashCode();
+        int base = this.set(hash);
+        String[] table = this.table;
+        String first = table[base];
+        if (first != null && (first == str || first.hashCode() == hash && first.equals(str))) {
+            return first;
+        }
+        String second = table[base + 1];
+        if (second != null && second.hashCode() == hash && second.equals(str)) {
+            return second;
+        }
+
+        table[base + 1] = first;
+        table[base] = str;
+        return str;
+    }
+
+    /**
+     * Returns the canonical string for a range of UTF-8 bytes, adding it to the pool if absent.
+     * <p>
+     * ASCII ranges are matched against the pool without decoding; other
+     * ranges are decoded first and then pooled like {@link #intern(String)}.
+     *
+     * @param utf8   the bytes.
+     * @param offset the start of the range.
+     * @param length the number of bytes.
+     * @return a string with the decoded characters, pooled if short enough.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public String intern(byte[] utf8, int offset, int length) {
+        if (length > this.maxLength) {
+            return new String(utf8, offset, length, StandardCharsets.UTF_8);
+        }
+
+        int hash = 0;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            byte b = utf8[i];
+            if (b < 0) {
+                return this.intern(new String(utf8, offset, length, StandardCharsets.UTF_8));
+            }
+            hash = 31 * hash + b;
+        }
+
+        int base = this.set(hash);
+        String[] table = this.table;
+        String first = table[base];
+        if (first != null && first.hashCode() == hash && matches(first, utf8, offset, length)) {
+            return first;
+        }
+        String second = table[base + 1];
+        if (second != null && second.hashCode() == hash && matches(second, utf8, offset, length)) {
+            return second;
+        }
+
+        String str = new String(utf8, offset, length, StandardCharsets.ISO_8859_1);
+        table[base + 1] = first;
+        table[base] = str;
+        return str;
+    }
+
+    /**
+     * Deduplicates the strings of a document tree, as produced by the JSON
+     * parser or other document loaders.
+     * <p>
+     * String keys and values are replaced by their pooled instances, at any
+     * depth. Maps are rebuilt as {@link LinkedHashMap}s and lists as
+     * {@link ArrayList}s, preserving order; other values are kept as they are.
+     * Each container is copied once, so containers shared between several
+     * places of the tree (such as YAML anchors and aliases) stay shared, and
+     * self-referencing containers are copied with the same cycles.
+     *
+     * @param document the root map of the document.
+     * @return an equal tree whose strings are pooled, or {@code null} if the document is null.
+     */
+    public Map<String, Object> deduplicate(Map<String, ?> document) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) this.deduplicateValue(document, new IdentityHashMap<>());
+        return result;
+    }
+
+    /**
+     * Returns the number of pooled strings.
+     *
+     * @return the number of occupied slots.
+     */
+    public int size() {
+        int size = 0;
+        for (String str : this.table) {
+            if (str != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all pooled strings.
+     */
+    public void clear() {
+        Arrays.fill(this.table, null);
+    }
+
+    /**
+     * Deduplicates the strings of a value of a document tree.
+     *
+     * @param value  the value.
+     * @param copies the copies of the containers visited so far, by identity.
+     * @return an equal value whose strings are pooled.
+     */
+    private Object deduplicateValue(Object value, Map<Object, Object> copies) {
+        if (value instanceof String str) {
+            return this.intern(str);
+        }
+        if (!(value instanceof Map<?, ?>) && !(value instanceof List<?>)) {
+            return value;
+        }
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> result = new LinkedHashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+            copies.put(value, result);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                result.put(this.deduplicateValue(entry.getKey(), copies), this.deduplicateValue(entry.getValue(), copies));
+            }
+            return result;
+        }
+        List<?> list = (List<?>) value;
+        List<Object> result = new ArrayList<>(list.size());
+        copies.put(value, result);
+        for (Object element : list) {
+            result.add(this.deduplicateValue(element, copies));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first slot of the set of a hash code.
+     *
+     * @param hash the string hash code.
+     * @return the slot index.
+     */
+    private int set(int hash) {
+        return ((hash ^ (hash >>> 16)) & this.setMask) << 1;
+    }
+
+    /**
+     * Compares a string with a range of ASCII bytes.
+     *
+     * @param str    the string.
+     * @param bytes  the bytes.
+     * @param offset the start of the range.
+     * @param length the length of the range.
+     * @return {@code true} if both hold the same characters.
+     */
+    private static boolean matches(String str, byte[] bytes, int offset, int length) {
+        if (str.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (str.charAt(i) != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lazily initialized holder of the shared instance.
+     */
+    private static final class Shared {
+
+        private static final StringPool INSTANCE = new StringPool(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+}
@@ -0,0 +1,558 @@
+package dev.rafandoo.cup.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled set of validation rules for the fields of a record, such as the
+ * columns of a CSV row.
+ * <p>
+ * The constraints declared for each field are fused into a single check:
+ * the length is tested once, and all character constraints (numeric, ASCII,
+ * not blank) are verified in one pass over the value instead of one scan
+ * per {@link StringValidator} call. Invalid values are reported as
+ * {@link Violation}s, without throwing exceptions, and valid rows allocate
+ * nothing. Instances are immutable and can be shared between threads.
+ * <p>
+ * Example:
+ * <pre>
+ * StringRules rules = StringRules.builder()
+ *     .field("id").required().numeric().lengthBetween(1, 10)
+ *     .field("name").notBlank().maxLength(80)
+ *     .field("status").oneOf("ACTIVE", "INACTIVE")
+ *     .build();
+ *
+ * List&lt;StringRules.Violation&gt; violations = rules.validateAll(rows);
+ * </pre>
+ * Fields are matched to row values by position. Values of fields that are
+ * neither required nor non-blank are only checked when they are not empty.
+ */
+public final class StringRules {
+
+    private static final int REQUIRED = 1;
+    private static final int NOT_BLANK = 1 << 1;
+    private static final int LENGTH = 1 << 2;
+    private static final int NUMERIC = 1 << 3;
+    private static final int ASCII = 1 << 4;
+    private static final int ONE_OF = 1 << 5;
+    private static final int PATTERN = 1 << 6;
+    private static final int CUSTOM = 1 << 7;
+
+    /**
+     * Constraints verified while scanning the characters of a value.
+     */
+    private static final int CHARACTER_RULES = NOT_BLANK | NUMERIC | ASCII;
+
+    private final Field[] fields;
+
+    /**
+     * Creates the rules.
+     *
+     * @param fields the compiled fields, indexed by column.
+     */
+    private StringRules(Field[] fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Creates a builder for a new set of rules.
+     *
+     * @return a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of fields.
+     *
+     * @return the field count.
+     */
+    public int size() {
+        return this.fields.length;
+    }
+
+    /**
+     * Checks whether a row satisfies every rule, stopping at the first violation.
+     *
+     * @param row the field values; missing values are treated as {@code null}.
+     * @return {@code true} if the row is valid.
+     */
+    public boolean isValid(String... row) {
+        for (int column = 0; column < this.fields.length; column++) {
+            if (this.fields[column].failures(value(row, column)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates a row.
+     *
+     * @param row the field values; missing values are treated as {@code null}.
+     * @return the violations found, with row index {@code 0}; empty if the row is valid.
+     */
+    public List<Violation> validate(String... row) {
+        List<Violation> violations = new ArrayList<>();
+        this.validate(0, row, violations::add);
+        return violations;
+    }
+
+    /**
+     * Validates a sequence of rows, collecting all violations.
+     *
+     * @param rows the rows.
+     * @return the violations found, in row order; empty if every row is valid.
+     */
+    public List<Violation> validateAll(Iterable<String[]> rows) {
+        List<Violation> violations = new ArrayList<>();
+        this.validateAll(rows, violations::add);
+        return violations;
+    }
+
+    /**
+     * Validates a sequence of rows, passing each violation to a consumer as
+     * it is found, so that arbitrarily many rows can be checked without
+     * retaining their errors.
+     *
+     * @param rows the rows.
+     * @param sink the consumer of violations.
+     * @return the number of invalid rows.
+     */
+    public long validateAll(Iterable<String[]> rows, Consumer<? super Violation> sink) {
+        long invalid = 0;
+        long index = 0;
+        for (String[] row : rows) {
+            if (this.validate(index++, row, sink)) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Validates a row, reporting its violations.
+     *
+     * @param index the row index reported in violations.
+     * @param row   the field values.
+     * @param sink  the consumer of violations.
+     * @return {@code true} if the row has at least one violation.
+     */
+    private boolean validate(long index, String[] row, Consumer<? super Violation> sink) {
+        boolean invalid = false;
+        for (int column = 0; column < this.fields.length; column++) {
+            if (this.fields[column].report(index, column, value(row, column), sink)) {
+                invalid = true;
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Returns the value of a column, or {@code null} if the row is too short.
+     *
+     * @param row    the row.
+     * @param column the column index.
+     * @return the value.
+     */
+    private static String value(String[] row, int column) {
+        return row != null && column < row.length ? row[column] : null;
+    }
+
+    /**
+     * A rule violated by a field value.
+     *
+     * @param row     the index of the row.
+     * @param column  the index of the field.
+     * @param field   the field name.
+     * @param value   the offending value, possibly {@code null}.
+     * @param message the description of the violated rule.
+     */
+    public record Violation(long row, int column, String field, String value, String message) {
+
+        @Override
+        public String toString() {
+            return "Row " + this.row + ", field '" + this.field + "': " + this.message;
+        }
+    }
+
+    /**
+     * The compiled constraints of a field.
+     */
+    private static final class Field {
+
+        private final String name;
+        private final int rules;
+        private final int minLength;
+        private final int maxLength;
+        private final Set<String> allowed;
+        private final String allowedMessage;
+        private final Pattern pattern;
+        private final List<Predicate<String>> checks;
+        private final List<String> messages;
+
+        /**
+         * Compiles the constraints collected by a builder.
+         *
+         * @param spec the declared constraints.
+         */
+        private Field(Builder.Spec spec) {
+            this.name = spec.name;
+            this.rules = spec.rules;
+            this.minLength = spec.minLength;
+            this.maxLength = spec.maxLength;
+            this.allowed = spec.allowed == null ? null : Set.copyOf(spec.allowed);
+            this.allowedMessage = "must be one of " + spec.allowed;
+            this.pattern = spec.pattern;
+            this.checks = List.copyOf(spec.checks);
+            this.messages = List.copyOf(spec.messages);
+        }
+
+        /**
+         * Evaluates the constraints against a value, stopping at the first
+         * failing custom check.
+         *
+         * @param value the value.
+         * @return the bits of the violated constraints, or {@code 0} if the value is valid.
+         */
+        int failures(String value) {
+            int failures = this.builtInFailures(value);
+            if (failures == 0 && (this.rules & CUSTOM) != 0 && value != null && !value.isEmpty()) {
+                for (Predicate<String> check : this.checks) {
+                    if (!check.test(value)) {
+                        return CUSTOM;
+                    }
+                }
+            }
+            return failures;
+        }
+
+        /**
+         * Evaluates every constraint except the custom checks against a value.
+         *
+         * @param value the value.
+         * @return the bits of the violated constraints.
+         */
+        private int builtInFailures(String value) {
+            int rules = this.rules;
+            if (value == null || value.isEmpty()) {
+                return (rules & REQUIRED) != 0 ? REQUIRED : rules & NOT_BLANK;
+            }
+
+            int failures = 0;
+            int length = value.length();
+            if ((rules & LENGTH) != 0 && (length < this.minLength || length > this.maxLength)) {
+                failures |= LENGTH;
+            }
+            if ((rules & CHARACTER_RULES) != 0) {
+                failures |= this.scan(value, rules & CHARACTER_RULES);
+            }
+            if ((rules & ONE_OF) != 0 && !this.allowed.contains(value)) {
+                failures |= ONE_OF;
+            }
+            if ((rules & PATTERN) != 0 && !this.pattern.matcher(value).matches()) {
+                failures |= PATTERN;
+            }
+            return failures;
+        }
+
+        /**
+         * Verifies the character constraints in a single pass, stopping as
+         * soon as the outcome of every one of them is known.
+         *
+         * @param value the non-empty value.
+         * @param rules the character constraints to verify.
+         * @return the bits of the violated constraints.
+         */
+        private int scan(String value, int rules) {
+            int pending = rules;
+            int failures = rules & NOT_BLANK;
+            for (int i = 0; i < value.length() && pending != 0; i++) {
+                char c = value.charAt(i);
+                if (c > ' ' && (pending & NOT_BLANK) != 0) {
+                    failures &= ~NOT_BLANK;
+                    pending &= ~NOT_BLANK;
+                }
+                if (c >= 0x80 && (pending & ASCII) != 0) {
+                    failures |= ASCII;
+                    pending &= ~ASCII;
+                }
+                if ((c < '0' || c > '9') && (pending & NUMERIC) != 0 && (c < 0x80 || !Character.isDigit(c))) {
+                    failures |= NUMERIC;
+                    pending &= ~NUMERIC;
+                }
+            }
+            return failures;
+        }
+
+        /**
+         * Evaluates every constraint against a value once, reporting each violation.
+         *
+         * @param row    the row index.
+         * @param column the column index.
+         * @param value  the value.
+         * @param sink   the consumer of violations.
+         * @return {@code true} if the value violates at least one constraint.
+         */
+        boolean report(long row, int column, String value, Consumer<? super Violation> sink) {
+            int failures = this.builtInFailures(value);
+            if ((failures & REQUIRED) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, "is required"));
+            }
+            if ((failures & NOT_BLANK) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, "must not be blank"));
+            }
+            if ((failures & LENGTH) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, this.lengthMessage()));
+            }
+            if ((failures & NUMERIC) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, "must contain only digits"));
+            }
+            if ((failures & ASCII) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, "must contain only ASCII characters"));
+            }
+            if ((failures & ONE_OF) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, this.allowedMessage));
+            }
+            if ((failures & PATTERN) != 0) {
+                sink.accept(new Violation(row, column, this.name, value, "must match " + this.pattern.pattern()));
+            }
+            if ((this.rules & CUSTOM) != 0 && value != null && !value.isEmpty()) {
+                for (int i = 0; i < this.checks.size(); i++) {
+                    if (!this.checks.get(i).test(value)) {
+                        sink.accept(new Violation(row, column, this.name, value, this.messages.get(i)));
+                        failures |= CUSTOM;
+                    }
+                }
+            }
+            return failures != 0;
+        }
+
+        /**
+         * Describes the length constraint.
+         *
+         * @return the message.
+         */
+        private String lengthMessage() {
+            if (this.maxLength == Integer.MAX_VALUE) {
+                return "length must be at least " + this.minLength;
+            }
+            if (this.minLength == 0) {
+                return "length must be at most " + this.maxLength;
+            }
+            return "length must be between " + this.minLength + " and " + this.maxLength;
+        }
+    }
+
+    /**
+     * Fluent builder of {@link StringRules}.
+     * <p>
+     * Each call to {@link #field(String)} starts a new field, in column
+     * order; the constraint methods that follow apply to that field.
+     */
+    public static final class Builder {
+
+        private final List<Spec> fields = new ArrayList<>();
+        private Spec current;
+
+        /**
+         * Private constructor to enforce the use of {@link StringRules#builder()}.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Starts the next field.
+         *
+         * @param name the field name, used in violations.
+         * @return the current builder instance.
+         */
+        public Builder field(String name) {
+            this.current = new Spec(name);
+            this.fields.add(this.current);
+            return this;
+        }
+
+        /**
+         * Requires the value to be present and not empty.
+         *
+         * @return the current builder instance.
+         */
+        public Builder required() {
+            this.spec().rules |= REQUIRED;
+            return this;
+        }
+
+        /**
+         * Requires the value to contain a character other than whitespace,
+         * as {@link StringValidator#isNotBlank(String)}; implies {@link #required()}.
+         *
+         * @return the current builder instance.
+         */
+        public Builder notBlank() {
+            this.spec().rules |= NOT_BLANK;
+            return this;
+        }
+
+        /**
+         * Requires the value length to be within a range.
+         *
+         * @param min minimum allowed length (inclusive).
+         * @param max maximum allowed length (inclusive).
+         * @return the current builder instance.
+         * @throws IllegalArgumentException if the range is empty or negative.
+         */
+        public Builder lengthBetween(int min, int max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Invalid length range: " + min + ".." + max);
+            }
+            Spec spec = this.spec();
+            spec.rules |= LENGTH;
+            spec.minLength = min;
+            spec.maxLength = max;
+            return this;
+        }
+
+        /**
+         * Requires the value to have at least the given length, keeping any
+         * maximum length already declared.
+         *
+         * @param min minimum allowed length (inclusive).
+         * @return the current builder instance.
+         * @throws IllegalArgumentException if {@code min} is negative or exceeds the maximum length.
+         */
+        public Builder minLength(int min) {
+            return this.lengthBetween(min, this.spec().maxLength);
+        }
+
+        /**
+         * Requires the value to have at most the given length, keeping any
+         * minimum length already declared.
+         *
+         * @param max maximum allowed length (inclusive).
+         * @return the current builder instance.
+         * @throws IllegalArgumentException if {@code max} is less than the minimum length.
+         */
+        public Builder maxLength(int max) {
+            return this.lengthBetween(this.spec().minLength, max);
+        }
+
+        /**
+         * Requires the value to contain only digits, as {@link StringValidator#isNumeric(String)}.
+         *
+         * @return the current builder instance.
+         */
+        public Builder numeric() {
+            this.spec().rules |= NUMERIC;
+            return this;
+        }
+
+        /**
+         * Requires the value to contain only ASCII characters.
+         *
+         * @return the current builder instance.
+         */
+        public Builder ascii() {
+            this.spec().rules |= ASCII;
+            return this;
+        }
+
+        /**
+         * Requires the value to be one of the given values.
+         *
+         * @param values the allowed values.
+         * @return the current builder instance.
+         * @throws IllegalArgumentException if {@code values} or one of its elements is {@code null}.
+         */
+        public Builder oneOf(String... values) {
+            if (values == null || Arrays.asList(values).contains(null)) {
+                throw new IllegalArgumentException("Allowed values must not be null");
+            }
+            Spec spec = this.spec();
+            spec.rules |= ONE_OF;
+            spec.allowed = new LinkedHashSet<>(Arrays.asList(values));
+            return this;
+        }
+
+        /**
+         * Requires the whole value to match a regular expression.
+         *
+         * @param pattern the pattern.
+         * @return the current builder instance.
+         */
+        public Builder matches(Pattern pattern) {
+            Spec spec = this.spec();
+            spec.rules |= PATTERN;
+            spec.pattern = pattern;
+            return this;
+        }
+
+        /**
+         * Requires the value to satisfy a custom predicate.
+         *
+         * @param check   the predicate, called with non-empty values only.
+         * @param message the violation message when the predicate fails.
+         * @return the current builder instance.
+         */
+        public Builder check(Predicate<String> check, String message) {
+            Spec spec = this.spec();
+            spec.rules |= CUSTOM;
+            spec.checks.add(check);
+            spec.messages.add(message);
+            return this;
+        }
+
+        /**
+         * Compiles the declared fields.
+         *
+         * @return the rules.
+         */
+        public StringRules build() {
+            return new StringRules(this.fields.stream().map(Field::new).toArray(Field[]::new));
+        }
+
+        /**
+         * Returns the field being declared.
+         *
+         * @return the current field.
+         * @throws IllegalStateException if no field was started.
+         */
+        private Spec spec() {
+            if (this.current == null) {
+                throw new IllegalStateException("No field declared; call field(name) first");
+            }
+            return this.current;
+        }
+
+        /**
+         * The constraints declared for a field.
+         */
+        private static final class Spec {
+
+            private final String name;
+            private final List<Predicate<String>> checks = new ArrayList<>();
+            private final List<String> messages = new ArrayList<>();
+            private int rules;
+            private int minLength;
+            private int maxLength = Integer.MAX_VALUE;
+            private Set<String> allowed;
+            private Pattern pattern;
+
+            /**
+             * Creates an unconstrained field.
+             *
+             * @param name the field name.
+             */
+            private Spec(String name) {
+                this.name = name;
+            }
+        }
+    }
+}
@@ -0,0 +1,770 @@
+package dev.rafandoo.cup.text;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+
+/**
+ * Provides string distance and similarity measures for fuzzy matching.
+ * <p>
+ * Strings are compared as sequences of UTF-16 characters, exactly as given;
+ * to ignore case, accents and spacing, compare the results of
+ * {@link StringNormalizer#normalizeForComparison(String)}. A {@code null}
+ * string is treated as an empty one.
+ * <p>
+ * The static methods allocate their working memory on every call. When
+ * comparing many pairs, reuse a {@link Workspace} instead:
+ * <pre>
+ * StringSimilarity.Workspace workspace = StringSimilarity.workspace();
+ * for (String candidate : candidates) {
+ *     int distance = workspace.levenshtein(query, candidate, 2); // -1 if farther than 2
+ * }
+ * </pre>
+ */
+@UtilityClass
+public final class StringSimilarity {
+
+    /**
+     * Jaro similarity above which the Winkler prefix bonus is applied.
+     */
+    private static final double WINKLER_THRESHOLD = 0.7;
+
+    /**
+     * Weight of each common prefix character in the Winkler bonus.
+     */
+    private static final double WINKLER_SCALING = 0.1;
+
+    /**
+     * Maximum number of prefix characters rewarded by the Winkler bonus.
+     */
+    private static final int WINKLER_PREFIX = 4;
+
+    /**
+     * Creates a reusable workspace.
+     *
+     * @return a new workspace; not thread-safe.
+     */
+    public static Workspace workspace() {
+        return new Workspace();
+    }
+
+    /**
+     * Computes the Levenshtein distance: the minimum number of single-character
+     * insertions, deletions and substitutions turning one string into the other.
+     * <p>
+     * Example:
+     * <pre>
+     * levenshtein("kitten", "sitting") -> 3
+     * </pre>
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return the edit distance.
+     */
+    public static int levenshtein(String a, String b) {
+        return new Workspace().levenshtein(a, b);
+    }
+
+    /**
+     * Computes the Levenshtein distance if it does not exceed a bound,
+     * stopping as soon as the bound can no longer be met.
+     *
+     * @param a           the first string.
+     * @param b           the second string.
+     * @param maxDistance the largest distance of interest.
+     * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+     * @throws IllegalArgumentException if {@code maxDistance} is negative.
+     */
+    public static int levenshtein(String a, String b, int maxDistance) {
+        return new Workspace().levenshtein(a, b, maxDistance);
+    }
+
+    /**
+     * Computes the Levenshtein distance scaled to a similarity score.
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return {@code 1 - distance / max(length)}, between {@code 0.0} and
+     * {@code 1.0}; {@code 1.0} if both strings are empty.
+     */
+    public static double levenshteinSimilarity(String a, String b) {
+        return new Workspace().levenshteinSimilarity(a, b);
+    }
+
+    /**
+     * Computes the Damerau-Levenshtein distance in its optimal string
+     * alignment form: like {@link #levenshtein(String, String)}, but swapping
+     * two adjacent characters also counts as a single edit. A substring is
+     * edited at most once.
+     * <p>
+     * Example:
+     * <pre>
+     * damerauLevenshtein("ca", "ac") -> 1
+     * </pre>
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return the edit distance.
+     */
+    public static int damerauLevenshtein(String a, String b) {
+        return new Workspace().damerauLevenshtein(a, b);
+    }
+
+    /**
+     * Computes the Damerau-Levenshtein (optimal string alignment) distance if
+     * it does not exceed a bound, stopping as soon as the bound can no longer be met.
+     *
+     * @param a           the first string.
+     * @param b           the second string.
+     * @param maxDistance the largest distance of interest.
+     * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+     * @throws IllegalArgumentException if {@code maxDistance} is negative.
+     */
+    public static int damerauLevenshtein(String a, String b, int maxDistance) {
+        return new Workspace().damerauLevenshtein(a, b, maxDistance);
+    }
+
+    /**
+     * Computes the Jaro similarity.
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return the similarity between {@code 0.0} and {@code 1.0}; {@code 1.0} if both strings are empty.
+     */
+    public static double jaro(String a, String b) {
+        return new Workspace().jaro(a, b);
+    }
+
+    /**
+     * Computes the Jaro-Winkler similarity: the Jaro similarity raised for
+     * strings sharing a common prefix of up to four characters, when the Jaro
+     * similarity is above {@code 0.7}.
+     * <p>
+     * Example:
+     * <pre>
+     * jaroWinkler("martha", "marhta") -> 0.961...
+     * </pre>
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return the similarity between {@code 0.0} and {@code 1.0}; {@code 1.0} if both strings are empty.
+     */
+    public static double jaroWinkler(String a, String b) {
+        return new Workspace().jaroWinkler(a, b);
+    }
+
+    /**
+     * Computes the Jaccard similarity of the character trigram sets of two strings.
+     * <p>
+     * Each string is padded with two spaces in front and one at the end, so
+     * that short strings and word boundaries also produce trigrams.
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return the number of shared trigrams divided by the number of distinct
+     * trigrams of both strings; {@code 1.0} if both strings are empty.
+     */
+    public static double trigramSimilarity(String a, String b) {
+        return new Workspace().trigramSimilarity(a, b);
+    }
+
+    /**
+     * Packs the trigrams of a string, padded with two leading spaces and one
+     * trailing space, into a sorted array without duplicates.
+     *
+     * @param str    the string.
+     * @param target the array receiving the trigrams; must hold at least {@code str.length() + 1} values.
+     * @return the number of distinct trigrams.
+     */
+    static int trigrams(String str, long[] target) {
+        int length = str.length();
+        long c0 = ' ';
+        long c1 = ' ';
+        for (int i = 0; i <= length; i++) {
+            long c2 = i < length ? str.charAt(i) : ' ';
+            target[i] = c0 << 32 | c1 << 16 | c2;
+            c0 = c1;
+            c1 = c2;
+        }
+        Arrays.sort(target, 0, length + 1);
+
+        int count = 1;
+        for (int i = 1; i <= length; i++) {
+            if (target[i] != target[count - 1]) {
+                target[count++] = target[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reusable working memory for similarity computations.
+     * <p>
+     * Buffers grow to the largest input seen and are then reused, so repeated
+     * comparisons do not allocate. A workspace must not be shared between threads.
+     */
+    public static final class Workspace {
+
+        /**
+         * Open-addressing map from pattern character to its index in
+         * {@link #peq}: {@code (index + 1) << 16 | character}, or {@code 0} if empty.
+         */
+        private int[] alphabet = new int[16];
+        private long[] peq = new long[0];
+        private long[] vp = new long[0];
+        private long[] vn = new long[0];
+        private int[] rows = new int[0];
+        private boolean[] matchedA = new boolean[0];
+        private boolean[] matchedB = new boolean[0];
+        private long[] gramsA = new long[0];
+        private long[] gramsB = new long[0];
+
+        /**
+         * Creates an empty workspace.
+         */
+        private Workspace() {
+        }
+
+        /**
+         * Computes the Levenshtein distance.
+         *
+         * @param a the first string.
+         * @param b the second string.
+         * @return the edit distance.
+         * @see StringSimilarity#levenshtein(String, String)
+         */
+        public int levenshtein(String a, String b) {
+            return this.levenshtein(a, b, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Computes the Levenshtein distance if it does not exceed a bound.
+         * <p>
+         * Uses Myers' bit-parallel algorithm, processing 64 pattern
+         * characters per machine word, after stripping the common prefix and suffix.
+         *
+         * @param a           the first string.
+         * @param b           the second string.
+         * @param maxDistance the largest distance of interest.
+         * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+         * @throws IllegalArgumentException if {@code maxDistance} is negative.
+         * @see StringSimilarity#levenshtein(String, String, int)
+         */
+        public int levenshtein(String a, String b, int maxDistance) {
+            checkMaxDistance(maxDistance);
+            String pattern = shorter(a, b);
+            String text = pattern == a ? nonNull(b) : nonNull(a);
+            pattern = nonNull(pattern);
+
+            int prefix = commonPrefix(pattern, text);
+            int suffix = commonSuffix(pattern, text, prefix);
+            int m = pattern.length() - prefix - suffix;
+            int n = text.length() - prefix - suffix;
+            if (n - m > maxDistance) {
+                return -1;
+            }
+            if (m == 0) {
+                return n;
+            }
+            return this.myers(pattern, prefix, m, text, prefix, n, maxDistance);
+        }
+
+        /**
+         * Computes the Levenshtein distance scaled to a similarity score.
+         *
+         * @param a the first string.
+         * @param b the second string.
+         * @return the similarity between {@code 0.0} and {@code 1.0}.
+         * @see StringSimilarity#levenshteinSimilarity(String, String)
+         */
+        public double levenshteinSimilarity(String a, String b) {
+            int length = Math.max(nonNull(a).length(), nonNull(b).length());
+            return length == 0 ? 1.0 : 1.0 - (double) this.levenshtein(a, b) / length;
+        }
+
+        /**
+         * Computes the Damerau-Levenshtein (optimal string alignment) distance.
+         *
+         * @param a the first string.
+         * @param b the second string.
+         * @return the edit distance.
+         * @see StringSimilarity#damerauLevenshtein(String, String)
+         */
+        public int damerauLevenshtein(String a, String b) {
+            return this.damerauLevenshtein(a, b, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Computes the Damerau-Levenshtein (optimal string alignment) distance
+         * if it does not exceed a bound.
+         * <p>
+         * Uses Hyyrö's bit-parallel algorithm when the shorter string, without
+         * the common prefix and suffix, fits in 64 characters, and dynamic
+         * programming over three reused rows otherwise.
+         *
+         * @param a           the first string.
+         * @param b           the second string.
+         * @param maxDistance the largest distance of interest.
+         * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+         * @throws IllegalArgumentException if {@code maxDistance} is negative.
+         * @see StringSimilarity#damerauLevenshtein(String, String, int)
+         */
+        public int damerauLevenshtein(String a, String b, int maxDistance) {
+            checkMaxDistance(maxDistance);
+            String pattern = shorter(a, b);
+            String text = pattern == a ? nonNull(b) : nonNull(a);
+            pattern = nonNull(pattern);
+
+            int prefix = commonPrefix(pattern, text);
+            int suffix = commonSuffix(pattern, text, prefix);
+            int m = pattern.length() - prefix - suffix;
+            int n = text.length() - prefix - suffix;
+            if (n - m > maxDistance) {
+                return -1;
+            }
+            if (m == 0) {
+                return n;
+            }
+            if (m <= Long.SIZE) {
+                return this.hyyro(pattern, prefix, m, text, prefix, n, maxDistance);
+            }
+            return this.alignment(pattern, prefix, m, text, prefix, n, maxDistance);
+        }
+
+        /**
+         * Computes the Jaro similarity.
+         *
+         * @param a the first string.
+         * @param b the second string.
+         * @return the similarity between {@code 0.0} and {@code 1.0}.
+         * @see StringSimilarity#jaro(String, String)
+         */
+        public double jaro(String a, String b) {
+            String s = nonNull(a);
+            String t = nonNull(b);
+            if (s.isEmpty() && t.isEmpty()) {
+                return 1.0;
+            }
+            if (s.isEmpty() || t.isEmpty()) {
+                return 0.0;
+            }
+
+            if (this.matchedA.length < s.length()) {
+                this.matchedA = new boolean[s.length()];
+            }
+            if (this.matchedB.length < t.length()) {
+                this.matchedB = new boolean[t.length()];
+            }
+            boolean[] flagsA = this.matchedA;
+            boolean[] flagsB = this.matchedB;
+            Arrays.fill(flagsA, 0, s.length(), false);
+            Arrays.fill(flagsB, 0, t.length(), false);
+
+            int window = Math.max(0, Math.max(s.length(), t.length()) / 2 - 1);
+            int matches = 0;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                int end = Math.min(t.length(), i + window + 1);
+                for (int j = Math.max(0, i - window); j < end; j++) {
+                    if (!flagsB[j] && t.charAt(j) == c) {
+                        flagsA[i] = true;
+                        flagsB[j] = true;
+                        matches++;
+                        break;
+                    }
+                }
+            }
+            if (matches == 0) {
+                return 0.0;
+            }
+
+            int transpositions = 0;
+            int j = 0;
+            for (int i = 0; i < s.length(); i++) {
+                if (flagsA[i]) {
+                    while (!flagsB[j]) {
+                        j++;
+                    }
+                    if (s.charAt(i) != t.charAt(j)) {
+                        transpositions++;
+                    }
+                    j++;
+                }
+            }
+
+            double m = matches;
+            return (m / s.length() + m / t.length() + (m - transpositions / 2) / m) / 3.0;
+        }
+
+        /**
+         * Computes the Jaro-Winkler similarity.
+         *
+         * @param a the first string.
+         * @param b the second string.
+         * @return the similarity between {@code 0.0} and {@code 1.0}.
+         * @see StringSimilarity#jaroWinkler(String, String)
+         */
+        public double jaroWinkler(String a, String b) {
+            double jaro = this.jaro(a, b);
+            if (jaro <= WINKLER_THRESHOLD) {
+                return jaro;
+            }
+            String s = nonNull(a);
+            String t = nonNull(b);
+            int limit = Math.min(WINKLER_PREFIX, Math.min(s.length(), t.length()));
+            int prefix = 0;
+            while (prefix < limit && s.charAt(prefix) == t.charAt(prefix)) {
+                prefix++;
+            }
+            return jaro + prefix * WINKLER_SCALING * (1.0 - jaro);
+        }
+
+        /**
+         * Computes the Jaccard similarity of the character trigram sets of two strings.
+         *
+         * @param a the first string.
+         * @param b the second string.
+         * @return the similarity between {@code 0.0} and {@code 1.0}.
+         * @see StringSimilarity#trigramSimilarity(String, String)
+         */
+        public double trigramSimilarity(String a, String b) {
+            String s = nonNull(a);
+            String t = nonNull(b);
+            if (s.isEmpty() && t.isEmpty()) {
+                return 1.0;
+            }
+            if (s.isEmpty() || t.isEmpty()) {
+                return 0.0;
+            }
+
+            if (this.gramsA.length <= s.length()) {
+                this.gramsA = new long[s.length() + 1];
+            }
+            if (this.gramsB.length <= t.length()) {
+                this.gramsB = new long[t.length() + 1];
+            }
+            int countA = trigrams(s, this.gramsA);
+            int countB = trigrams(t, this.gramsB);
+
+            int shared = 0;
+            int i = 0;
+            int j = 0;
+            while (i < countA && j < countB) {
+                long x = this.gramsA[i];
+                long y = this.gramsB[j];
+                if (x == y) {
+                    shared++;
+                    i++;
+                    j++;
+                } else if (x < y) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return (double) shared / (countA + countB - shared);
+        }
+
+        /**
+         * Myers' bit-parallel edit distance, in Hyyrö's formulation with
+         * the pattern split into blocks of 64 characters.
+         *
+         * @param pattern       the shorter string.
+         * @param patternOffset the start of the compared part of the pattern.
+         * @param m             the length of the compared part of the pattern; positive.
+         * @param text          the longer string.
+         * @param textOffset    the start of the compared part of the text.
+         * @param n             the length of the compared part of the text.
+         * @param maxDistance   the largest distance of interest.
+         * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+         */
+        private int myers(String pattern, int patternOffset, int m, String text, int textOffset, int n, int maxDistance) {
+            int blocks = (m + Long.SIZE - 1) >>> 6;
+            this.buildPeq(pattern, patternOffset, m, blocks);
+            if (this.vp.length < blocks) {
+                this.vp = new long[blocks];
+                this.vn = new long[blocks];
+            }
+            long[] vp = this.vp;
+            long[] vn = this.vn;
+            long[] peq = this.peq;
+            Arrays.fill(vp, 0, blocks, -1L);
+            Arrays.fill(vn, 0, blocks, 0L);
+
+            int lastBit = (m - 1) & 63;
+            int score = m;
+            for (int j = 0; j < n; j++) {
+                int base = this.indexOf(text.charAt(textOffset + j)) * blocks;
+                int carry = 1;
+                for (int k = 0; k < blocks; k++) {
+                    long eq = base < 0 ? 0L : peq[base + k];
+                    long pv = vp[k];
+                    long mv = vn[k];
+                    long carryNegative = carry < 0 ? 1L : 0L;
+                    long carryPositive = carry > 0 ? 1L : 0L;
+
+                    long xv = eq | mv;
+                    eq |= carryNegative;
+                    long xh = (((eq & pv) + pv) ^ pv) | eq;
+                    long ph = mv | ~(xh | pv);
+                    long mh = pv & xh;
+
+                    int bit = k == blocks - 1 ? lastBit : 63;
+                    carry = (int) ((ph >>> bit) & 1L) - (int) ((mh >>> bit) & 1L);
+
+                    ph = (ph << 1) | carryPositive;
+                    mh = (mh << 1) | carryNegative;
+                    vp[k] = mh | ~(xv | ph);
+                    vn[k] = ph & xv;
+                }
+                score += carry;
+                if (score - (n - j - 1) > maxDistance) {
+                    return -1;
+                }
+            }
+            return score <= maxDistance ? score : -1;
+        }
+
+        /**
+         * Hyyrö's bit-parallel optimal string alignment distance for patterns
+         * of up to 64 characters.
+         *
+         * @param pattern       the shorter string.
+         * @param patternOffset the start of the compared part of the pattern.
+         * @param m             the length of the compared part of the pattern; between 1 and 64.
+         * @param text          the longer string.
+         * @param textOffset    the start of the compared part of the text.
+         * @param n             the length of the compared part of the text.
+         * @param maxDistance   the largest distance of interest.
+         * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+         */
+        private int hyyro(String pattern, int patternOffset, int m, String text, int textOffset, int n, int maxDistance) {
+            this.buildPeq(pattern, patternOffset, m, 1);
+            long[] peq = this.peq;
+            long mask = 1L << (m - 1);
+            long vp = -1L;
+            long vn = 0L;
+            long d0 = 0L;
+            long previousEq = 0L;
+            int score = m;
+
+            for (int j = 0; j < n; j++) {
+                int index = this.indexOf(text.charAt(textOffset + j));
+                long eq = index < 0 ? 0L : peq[index];
+                long tr = ((~d0 & eq) << 1) & previousEq;
+                d0 = (((eq & vp) + vp) ^ vp) | eq | vn | tr;
+                long hp = vn | ~(d0 | vp);
+                long hn = d0 & vp;
+                if ((hp & mask) != 0) {
+                    score++;
+                } else if ((hn & mask) != 0) {
+                    score--;
+                }
+                hp = (hp << 1) | 1L;
+                hn <<= 1;
+                vp = hn | ~(d0 | hp);
+                vn = hp & d0;
+                previousEq = eq;
+
+                if (score - (n - j - 1) > maxDistance) {
+                    return -1;
+                }
+            }
+            return score <= maxDistance ? score : -1;
+        }
+
+        /**
+         * Optimal string alignment distance by dynamic programming over three rows.
+         *
+         * @param pattern       the shorter string.
+         * @param patternOffset the start of the compared part of the pattern.
+         * @param m             the length of the compared part of the pattern.
+         * @param text          the longer string.
+         * @param textOffset    the start of the compared part of the text.
+         * @param n             the length of the compared part of the text.
+         * @param maxDistance   the largest distance of interest.
+         * @return the edit distance, or {@code -1} if it is greater than {@code maxDistance}.
+         */
+        private int alignment(String pattern, int patternOffset, int m, String text, int textOffset, int n, int maxDistance) {
+            int width = m + 1;
+            if (this.rows.length < 3 * width) {
+                this.rows = new int[3 * width];
+            }
+            int[] rows = this.rows;
+            int before = 0;
+            int previous = width;
+            int current = 2 * width;
+            for (int i = 0; i <= m; i++) {
+                rows[previous + i] = i;
+            }
+
+            int previousMin = 0;
+            for (int j = 1; j <= n; j++) {
+                char tc = text.charAt(textOffset + j - 1);
+                char tcBefore = j > 1 ? text.charAt(textOffset + j - 2) : 0;
+                rows[current] = j;
+                int rowMin = j;
+                for (int i = 1; i <= m; i++) {
+                    char pc = pattern.charAt(patternOffset + i - 1);
+                    int value = Math.min(rows[previous + i], rows[current + i - 1]) + 1;
+                    value = Math.min(value, rows[previous + i - 1] + (pc == tc ? 0 : 1));
+                    if (i > 1 && j > 1 && pc == tcBefore && pattern.charAt(patternOffset + i - 2) == tc) {
+                        value = Math.min(value, rows[before + i - 2] + 1);
+                    }
+                    rows[current + i] = value;
+                    rowMin = Math.min(rowMin, value);
+                }
+                if (Math.min(rowMin, previousMin) > maxDistance) {
+                    return -1;
+                }
+                previousMin = rowMin;
+
+                int recycled = before;
+                before = previous;
+                previous = current;
+                current = recycled;
+            }
+            int score = rows[previous + m];
+            return score <= maxDistance ? score : -1;
+        }
+
+        /**
+         * Builds the match bit vectors of the pattern characters: for each
+         * distinct character, the bits of the positions where it occurs,
+         * {@code blocks} words per character.
+         *
+         * @param pattern the pattern.
+         * @param offset  the start of the compared part of the pattern.
+         * @param m       the length of the compared part of the pattern.
+         * @param blocks  the number of 64-bit words per character.
+         */
+        private void buildPeq(String pattern, int offset, int m, int blocks) {
+            int capacity = Integer.highestOneBit(Math.max(16, m * 2) - 1) << 1;
+            if (this.alphabet.length < capacity) {
+                this.alphabet = new int[capacity];
+            } else {
+                Arrays.fill(this.alphabet, 0);
+            }
+            if (this.peq.length < m * blocks) {
+                this.peq = new long[m * blocks];
+            }
+
+            int[] alphabet = this.alphabet;
+            int mask = alphabet.length - 1;
+            int distinct = 0;
+            for (int i = 0; i < m; i++) {
+                char c = pattern.charAt(offset + i);
+                int slot = hash(c) & mask;
+                while (alphabet[slot] != 0 && (char) alphabet[slot] != c) {
+                    slot = (slot + 1) & mask;
+                }
+                int index;
+                if (alphabet[slot] == 0) {
+                    index = distinct++;
+                    alphabet[slot] = (index + 1) << 16 | c;
+                    Arrays.fill(this.peq, index * blocks, (index + 1) * blocks, 0L);
+                } else {
+                    index = (alphabet[slot] >>> 16) - 1;
+                }
+                this.peq[index * blocks + (i >>> 6)] |= 1L << (i & 63);
+            }
+        }
+
+        /**
+         * Returns the index of a character in the match vectors built by {@link #buildPeq}.
+         *
+         * @param c the character.
+         * @return the index, or {@code -1} if the pattern does not contain the character.
+         */
+        private int indexOf(char c) {
+            int[] alphabet = this.alphabet;
+            int mask = alphabet.length - 1;
+            int slot = hash(c) & mask;
+            while (true) {
+                int entry = alphabet[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                if ((char) entry == c) {
+                    return (entry >>> 16) - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Spreads a character over the bits of a hash code.
+     *
+     * @param c the character.
+     * @return the hash code.
+     */
+    private static int hash(char c) {
+        return (c * 0x9E3779B1) >>> 16 ^ c;
+    }
+
+    /**
+     * Throws if a distance bound is negative.
+     *
+     * @param maxDistance the bound.
+     */
+    private static void checkMaxDistance(int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Maximum distance must not be negative: " + maxDistance);
+        }
+    }
+
+    /**
+     * Returns the shorter of two strings, treating null as empty.
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return {@code a} if it is not longer than {@code b}, otherwise {@code b}.
+     */
+    private static String shorter(String a, String b) {
+        return nonNull(a).length() <= nonNull(b).length() ? a : b;
+    }
+
+    /**
+     * Returns a string, or the empty string if it is null.
+     *
+     * @param str the string.
+     * @return the string, never null.
+     */
+    private static String nonNull(String str) {
+        return str == null ? "" : str;
+    }
+
+    /**
+     * Returns the length of the common prefix of two strings.
+     *
+     * @param a the first string.
+     * @param b the second string.
+     * @return the number of leading characters the strings share.
+     */
+    private static int commonPrefix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the length of the common suffix of two strings, not overlapping a known common prefix.
+     *
+     * @param a      the first string.
+     * @param b      the second string.
+     * @param prefix the length of the common prefix.
+     * @return the number of trailing characters the strings share.
+     */
+    private static int commonSuffix(String a, String b, int prefix) {
+        int limit = Math.min(a.length(), b.length()) - prefix;
+        int i = 0;
+        while (i < limit && a.charAt(a.length() - 1 - i) == b.charAt(b.length() - 1 - i)) {
+            i++;
+        }
+        return i;
+    }
+}
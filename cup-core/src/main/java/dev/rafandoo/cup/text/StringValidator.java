@@ -2,15 +2,45 @@ package dev.rafandoo.cup.text;
 
 import lombok.experimental.UtilityClass;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
 /**
  * Provides utility methods for validating strings.
  * <p>
  * This class contains common validation checks such as nullability,
  * emptiness, numeric validation, and pattern matching.
+ * <p>
+ * The checks scan the characters once without allocating. Variants taking
+ * ranges of UTF-8 bytes, for input that has not been decoded yet (such as
+ * the fields of a CSV line), examine eight bytes per step.
  */
 @UtilityClass
 public final class StringValidator {
 
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * Added to each ASCII byte, sets its high bit when the byte is above {@code '9'}.
+     */
+    private static final long ABOVE_NINE = 0x4646464646464646L;
+
+    /**
+     * Added to each ASCII byte, sets its high bit when the byte is at least {@code '0'}.
+     */
+    private static final long FROM_ZERO = 0x5050505050505050L;
+
+    /**
+     * Added to each ASCII byte, sets its high bit when the byte is above {@code ' '}.
+     */
+    private static final long ABOVE_SPACE = 0x5F5F5F5F5F5F5F5FL;
+
     /**
      * Checks whether a string is {@code null} or empty.
      *
@@ -28,7 +58,15 @@ public final class StringValidator {
      * @return {@code true} if the string is {@code null}, empty, or blank, {@code false} otherwise.
      */
     public static boolean isNullOrBlank(String str) {
-        return str == null || str.trim().isEmpty();
+        if (str == null) {
+            return true;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -63,7 +101,129 @@ public final class StringValidator {
         if (isNullOrEmpty(str)) {
             return false;
         }
-        return str.chars().allMatch(Character::isDigit);
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if ((c < '0' || c > '9') && (c < 0x80 || !Character.isDigit(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string contains only ASCII characters.
+     *
+     * @param str the string to check.
+     * @return {@code true} if every character is below {@code 0x80}, including
+     * for empty strings; {@code false} for {@code null}.
+     */
+    public static boolean isAscii(String str) {
+        if (str == null) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a range of UTF-8 bytes contains only digits, with the
+     * same result as {@link #isNumeric(String)} on the decoded string.
+     *
+     * @param utf8   the bytes.
+     * @param offset the start of the range.
+     * @param length the number of bytes.
+     * @return {@code true} if the range is not empty and contains only digits.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static boolean isNumeric(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        if (length == 0) {
+            return false;
+        }
+
+        int end = offset + length;
+        int i = offset;
+        while (i + Long.BYTES <= end) {
+            long word = (long) LONG_VIEW.get(utf8, i);
+            if (((word | (word + ABOVE_NINE) | ~(word + FROM_ZERO)) & HIGH_BITS) != 0) {
+                break;
+            }
+            i += Long.BYTES;
+        }
+        for (; i < end; i++) {
+            byte b = utf8[i];
+            if (b < 0) {
+                return isNumeric(new String(utf8, offset, length, StandardCharsets.UTF_8));
+            }
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a range of UTF-8 bytes is empty or contains only
+     * whitespace, with the same result as {@link #isNullOrBlank(String)} on
+     * the decoded string.
+     *
+     * @param utf8   the bytes.
+     * @param offset the start of the range.
+     * @param length the number of bytes.
+     * @return {@code true} if every byte is at most {@code ' '}.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static boolean isBlank(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int end = offset + length;
+        int i = offset;
+        while (i + Long.BYTES <= end) {
+            long word = (long) LONG_VIEW.get(utf8, i);
+            if (((word | (word + ABOVE_SPACE)) & HIGH_BITS) != 0) {
+                return false;
+            }
+            i += Long.BYTES;
+        }
+        for (; i < end; i++) {
+            byte b = utf8[i];
+            if (b < 0 || b > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a range of bytes contains only ASCII characters.
+     *
+     * @param bytes  the bytes.
+     * @param offset the start of the range.
+     * @param length the number of bytes.
+     * @return {@code true} if every byte is below {@code 0x80}.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static boolean isAscii(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int end = offset + length;
+        int i = offset;
+        while (i + 2 * Long.BYTES <= end) {
+            long first = (long) LONG_VIEW.get(bytes, i);
+            long second = (long) LONG_VIEW.get(bytes, i + Long.BYTES);
+            if (((first | second) & HIGH_BITS) != 0) {
+                return false;
+            }
+            i += 2 * Long.BYTES;
+        }
+        for (; i < end; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -2,6 +2,7 @@ package dev.rafandoo.cup.text;
 
 import lombok.experimental.UtilityClass;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 
@@ -14,6 +15,11 @@ import java.util.Objects;
 @UtilityClass
 public final class Strings {
 
+    /**
+     * Substrings at least this long are counted with a skipping search.
+     */
+    private static final int SKIP_SEARCH_MIN_LENGTH = 64;
+
     /**
      * Reverses the characters of a string.
      *
@@ -30,7 +36,9 @@ public final class Strings {
     /**
      * Counts the number of occurrences of a substring in a string.
      * <p>
-     * Overlapping occurrences are counted.
+     * Overlapping occurrences are not counted: the search resumes after the
+     * end of each occurrence. To count many substrings in the same string,
+     * use a {@link KeywordMatcher}, which finds all of them in a single pass.
      *
      * <pre>
      * countOccurrences("aaaa", "aa") -> 2
@@ -44,6 +52,9 @@ public final class Strings {
         if (StringValidator.isNullOrEmpty(str) || StringValidator.isNullOrEmpty(substring)) {
             return 0;
         }
+        if (substring.length() >= SKIP_SEARCH_MIN_LENGTH && str.length() >= 4 * substring.length()) {
+            return countWithSkips(str, substring);
+        }
 
         int count = 0;
         int index = 0;
@@ -56,6 +67,56 @@ public final class Strings {
         return count;
     }
 
+    /**
+     * Counts non-overlapping occurrences with a Horspool search on character
+     * pairs: the last two characters of each window select how far the
+     * substring can be shifted, which is close to its full length whenever
+     * the pair does not occur in it. Pairs are hashed into a small table,
+     * keeping the smallest shift among pairs sharing a slot.
+     *
+     * @param str       the string to search.
+     * @param substring the substring to count; at least {@link #SKIP_SEARCH_MIN_LENGTH} characters.
+     * @return the number of occurrences found.
+     */
+    private static int countWithSkips(String str, String substring) {
+        int m = substring.length();
+        int[] shifts = new int[1 << 12];
+        Arrays.fill(shifts, m - 1);
+        for (int i = 0; i < m - 2; i++) {
+            shifts[pairHash(substring.charAt(i), substring.charAt(i + 1))] = m - 2 - i;
+        }
+        int lastPair = pairHash(substring.charAt(m - 2), substring.charAt(m - 1));
+        int mismatchShift = shifts[lastPair];
+        shifts[lastPair] = 0;
+
+        int count = 0;
+        int limit = str.length() - m;
+        int i = 0;
+        while (i <= limit) {
+            int shift = shifts[pairHash(str.charAt(i + m - 2), str.charAt(i + m - 1))];
+            if (shift != 0) {
+                i += shift;
+            } else if (str.regionMatches(i, substring, 0, m)) {
+                count++;
+                i += m;
+            } else {
+                i += mismatchShift;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Hashes a pair of characters into the shift table of {@link #countWithSkips(String, String)}.
+     *
+     * @param first  the first character.
+     * @param second the second character.
+     * @return the table slot.
+     */
+    private static int pairHash(char first, char second) {
+        return (first << 6 ^ second) & 0xFFF;
+    }
+
     /**
      * Joins an array of strings using a delimiter.
      * <p>
@@ -70,7 +131,11 @@ public final class Strings {
             return "";
         }
 
-        StringBuilder sb = new StringBuilder();
+        long capacity = (long) String.valueOf(delimiter).length() * (strings.length - 1);
+        for (String str : strings) {
+            capacity += str == null ? 0 : str.length();
+        }
+        StringBuilder sb = new StringBuilder((int) Math.min(capacity, Integer.MAX_VALUE - 8));
 
         for (int i = 0; i < strings.length; i++) {
             if (i > 0) {
@@ -94,7 +159,11 @@ public final class Strings {
             return "";
         }
 
-        StringBuilder sb = new StringBuilder();
+        long capacity = (long) String.valueOf(delimiter).length() * (strings.size() - 1);
+        for (String str : strings) {
+            capacity += str == null ? 0 : str.length();
+        }
+        StringBuilder sb = new StringBuilder((int) Math.min(capacity, Integer.MAX_VALUE - 8));
         boolean first = true;
 
         for (String str : strings) {
@@ -108,6 +177,62 @@ public final class Strings {
         return sb.toString();
     }
 
+    /**
+     * Appends an array of strings, separated by a delimiter, to a chunked builder.
+     * <p>
+     * Unlike {@link #join(String, String...)}, the result is never
+     * materialized as a single string, so arbitrarily large texts can be assembled.
+     * {@code null} values inside the array are appended as empty strings.
+     *
+     * @param target    the builder to append to.
+     * @param delimiter the delimiter to use.
+     * @param strings   the strings to join; nothing is appended if null or empty.
+     * @return the target builder.
+     */
+    public static ChunkedStringBuilder join(ChunkedStringBuilder target, String delimiter, String... strings) {
+        if (strings == null) {
+            return target;
+        }
+
+        for (int i = 0; i < strings.length; i++) {
+            if (i > 0) {
+                target.append(delimiter);
+            }
+            target.append(Objects.toString(strings[i], ""));
+        }
+        return target;
+    }
+
+    /**
+     * Appends a sequence of character sequences, separated by a delimiter, to a chunked builder.
+     * <p>
+     * {@code null} elements are appended as empty strings.
+     *
+     * @param target    the builder to append to.
+     * @param delimiter the delimiter to use.
+     * @param values    the values to join; nothing is appended if null or empty.
+     * @return the target builder.
+     */
+    public static ChunkedStringBuilder join(
+        ChunkedStringBuilder target, String delimiter, Iterable<? extends CharSequence> values
+    ) {
+        if (values == null) {
+            return target;
+        }
+
+        boolean first = true;
+        for (CharSequence value : values) {
+            if (!first) {
+                target.append(delimiter);
+            }
+            if (value != null) {
+                target.append(value);
+            }
+            first = false;
+        }
+        return target;
+    }
+
     /**
      * Pads a string to a specified length using a given character.
      *
@@ -123,15 +248,8 @@ public final class Strings {
             return value;
         }
 
-        StringBuilder sb = new StringBuilder(value);
-        while (sb.length() < length) {
-            if (padLeft) {
-                sb.insert(0, padChar);
-            } else {
-                sb.append(padChar);
-            }
-        }
-        return sb.toString();
+        String padding = String.valueOf(padChar).repeat(length - value.length());
+        return padLeft ? padding.concat(value) : value.concat(padding);
     }
 
     /**
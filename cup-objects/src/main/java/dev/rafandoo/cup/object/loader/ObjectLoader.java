@@ -2,6 +2,7 @@ package dev.rafandoo.cup.object.loader;
 
 import dev.rafandoo.cup.object.source.*;
 import dev.rafandoo.cup.object.tree.ObjectTree;
+import dev.rafandoo.cup.text.StringPool;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -9,6 +10,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 
 /**
  * Utility class responsible for loading structured documents
@@ -110,7 +112,7 @@ public final class ObjectLoader {
             throw new IllegalArgumentException("Unsupported document format: " + filename);
         }
 
-        return new ObjectTree(source.load(input));
+        return tree(source, input);
     }
 
     /**
@@ -130,6 +132,22 @@ public final class ObjectLoader {
             throw new RuntimeException("Error instantiating ObjectSource: " + source.getName(), e);
         }
 
-        return new ObjectTree(objectSource.load(input));
+        return tree(objectSource, input);
+    }
+
+    /**
+     * Loads a document and wraps it in an {@link ObjectTree}.
+     * <p>
+     * Repeated keys and short values are deduplicated through the shared
+     * {@link StringPool}, so large documents keep a single instance of each.
+     * The built-in JSON source already does this while parsing.
+     *
+     * @param source the source parsing the input.
+     * @param input  an open input stream containing the document data.
+     * @return a populated {@link ObjectTree} representing the parsed document.
+     */
+    private static ObjectTree tree(ObjectSource source, InputStream input) {
+        Map<String, Object> data = source.load(input);
+        return new ObjectTree(source instanceof Json ? data : StringPool.shared().deduplicate(data));
     }
 }
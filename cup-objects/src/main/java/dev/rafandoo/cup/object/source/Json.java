@@ -1,10 +1,10 @@
 package dev.rafandoo.cup.object.source;
 
 import dev.rafandoo.cup.object.tree.ObjectTree;
-import org.json.JSONObject;
-import org.json.JSONTokener;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Map;
 
 /**
@@ -17,7 +17,10 @@ public class Json implements ObjectSource {
 
     @Override
     public Map<String, Object> load(InputStream input) {
-        JSONObject object = new JSONObject(new JSONTokener(input));
-        return object.toMap();
+        try {
+            return dev.rafandoo.cup.json.Json.toMap(input.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading JSON document", e);
+        }
     }
 }
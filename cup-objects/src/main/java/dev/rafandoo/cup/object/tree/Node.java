@@ -1,5 +1,7 @@
 package dev.rafandoo.cup.object.tree;
 
+import dev.rafandoo.cup.parsing.ConverterRegistry;
+
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -67,6 +69,39 @@ public class Node {
         throw new IllegalStateException("Cannot convert to double: " + this.value);
     }
 
+    /**
+     * Converts the underlying value to the given type using the
+     * {@link ConverterRegistry#defaults() default converter registry}.
+     * <p>
+     * Supports scalar targets such as numbers, enums, {@link java.util.UUID}
+     * and {@code java.time} types.
+     *
+     * @param type the target type.
+     * @param <T>  the target type.
+     * @return the converted value, or {@code null} if the value is {@code null}.
+     * @throws IllegalStateException if the value cannot be converted to the given type.
+     */
+    public <T> T as(Class<T> type) {
+        return this.as(type, ConverterRegistry.defaults());
+    }
+
+    /**
+     * Converts the underlying value to the given type using the provided converter registry.
+     *
+     * @param type     the target type.
+     * @param registry the registry used to resolve the converter.
+     * @param <T>      the target type.
+     * @return the converted value, or {@code null} if the value is {@code null}.
+     * @throws IllegalStateException if the value cannot be converted to the given type.
+     */
+    public <T> T as(Class<T> type, ConverterRegistry registry) {
+        try {
+            return registry.convert(this.value, type);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Cannot convert to " + type.getSimpleName() + ": " + this.value, e);
+        }
+    }
+
     /**
      * Converts the underlying value to a {@link List} of {@link Node}s.
      * <p>